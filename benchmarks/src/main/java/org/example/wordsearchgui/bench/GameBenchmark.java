@@ -0,0 +1,100 @@
+package org.example.wordsearchgui.bench;
+
+import org.example.wordsearchgui.Direction;
+import org.example.wordsearchgui.GameSession;
+import org.example.wordsearchgui.Grid;
+import org.example.wordsearchgui.PlacementResult;
+import org.example.wordsearchgui.SharedPuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move handling as the game runs it: a typed guess looked up in the shared puzzle, then
+ * played in a {@link GameSession}, whose copy-on-write state is replaced on every find and
+ * every undo. Guesses are precomputed, half of them right and half with a wrong start column.
+ * Half of the words are found during setup, so each move copies a half-played game.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private static final double DENSITY = 0.3;
+    private static final int GUESSES = 4096; // power of two, indexed with a mask
+
+    @Param({"100", "10000"})
+    int wordCount;
+
+    @Param({"SHORT", "MIXED"})
+    Workloads.Lengths lengths;
+
+    private SharedPuzzle puzzle;
+    private GameSession session;
+    private String[] guessWord = new String[GUESSES];
+    private int[] guessRow = new int[GUESSES];
+    private int[] guessCol = new int[GUESSES]; // 0-based
+    private Direction[] guessDirection = new Direction[GUESSES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int size = (int) Math.ceil(Math.sqrt(wordCount * (lengths.min + lengths.max) / 2.0 / DENSITY));
+        ArrayList<String> words = Workloads.words(wordCount, lengths.min, lengths.max, 42);
+        Grid grid = new Grid(size, size, new Random(42));
+        grid.setWords(words);
+        PlacementResult result = grid.placeWords();
+        if (!result.isPlaced()) {
+            throw new IllegalStateException("Setup grid: " + result.describe());
+        }
+        grid.fillGridWithLetters();
+        puzzle = SharedPuzzle.of(grid);
+
+        // Odd placements are found up front, guesses only name even ones, so a right guess always finds a word
+        session = new GameSession(puzzle);
+        for (int id = 1; id < puzzle.getPlacementCount(); id += 2) {
+            session.markFound(id);
+        }
+        Random random = new Random(7);
+        int evens = (puzzle.getPlacementCount() + 1) / 2;
+        for (int g = 0; g < GUESSES; g++) {
+            int id = 2 * random.nextInt(evens);
+            guessWord[g] = puzzle.getWord(id).toLowerCase(); // players type in any case
+            guessRow[g] = puzzle.getRow(id);
+            guessCol[g] = puzzle.getCol(id) + (g & 1); // every other guess is off by one column
+            guessDirection[g] = puzzle.getDirection(id);
+        }
+    }
+
+    @Benchmark
+    public int find() {
+        int g = next++ & (GUESSES - 1);
+        return puzzle.find(guessWord[g], guessRow[g], guessCol[g], guessDirection[g]);
+    }
+
+    @Benchmark
+    public GameSession.Outcome submitAndUndo() {
+        int g = next++ & (GUESSES - 1);
+        GameSession.Outcome outcome = session.submit(guessWord[g], guessRow[g], guessCol[g], guessDirection[g]);
+        if (outcome == GameSession.Outcome.FOUND) {
+            session.undo(); // back to the half-played game, so every right guess finds its word again
+        }
+        return outcome;
+    }
+}
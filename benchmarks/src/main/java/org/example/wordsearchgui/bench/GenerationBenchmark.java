@@ -0,0 +1,97 @@
+package org.example.wordsearchgui.bench;
+
+import org.example.wordsearchgui.Grid;
+import org.example.wordsearchgui.PlacementResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid generation: placement, filling, the String matrix copy and the slot check.
+ * Run with {@code -prof gc} to get the allocation rate next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}};
+
+    @Param({"15", "100", "500"})
+    int size; // rows and columns
+
+    @Param({"0.1", "0.5"})
+    double density; // share of cells covered by word letters: sparse or dense
+
+    @Param({"SHORT", "MIXED", "LONG"})
+    Workloads.Lengths lengths;
+
+    private ArrayList<String> words;
+    private Grid generated; // placed and filled grid, for the read-only benchmarks
+    private Random random;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = Workloads.words(size, size, density, lengths, 42);
+        generated = new Grid(size, size, new Random(42));
+        generated.setWords(words);
+        PlacementResult result = generated.placeWords();
+        if (!result.isPlaced()) {
+            throw new IllegalStateException("Setup grid: " + result.describe());
+        }
+        generated.fillGridWithLetters();
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public PlacementResult placeWords() {
+        Grid grid = new Grid(size, size, new Random(seed++));
+        grid.setWords(words);
+        return grid.placeWords();
+    }
+
+    @Benchmark
+    public Grid placeAndFill() {
+        Grid grid = new Grid(size, size, new Random(seed++));
+        grid.setWords(words);
+        grid.placeWords();
+        grid.fillGridWithLetters();
+        return grid;
+    }
+
+    @Benchmark
+    public Grid fillGridWithLetters() {
+        Grid grid = new Grid(size, size, new Random(seed++));
+        grid.fillGridWithLetters();
+        return grid;
+    }
+
+    @Benchmark
+    public String[][] getGridAsArray() {
+        return generated.getGridAsArray(); // the grid is already filled, so this measures the copy
+    }
+
+    @Benchmark
+    public boolean checkPlaceWordRejected() {
+        // Every cell is taken, so the check always runs to a conflict or the bounds test
+        String word = words.get(random.nextInt(words.size()));
+        return generated.checkPlaceWord(word, DIRECTIONS[random.nextInt(3)], random.nextInt(size), random.nextInt(size));
+    }
+}
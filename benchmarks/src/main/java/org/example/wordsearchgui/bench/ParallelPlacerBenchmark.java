@@ -0,0 +1,73 @@
+package org.example.wordsearchgui.bench;
+
+import org.example.wordsearchgui.Direction;
+import org.example.wordsearchgui.Grid;
+import org.example.wordsearchgui.ParallelPlacer;
+import org.example.wordsearchgui.PlacementResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tile-by-tile placement of one huge grid ({@link ParallelPlacer}) on pools of 1 to 8 threads.
+ * The layout for a seed does not depend on the pool, so every thread count does the same work
+ * and the times compare directly; at 1 thread it is the cost of tiling without the parallelism.
+ * Eight seeds are used in turn, the same for every thread count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelPlacerBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1024", "2048"})
+    int size; // rows and columns
+
+    @Param({"0.3", "0.8"})
+    double density; // share of cells covered by word letters
+
+    private ArrayList<String> words;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = Workloads.words(size, size, density, Workloads.Lengths.MIXED, 42);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public PlacementResult place() {
+        Grid grid = new Grid(size, size);
+        grid.setDirections(Direction.parseSet("all"));
+        PlacementResult result = new ParallelPlacer(grid, seed++ % 8, pool).place(words);
+        if (!result.isPlaced()) {
+            throw new IllegalStateException(result.describe());
+        }
+        return result;
+    }
+}
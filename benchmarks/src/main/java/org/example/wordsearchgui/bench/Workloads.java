@@ -0,0 +1,68 @@
+package org.example.wordsearchgui.bench;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Seeded word lists shared by the benchmarks, so every run measures the same inputs.
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    /**
+     * Word length distributions.
+     */
+    public enum Lengths {
+        SHORT(3, 5),   // 3-5 letters
+        MIXED(3, 12),  // 3-12 letters
+        LONG(8, 15);   // 8-15 letters
+
+        final int min;
+        final int max;
+
+        Lengths(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        double mean() {
+            return (min + max) / 2.0;
+        }
+    }
+
+    /**
+     * Builds a word list whose letters cover roughly the given share of the grid.
+     *
+     * @param rows    Grid rows
+     * @param cols    Grid columns
+     * @param density Share of cells covered by word letters (e.g. 0.1 sparse, 0.5 dense)
+     * @param lengths Word length distribution, capped to the grid size
+     * @param seed    Seed of the word generator
+     * @return The words, in uppercase
+     */
+    public static ArrayList<String> words(int rows, int cols, double density, Lengths lengths, long seed) {
+        int maxLength = Math.min(lengths.max, Math.max(rows, cols));
+        int minLength = Math.min(lengths.min, maxLength);
+        int count = (int) Math.max(1, rows * (long) cols * density / Math.min(lengths.mean(), maxLength));
+        return words(count, minLength, maxLength, seed);
+    }
+
+    /**
+     * @return A list of random uppercase words with lengths in [minLength, maxLength]
+     */
+    public static ArrayList<String> words(int count, int minLength, int maxLength, long seed) {
+        Random random = new Random(seed);
+        ArrayList<String> words = new ArrayList<>(count);
+        char[] letters = new char[maxLength];
+        for (int w = 0; w < count; w++) {
+            int length = minLength + random.nextInt(maxLength - minLength + 1);
+            for (int i = 0; i < length; i++) {
+                letters[i] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(letters, 0, length));
+        }
+        return words;
+    }
+}
@@ -1,6 +1,9 @@
 module org.example.wordsearchgui {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires java.desktop;
 
 
     opens org.example.wordsearchgui to javafx.fxml;
@@ -0,0 +1,200 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over the letters A-Z.
+ *
+ * The failure links are folded into a dense transition table, so feeding one letter is a
+ * single array read. Any character outside A-Z sends the automaton back to the root.
+ * Instances are immutable once built and can be shared between threads.
+ */
+public final class AhoCorasick {
+
+    private static final int ALPHABET = 26;
+    private static final int ROOT = 0;
+    private static final int MAX_STATES = Integer.MAX_VALUE / ALPHABET; // so state * 26 + letter fits in an int
+
+    private final int[] next;        // next[state * 26 + letter] = following state
+    private final int[] wordAt;      // word id ending exactly at a state, or -1
+    private final int[] outputLink;  // nearest proper suffix state that ends a word, or -1
+    private final String[] words;    // word id -> word
+    private final int maxLength;     // length of the longest word
+
+    private AhoCorasick(int[] next, int[] wordAt, int[] outputLink, String[] words, int maxLength) {
+        this.next = next;
+        this.wordAt = wordAt;
+        this.outputLink = outputLink;
+        this.words = words;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Builds an automaton over a dictionary. Words are matched case-insensitively and
+     * duplicates are collapsed.
+     *
+     * @param dictionary The words to match
+     * @return The automaton
+     * @throws IllegalArgumentException If a word is empty or contains a character outside A-Z, or
+     *                                  the dictionary needs more states than a table can index
+     */
+    public static AhoCorasick build(Collection<String> dictionary) {
+        // Shared prefixes make the trie much smaller than the summed word lengths, so the
+        // tables start small and double as states are added
+        int capacity = 64;
+        int[] next = new int[capacity * ALPHABET];
+        int[] wordAt = new int[capacity];
+        Arrays.fill(wordAt, -1);
+        Map<String, Integer> ids = new HashMap<>();
+        String[] words = new String[dictionary.size()];
+        int states = 1;
+        int maxLength = 0;
+
+        // Build the trie, 0 in next[] means "no edge" (the root is never a target)
+        for (String raw : dictionary) {
+            String word = PlacementIndex.normalizeLetters(raw);
+            if (word.isEmpty()) {
+                throw new IllegalArgumentException("Empty word in dictionary");
+            }
+            if (ids.containsKey(word)) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                int letter = word.charAt(i) - 'A';
+                int edge = state * ALPHABET + letter;
+                if (next[edge] == 0) {
+                    if (states == capacity) {
+                        if (capacity == MAX_STATES) {
+                            throw new IllegalArgumentException("Dictionary needs more than " + MAX_STATES + " states");
+                        }
+                        capacity = (int) Math.min(2L * capacity, MAX_STATES);
+                        next = Arrays.copyOf(next, capacity * ALPHABET);
+                        wordAt = Arrays.copyOf(wordAt, capacity);
+                        Arrays.fill(wordAt, states, capacity, -1);
+                    }
+                    next[edge] = states++;
+                }
+                state = next[edge];
+            }
+            int id = ids.size();
+            ids.put(word, id);
+            words[id] = word;
+            wordAt[state] = id;
+            maxLength = Math.max(maxLength, word.length());
+        }
+
+        // Breadth-first pass: fill missing edges from the failure state and compute output links
+        int[] fail = new int[states];
+        int[] outputLink = new int[states];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            int child = next[letter];
+            if (child != 0) {
+                queue[tail++] = child; // depth-1 states fail to the root
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int failure = fail[state];
+            outputLink[state] = wordAt[failure] >= 0 ? failure : outputLink[failure];
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                int edge = state * ALPHABET + letter;
+                int child = next[edge];
+                if (child != 0) {
+                    fail[child] = next[failure * ALPHABET + letter];
+                    queue[tail++] = child;
+                } else {
+                    next[edge] = next[failure * ALPHABET + letter];
+                }
+            }
+        }
+
+        return new AhoCorasick(Arrays.copyOf(next, states * ALPHABET), Arrays.copyOf(wordAt, states),
+                outputLink, Arrays.copyOf(words, ids.size()), maxLength);
+    }
+
+    /**
+     * @return Number of states, the root included
+     */
+    int stateCount() {
+        return wordAt.length;
+    }
+
+    /**
+     * @return The start state
+     */
+    public int root() {
+        return ROOT;
+    }
+
+    /**
+     * Feeds one character to the automaton.
+     *
+     * @param state  The current state
+     * @param letter An uppercase letter; anything else resets to the root
+     * @return The following state
+     */
+    public int next(int state, char letter) {
+        int index = letter - 'A';
+        if (index < 0 || index >= ALPHABET) {
+            return ROOT;
+        }
+        return next[state * ALPHABET + index];
+    }
+
+    /**
+     * Returns the first match state for the position just fed: the state itself if a word
+     * ends there, otherwise the nearest suffix state that ends a word.
+     *
+     * @param state The current state
+     * @return A match state, or -1 if no word ends at this position
+     */
+    public int firstMatch(int state) {
+        return wordAt[state] >= 0 ? state : outputLink[state];
+    }
+
+    /**
+     * @param matchState A state returned by {@link #firstMatch} or this method
+     * @return The match state of the next shorter word ending at the same position, or -1
+     */
+    public int nextMatch(int matchState) {
+        return outputLink[matchState];
+    }
+
+    /**
+     * @param matchState A state returned by {@link #firstMatch} or {@link #nextMatch}
+     * @return The id of the word ending at the match state
+     */
+    public int wordId(int matchState) {
+        return wordAt[matchState];
+    }
+
+    /**
+     * @return Number of distinct words in the dictionary
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * @param id A word id
+     * @return The uppercase word
+     */
+    public String word(int id) {
+        return words[id];
+    }
+
+    /**
+     * @return Length of the longest word in the dictionary
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+}
@@ -5,12 +5,11 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.Scanner;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * WordSearch - A program to generate a word search puzzle grid from a given list of words and make
@@ -22,13 +21,18 @@ import java.util.Scanner;
  *    - Each line should contain a word to be placed in the grid.
  *
  * 2. Run the program by entering the file name in the project arguments.
+ *    Add "--directions all" (or a list such as "H,V,D,W,N") to hide words in more than the classic three directions.
+ *    Add "--dictionary FILE" (and "--words N") to have the words chosen from a dictionary; the input file then
+ *    only needs the grid size.
+ *    The game is saved to a .wsp file when the window closes; pass that file instead to resume it.
  *
  * 3. Output:
  *    - The program will generate a word search grid in GUI.
  *    - The grid contains the words placed, with remaining spaces filled with random letters in green boxes.
  *
  * Example Workflow:
- *    1. The player is prompted to enter a word, its coordinates (x, y), and the direction (horizontal, vertical, diagonal).
+ *    1. The player types a word, its row, column and direction on one line, e.g. "apple 1 d h" (horizontal, vertical,
+ *       diagonal, or the compass points enabled for the puzzle), and presses Enter.
  *    2. The word is removed from the grid (replaced with "*") and marked in red.
  *    3. Once all words are found, the program displays "All words found!" and ends the game.
  *
@@ -38,210 +42,341 @@ import java.util.Scanner;
  */
 public class App extends Application {
 
+    private static final int MAX_SUGGESTIONS = 8; // Words listed under the grid while typing.
+    private static final int DEFAULT_WORD_COUNT = 12; // Words chosen from a dictionary unless --words is given.
+
     static String fileName; // Filename for the input file containing grid data and words.
-    String wordEntered; // The word the user has entered.
-    char xCoordinate; // The x-coordinate (row) of the word's starting position.
-    char yCoordinate; // The y-coordinate (column) of the word's starting position.
-    char direction; // The direction in which the word is placed: 'H' for horizontal, 'V' for vertical, 'D' for diagonal.
-    int i = 0; // A counter for user input steps (1 to 4, after which the word is removed).
+    static Set<Direction> directions = Direction.CLASSIC; // Directions words are placed in when generating.
+    static Path dictionary; // Dictionary the words are chosen from, or null to use the words of the input file.
+    static int wordCount = DEFAULT_WORD_COUNT; // Number of words chosen from the dictionary.
+    static boolean parallel; // Place tile by tile on all cores, for huge grids.
     int flag = 0; // A counter to track how many words remain to be found.
+    WordTrie remainingWords; // Prefix index of the words still to be found, for suggestions and hints.
+    CellIndex cellIndex; // Placements covering each cell, to resolve words dragged across the grid.
+    private final int[] suggestionIds = new int[MAX_SUGGESTIONS]; // Reused on every keystroke.
 
     @Override
     public void start(Stage stage) throws IOException {
         // Set the title of the window
         stage.setTitle("Word Search Game");
 
-        // Open and read the input file specified by the user
-        File file = new File(fileName);
-        Scanner myReader = new Scanner(file);
-
-        // Read the first line to get grid dimensions (rows and columns)
-        String[] coordinates = myReader.nextLine().split(" ");
-        int rows = Integer.parseInt(coordinates[0]); // Number of rows in the grid
-        int cols = Integer.parseInt(coordinates[1]); // Number of columns in the grid
+        Path input = Path.of(fileName);
+        Grid myGridObject;
+        if (PuzzleFile.isPuzzleFile(input)) {
+            // Reopen a saved puzzle as it was left, no generation needed
+            myGridObject = PuzzleFile.load(input);
+        } else {
+            // Read the grid dimensions and the words from the input file (validated and deduplicated)
+            PuzzleLoader.Puzzle puzzle = PuzzleLoader.load(input);
 
-        // Create a new Grid object with the specified dimensions
-        Grid myGridObject = new Grid(rows, cols);
+            // Create a new Grid object with the specified dimensions
+            myGridObject = new Grid(puzzle.rows(), puzzle.cols());
+            myGridObject.setDirections(directions);
+            myGridObject.setParallel(parallel);
 
-        // List to hold the words that will be placed in the grid
-        ArrayList<String> words = new ArrayList<>();
+            // Set and place the words into the grid, or let the selector choose them and swap out any that do not fit
+            PlacementResult placement;
+            if (dictionary == null) {
+                myGridObject.setWords(puzzle.words());
+                placement = myGridObject.placeWords();
+            } else {
+                placement = WordSelector.load(dictionary).place(myGridObject, wordCount, new Random());
+            }
+            if (!placement.isPlaced()) {
+                // Bail out instead of showing a grid with missing words
+                throw new IllegalStateException(placement.describe());
+            }
 
-        // Read the rest of the file and extract words
-        while (myReader.hasNextLine()) {
-            String word = myReader.nextLine();
-            words.add(word);
-            flag++; // Increment the counter for the number of words to be placed in the grid
+            // Fill the remaining cells with random letters that do not spell a word a second time,
+            // so the copy the player finds is always the one that counts
+            myGridObject.fillGridWithLetters(Grid.FillMode.UNAMBIGUOUS);
         }
 
-        // Set and place the words into the grid
-        myGridObject.setWords(words);
-        myGridObject.placeWords();
+        // The game itself runs in a session, independent of the window; a resumed game starts with its found words
+        GameSession session = new GameSession(SharedPuzzle.of(myGridObject));
+        for (int id = 0; id < myGridObject.getPlacements().size(); id++) {
+            if (myGridObject.isPlacementFound(id)) {
+                session.markFound(id);
+            }
+        }
+        flag = session.getRemaining(); // The number of words to be found
 
-        // Retrieve the grid as a 2D array (used to generate the visual representation)
-        String[][] gridArray = myGridObject.getGridAsArray();
+        // Save the puzzle and the words found so far when the window closes, so the game can be resumed
+        Path savePath = savePathFor(input);
+        stage.setOnCloseRequest(event -> {
+            try {
+                PuzzleFile.save(session, savePath);
+            } catch (IOException e) {
+                System.err.println("Could not save the puzzle: " + e.getMessage());
+            }
+        });
 
-        // Create the GridView object for rendering the grid in GUI
-        GridView gridView = new GridView(rows, cols, gridArray);
+        // Create the GridView object for rendering the game in GUI (reads the session directly, no copy)
+        GridView gridView = new GridView(session);
 
         // Create and set the scene with the grid UI
         Scene scene = gridView.drawGrid();
         stage.setScene(scene);
         stage.show();
 
-        // Set up an event handler for key presses to capture user input
-        GridView.textArea.setOnKeyPressed(event -> {
-            // When the user presses Enter (ENTER key), handle different stages of input
-            handleUserInput(event,gridView,myGridObject,words,gridArray);
-        });
+        // Index the words still to be found, for suggestions while typing and for hints
+        remainingWords = WordTrie.of(session.getState());
+        // Index the cells of every word, so a word dragged across the grid is found without a search
+        cellIndex = session.getPuzzle().getCellIndex();
+
+        // Explain the input line, then play a move each time the user presses Enter
+        gridView.displayMessage("Type a word, its row, column and direction, e.g. \"apple 1 d h\", then press Enter.\n"
+                + directionPrompt(session.getPuzzle().getDirections()) + "\n"
+                + "Or drag across a word from its first letter to its last.\n"
+                + "Type ? (or ? and the start of a word) for a hint.\n");
+        GridView.inputField.textProperty().addListener(
+                (observable, oldText, newText) -> suggest(newText, gridView, session.getPuzzle()));
+        GridView.inputField.setOnAction(event -> applyUserInput(gridView, session));
+        GridView.inputField.setOnKeyPressed(event -> handleUserInput(event, gridView, session));
+        gridView.setOnSelect((startRow, startCol, endRow, endCol) ->
+                applySelection(startRow, startCol, endRow, endCol, gridView, session));
+        GridView.inputField.requestFocus();
     }
 
     /**
-     * Handles the user input when the ENTER key is pressed.
-     * This method processes the input flow step by step to capture the word found, coordinates, and direction.
-     * If all inputs are correct, it will apply the action to remove the word from the grid.
+     * Handles the keys the input line does not handle itself:
+     * Ctrl+Z (Cmd+Z on macOS) takes back the last word found.
      *
-     * @param event        The KeyEvent triggered by the user pressing a key (ENTER key).
+     * @param event        The KeyEvent triggered by the user pressing a key.
      * @param gridView     The GridView object that represents the grid and the user interface.
-     * @param myGridObject The Grid object that contains the logic for word placement and grid management.
-     * @param words        The list of words that need to be found in the grid.
-     * @param gridArray    The 2D array representation of the word search grid.
+     * @param session      The game being played.
      */
-    private void handleUserInput(KeyEvent event,GridView gridView, Grid myGridObject, ArrayList<String> words, String[][] gridArray) {
-        if (event.getCode() == KeyCode.ENTER) {
-            if (i == 0) {
-                // Prompt for the word found
-                gridView.displayMessage("Enter word found: ");
-                i = 1; // Move to the next step
-            } else if (i == 1) {
-                // Capture the word entered
-                wordEntered = gridView.captureWordFromInput();
-                gridView.displayMessage("Enter x: ");
-                i++; // Move to the next input stage
-            } else if (i == 2) {
-                // Capture the x-coordinate (row) of the word
-                xCoordinate = gridView.captureWordFromInput().charAt(0);
-                gridView.displayMessage("Enter y: ");
-                i++; // Move to the next input stage
-            } else if (i == 3) {
-                // Capture the y-coordinate (column) of the word
-                yCoordinate = gridView.captureWordFromInput().charAt(0);
-                gridView.displayMessage("[H]orizontal [V]ertical [D]iagonal?: ");
-                i++; // Move to the next input stage
-            } else if (i == 4) {
-                // Apply the user input: validate and remove the word from the grid if valid
-                applyUserInput(gridView, myGridObject, words, gridArray);
+    private void handleUserInput(KeyEvent event, GridView gridView, GameSession session) {
+        if (event.isShortcutDown() && event.getCode() == KeyCode.Z) {
+            // Take back the last word found and show its letters again
+            int placementId = session.undo();
+            if (placementId >= 0) {
+                SharedPuzzle puzzle = session.getPuzzle();
+                gridView.repaintCells(puzzle.getRow(placementId), puzzle.getCol(placementId),
+                        puzzle.getDirection(placementId), puzzle.getLength(placementId));
+                gridView.displayMessage(puzzle.getWord(placementId) + " restored\n");
+                remainingWords.markRemaining(placementId);
+                flag = session.getRemaining();
             }
+            event.consume(); // not the input line's own undo
         }
     }
 
     /**
-     * This method processes the user input after the coordinates and direction are entered.
-     * It validates the word, updates the grid, and removes the word if found.
+     * This method processes the move typed on the input line when Enter is pressed.
+     * It parses the line in one pass, validates the word, updates the grid, and removes the word if found.
      *
      * @param gridView The GridView object for updating the GUI.
-     * @param myGridObject The Grid object representing the internal state of the word search.
-     * @param words The list of words to be found.
-     * @param gridArray The 2D array representation of the grid.
+     * @param session The game being played, which holds the found words.
      */
-    private void applyUserInput(GridView gridView, Grid myGridObject, ArrayList<String> words, String[][] gridArray) {
-        // Get the direction of the word from user input
-        direction = gridView.captureWordFromInput().toUpperCase().charAt(0);
-
-        // Convert coordinates from char to index (x-coordinate is already numeric, y-coordinate is converted to index)
-        int xIndex = Character.getNumericValue(xCoordinate);
-        int yIndex = (yCoordinate - 'a') + 1; // Convert letter to 1-based index (e.g., 'a' -> 1)
-
-        // Validate whether the word is found at the specified location and direction
-        Map<String, ArrayList<Integer>> gridMap = myGridObject.getGridMap();
-        if (validateWord(wordEntered, xIndex, yIndex, direction, gridMap)) {
-            // If the word is valid, remove it from the grid and list of words
-            words.remove(wordEntered);
-            removeWord(wordEntered, xIndex, yIndex, direction, gridArray, gridMap);
-            gridView.setGrid(gridArray); // Update the grid in the GUI
-            gridView.displayMessage("\n" + wordEntered + " removed\n\n");
-            gridView.createGrid(); // Re-render the grid after removal
-            flag--; // Decrease the number of remaining words
-        } else {
+    private void applyUserInput(GridView gridView, GameSession session) {
+        String line = gridView.takeInput();
+        if (line.isBlank()) {
+            return;
+        }
+        gridView.displayMessage("> " + line + "\n"); // Echo the move
+        if (line.trim().startsWith("?")) {
+            hint(line.trim().substring(1).trim(), gridView, session.getPuzzle());
+            return;
+        }
+
+        CommandParser.Command move;
+        try {
+            move = CommandParser.parse(line);
+        } catch (IllegalArgumentException e) {
+            gridView.displayMessage(e.getMessage() + "\n");
+            return;
+        }
+
+        // Look the placement up in the index (case-insensitive, constant time)
+        int placementId = session.getPuzzle().find(move.word(), move.row(), move.col(), move.direction());
+        if (placementId < 0 || !removeFound(placementId, gridView, session)) {
             // If the word was not found, notify the user
-            GridView.textArea.appendText("\n" + wordEntered + " not found\n\n");
+            gridView.displayMessage(move.word() + " not found\n");
         }
+    }
+
+    /**
+     * This method processes a segment the player dragged across the grid. The placement is looked up
+     * through the cells of the segment's first letter, so the cost is the same on any size of grid.
+     *
+     * @param startRow The row where the drag started.
+     * @param startCol The column where the drag started.
+     * @param endRow The row where the drag ended.
+     * @param endCol The column where the drag ended.
+     * @param gridView The GridView object for updating the GUI.
+     * @param session The game being played, which holds the found words.
+     */
+    private void applySelection(int startRow, int startCol, int endRow, int endCol, GridView gridView, GameSession session) {
+        int placementId = cellIndex.resolve(startRow, startCol, endRow, endCol);
+        if (placementId < 0) {
+            gridView.displayMessage("No word from " + startRow + " " + CommandParser.columnLabel(startCol)
+                    + " to " + endRow + " " + CommandParser.columnLabel(endCol) + "\n");
+        } else if (!removeFound(placementId, gridView, session)) {
+            gridView.displayMessage(session.getPuzzle().getWord(placementId) + " was already found\n");
+        }
+    }
 
-        i = 0; // Reset the input step counter
+    /**
+     * Marks a placement found, repaints its cells and reports it, whether it was typed or dragged.
+     *
+     * @param placementId The placement the player found.
+     * @param gridView The GridView object for updating the GUI.
+     * @param session The game being played, which holds the found words.
+     * @return false if the placement was already found.
+     */
+    private boolean removeFound(int placementId, GridView gridView, GameSession session) {
+        if (!session.markFound(placementId)) {
+            return false;
+        }
+        // Mark the word found so it is removed from the grid
+        SharedPuzzle puzzle = session.getPuzzle();
+        gridView.displayMessage(puzzle.getWord(placementId) + " removed\n");
+        remainingWords.markFound(placementId);
+        gridView.clearHint();
+        // Repaint only the cells of the removed word
+        gridView.repaintCells(puzzle.getRow(placementId), puzzle.getCol(placementId),
+                puzzle.getDirection(placementId), puzzle.getLength(placementId));
+        flag = session.getRemaining(); // Update the number of remaining words
 
         // Check if all words have been found and display a completion message
         if (flag == 0) {
-            gridView.displayMessage("\nAll words found!\n");
+            gridView.displayMessage("All words found!\n");
         }
+        return true;
     }
 
     /**
-     * Validates whether a word is present in the grid at the specified coordinates and direction.
+     * Lists the remaining words that start with the word being typed, while the user is still
+     * typing the word (before the first space). The lookup costs the length of the prefix plus
+     * the words listed, whatever the size of the word list.
      *
-     * @param word The word to validate.
-     * @param x The x-coordinate (row) of the word.
-     * @param y The y-coordinate (column) of the word.
-     * @param direction The direction of the word ('H' for horizontal, 'V' for vertical, 'D' for diagonal).
-     * @param gridMap The map that holds the words and their coordinates.
-     * @return true if the word is found and correctly placed, false otherwise.
+     * @param text The current text of the input line.
+     * @param gridView The GridView object showing the suggestions.
+     * @param puzzle The puzzle, which holds the words of the placement ids.
      */
-    public static boolean validateWord(String word, int x, int y, char direction, Map<String, ArrayList<Integer>> gridMap) {
-        // Loop through all words in the grid to check if the word is valid at the given coordinates
-        for (String wordTest : gridMap.keySet()) {
-            if (wordTest.equalsIgnoreCase(word)) {
-                ArrayList<Integer> coordinates = gridMap.get(wordTest);
-
-                // Check if the word's starting coordinates match the given ones
-                if (coordinates.get(0) == x && coordinates.get(1) == y - 1) {
-                    // Validate the direction of the word
-                    return switch (direction) {
-                        case 'H' -> // Horizontal validation
-                                coordinates.get(2) == 0;
-                        case 'V' -> // Vertical validation
-                                coordinates.get(2) == 1;
-                        case 'D' -> // Diagonal validation
-                                coordinates.get(2) == 2;
-                        default -> false;
-                    };
-                }
-            }
+    private void suggest(String text, GridView gridView, SharedPuzzle puzzle) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) == ' ') {
+            start++;
+        }
+        int end = start;
+        while (end < text.length() && Character.isLetter(text.charAt(end))) {
+            end++;
         }
-        return false; // Word not found or invalid location
+        if (end == start || end < text.length()) {
+            gridView.showSuggestions(""); // Nothing typed yet, or the word is complete
+            return;
+        }
+        CharSequence prefix = text.subSequence(start, end);
+        int count = remainingWords.complete(prefix, suggestionIds);
+        if (count == 0) {
+            gridView.showSuggestions("No remaining word starts with " + prefix);
+            return;
+        }
+        StringBuilder shown = new StringBuilder();
+        for (int k = 0; k < count; k++) {
+            shown.append(k == 0 ? "" : "  ").append(puzzle.getWord(suggestionIds[k]));
+        }
+        int more = remainingWords.countWithPrefix(prefix) - count;
+        if (more > 0) {
+            shown.append("  (+").append(more).append(" more)");
+        }
+        gridView.showSuggestions(shown.toString());
     }
 
     /**
-     * Removes a word from the grid by replacing its letters with "*".
+     * Highlights the placement of the first remaining word (alphabetically) that starts with the prefix.
      *
-     * @param word The word to remove.
-     * @param x The x-coordinate (row) of the word.
-     * @param y The y-coordinate (column) of the word.
-     * @param direction The direction of the word ('H', 'V', or 'D').
-     * @param grid The grid as a 2D array.
-     * @param gridMap The map of words and their coordinates.
+     * @param prefix The start of the word, empty for any remaining word.
+     * @param gridView The GridView object for updating the GUI.
+     * @param puzzle The puzzle, which holds where each word was placed.
      */
-    public static void removeWord(String word, int x, int y, char direction, String[][] grid, Map<String, ArrayList<Integer>> gridMap) {
-        x++; // Adjust for 1-based indexing
-        switch (direction) {
-            case 'H': // Remove horizontally
-                for (int i = 0; i < word.length(); i++) {
-                    grid[x][y + i] = "* ";
-                }
-                break;
-            case 'V': // Remove vertically
-                for (int i = 0; i < word.length(); i++) {
-                    grid[x + i][y] = "* ";
-                }
-                break;
-            case 'D': // Remove diagonally
-                for (int i = 0; i < word.length(); i++) {
-                    grid[x + i][y + i] = "* ";
-                }
-                break;
+    private void hint(String prefix, GridView gridView, SharedPuzzle puzzle) {
+        int placementId = remainingWords.first(prefix);
+        if (placementId < 0) {
+            gridView.displayMessage("No remaining word starts with " + prefix + "\n");
+            return;
         }
+        gridView.showHint(puzzle.getRow(placementId), puzzle.getCol(placementId),
+                puzzle.getDirection(placementId), puzzle.getLength(placementId));
+        gridView.displayMessage("Hint: " + puzzle.getWord(placementId) + " is highlighted\n");
     }
 
+    /**
+     * Describes the directions to choose from: the original wording for the classic three
+     * directions, otherwise the symbols of every direction the puzzle uses.
+     *
+     * @param directions The directions words were placed in.
+     * @return The description.
+     */
+    static String directionPrompt(Set<Direction> directions) {
+        if (directions.equals(Direction.CLASSIC)) {
+            return "Directions: [H]orizontal [V]ertical [D]iagonal";
+        }
+        StringBuilder prompt = new StringBuilder("Directions:");
+        for (Direction direction : directions) {
+            prompt.append(' ').append(direction.getSymbol());
+        }
+        return prompt.toString();
+    }
+
+    /**
+     * Picks the file a game is saved to: a saved puzzle is saved back to itself, a text
+     * input file is saved next to it with the {@link PuzzleFile#EXTENSION} extension.
+     *
+     * @param input The file the game was started from.
+     * @return The file to save the game to.
+     */
+    static Path savePathFor(Path input) {
+        if (PuzzleFile.isPuzzleFile(input)) {
+            return input;
+        }
+        String name = input.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return input.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + PuzzleFile.EXTENSION);
+    }
+
+    /**
+     * Usage: App input [--parallel] [--directions SET] [--dictionary FILE] [--words N]
+     * The input is a text input file or a saved .wsp game. With --dictionary, N words (12 by
+     * default) are chosen from the file instead of taking the input file's words.
+     */
     public static void main(String[] args) throws FileNotFoundException {
-        // Get the filename from the command-line arguments
-        fileName = args[0];
+        try {
+            if (args.length == 0 || args[0].startsWith("--")) {
+                throw new IllegalArgumentException("Missing input file");
+            }
+            // Get the filename from the command-line arguments
+            fileName = args[0];
+            for (int k = 1; k < args.length; k++) {
+                switch (args[k]) {
+                    case "--parallel" -> parallel = true;
+                    case "--directions" -> directions = Direction.parseSet(valueOf(args, ++k));
+                    case "--dictionary" -> dictionary = Path.of(valueOf(args, ++k));
+                    case "--words" -> wordCount = Integer.parseInt(valueOf(args, ++k));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[k]);
+                }
+            }
+            if (wordCount <= 0) {
+                throw new IllegalArgumentException("Word count must be positive: " + wordCount);
+            }
+        } catch (IllegalArgumentException e) { // also a number that does not parse
+            System.err.println(e.getMessage());
+            System.err.println("Usage: App input [--parallel] [--directions SET] [--dictionary FILE] [--words N]");
+            System.exit(2);
+        }
         launch(); // Launch the JavaFX application
     }
+
+    /**
+     * @return The value of the option at k - 1
+     * @throws IllegalArgumentException If the option is the last argument
+     */
+    private static String valueOf(String[] args, int k) {
+        if (k == args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[k - 1]);
+        }
+        return args[k];
+    }
 }
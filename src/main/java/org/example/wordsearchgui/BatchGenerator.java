@@ -0,0 +1,379 @@
+package org.example.wordsearchgui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless batch puzzle generator. Nothing on this path touches JavaFX, so it can run on a
+ * server: {@code java -cp target/classes org.example.wordsearchgui.BatchGenerator specs.txt out.txt}
+ *
+ * Spec file format, one puzzle per line (blank lines and lines starting with '#' are skipped):
+ *    rows cols word1 word2 word3 ...
+ * or, when a dictionary is set, the number of words to choose from it ({@link WordSelector}):
+ *    rows cols count
+ *
+ * Puzzles are generated in parallel on all cores and written in input order. Only a bounded
+ * window of puzzles is in flight at a time, so memory does not grow with the size of the batch.
+ * Each puzzle gets its own Random seeded from the base seed and the puzzle's index, so the
+ * output for a given seed is identical whatever the number of threads.
+ */
+public class BatchGenerator {
+
+    private static final int WINDOW_PER_THREAD = 4; // puzzles in flight per worker thread
+    private static final int PROGRESS_INTERVAL = 10_000; // puzzles between progress reports
+
+    private final long seed;
+    private final int threads;
+    private boolean dense; // let words cross on matching letters, see DensePacker
+    private boolean parallel; // place each grid tile by tile on all cores, see Grid#setParallel
+    private Grid.FillMode fillMode = Grid.FillMode.RANDOM;
+    private Set<Direction> directions = Direction.CLASSIC;
+    private WordSelector dictionary; // chooses the words when the specs only give a count
+    private PuzzleCache cache; // serves specs generated before, null for none
+
+    /**
+     * @param seed    Base seed; each puzzle's seed is derived from it and the puzzle's index
+     * @param threads Number of worker threads
+     */
+    public BatchGenerator(long seed, int threads) {
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * @param dense True to let words cross where their letters match ({@link DensePacker})
+     */
+    public BatchGenerator setDense(boolean dense) {
+        this.dense = dense;
+        return this;
+    }
+
+    /**
+     * @param parallel True to place each grid tile by tile on all cores ({@link ParallelPlacer});
+     *                 meant for a few huge grids rather than many small ones
+     */
+    public BatchGenerator setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * @param fillMode How the cells around the words are filled
+     */
+    public BatchGenerator setFillMode(Grid.FillMode fillMode) {
+        this.fillMode = fillMode;
+        return this;
+    }
+
+    /**
+     * @param directions The directions words may run in
+     */
+    public BatchGenerator setDirections(Set<Direction> directions) {
+        this.directions = directions;
+        return this;
+    }
+
+    /**
+     * @param dictionary Chooses the words of each puzzle; spec lines then give a word count
+     *                   instead of the words
+     */
+    public BatchGenerator setDictionary(WordSelector dictionary) {
+        this.dictionary = dictionary;
+        return this;
+    }
+
+    /**
+     * @param cache Serves puzzles generated before for the same spec, seed and settings; specs
+     *              that give a word count for the dictionary are always generated
+     */
+    public BatchGenerator setCache(PuzzleCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Generates every puzzle of the spec stream and writes them to the output in input order.
+     *
+     * @param specs  Reader over the spec lines
+     * @param output Writer the puzzles are streamed to
+     * @return Number of puzzles generated
+     * @throws IOException If reading the specs or writing the output fails
+     */
+    public long run(BufferedReader specs, Writer output) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        int window = threads * WINDOW_PER_THREAD;
+        long begin = System.nanoTime();
+        long index = 0;
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = specs.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] spec = parseSpec(line, lineNumber, dictionary != null);
+                long puzzle = index++;
+                inFlight.addLast(workers.submit(() -> generate(puzzle, spec)));
+                if (inFlight.size() >= window) {
+                    output.write(await(inFlight.removeFirst()));
+                }
+                if (index % PROGRESS_INTERVAL == 0) {
+                    report(index, begin);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                output.write(await(inFlight.removeFirst()));
+            }
+            output.flush();
+        } finally {
+            workers.shutdownNow();
+        }
+        report(index, begin);
+        return index;
+    }
+
+    /**
+     * Splits a spec line and checks its header and words.
+     *
+     * @param counted True if the line gives a word count instead of the words
+     * @return The tokens of the line: rows, cols, then the words or the count
+     */
+    private static String[] parseSpec(String line, long lineNumber, boolean counted) throws IOException {
+        String[] tokens = line.split("\\s+");
+        try {
+            if (tokens.length < 3 || Integer.parseInt(tokens[0]) <= 0 || Integer.parseInt(tokens[1]) <= 0) {
+                throw new IOException("Line " + lineNumber + ": expected 'rows cols " + (counted ? "count'" : "word...'"));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Line " + lineNumber + ": invalid grid size", e);
+        }
+        if (counted && (tokens.length != 3 || !isPositive(tokens[2]))) {
+            throw new IOException("Line " + lineNumber + ": expected 'rows cols count'");
+        }
+        for (int i = 2; !counted && i < tokens.length; i++) {
+            if (!PlacementIndex.isLetters(tokens[i])) {
+                throw new IOException("Line " + lineNumber + ": not a letter A-Z in word: " + tokens[i]);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isPositive(String token) {
+        try {
+            return Integer.parseInt(token) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Generates one puzzle and formats it: a header line, the letters row by row, then one
+     * line per word with its start row, start column and direction symbol. With a cache, a
+     * spec that lists its words is looked up there first.
+     */
+    private String generate(long puzzle, String[] spec) {
+        int rows = Integer.parseInt(spec[0]);
+        int cols = Integer.parseInt(spec[1]);
+        long puzzleSeed = Seeds.derive(seed, puzzle);
+
+        StringBuilder out = new StringBuilder((rows + 1) * (cols + 1) + 64);
+        out.append("# puzzle ").append(puzzle).append(" seed ").append(puzzleSeed)
+                .append(' ').append(rows).append('x').append(cols).append('\n');
+        LetterGrid letters;
+        PlacementIndex placements;
+        try {
+            if (cache == null || dictionary != null) {
+                Grid grid = build(rows, cols, spec, puzzleSeed);
+                letters = grid;
+                placements = grid.getPlacements();
+            } else {
+                PuzzleCache.Key key = PuzzleCache.Key.of(rows, cols, Arrays.asList(spec).subList(2, spec.length),
+                        puzzleSeed, cacheOptions());
+                SharedPuzzle cached = cache.get(key, k -> SharedPuzzle.of(build(rows, cols, spec, puzzleSeed)));
+                letters = cached;
+                placements = cached.placements();
+            }
+        } catch (NotPlaced e) {
+            return out.append("# ").append(e.getMessage()).append("\n\n").toString();
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                out.append(letters.getLetter(row, col));
+            }
+            out.append('\n');
+        }
+        for (int id = 0; id < placements.size(); id++) {
+            out.append(placements.getWord(id)).append(' ').append(placements.getRow(id)).append(' ')
+                    .append(placements.getCol(id)).append(' ').append(placements.getDirection(id).getSymbol()).append('\n');
+        }
+        return out.append('\n').toString();
+    }
+
+    /**
+     * Places the words of a spec line and fills the grid, all from the puzzle's own seed.
+     *
+     * @return The finished grid
+     * @throws NotPlaced If the words could not be placed
+     */
+    private Grid build(int rows, int cols, String[] spec, long puzzleSeed) {
+        Random random = new Random(puzzleSeed);
+        Grid grid = new Grid(rows, cols, random);
+        grid.setDirections(directions);
+        grid.setParallel(parallel);
+        PlacementResult result;
+        if (dictionary == null) {
+            ArrayList<String> words = new ArrayList<>(Arrays.asList(spec).subList(2, spec.length));
+            grid.setWords(words);
+            result = dense ? new DensePacker(grid, random).place(words) : grid.placeWords();
+        } else if (dense) {
+            ArrayList<String> words = dictionary.select(rows, cols, directions, Integer.parseInt(spec[2]), random);
+            grid.setWords(words);
+            result = new DensePacker(grid, random).place(words);
+        } else {
+            result = dictionary.place(grid, Integer.parseInt(spec[2]), random);
+        }
+        if (!result.isPlaced()) {
+            throw new NotPlaced(result.describe());
+        }
+        grid.fillGridWithLetters(fillMode);
+        return grid;
+    }
+
+    /**
+     * @return The settings besides the spec and seed that change a puzzle, as part of its cache key
+     */
+    private String cacheOptions() {
+        StringBuilder options = new StringBuilder();
+        for (Direction direction : directions) {
+            options.append(direction.getSymbol()).append(',');
+        }
+        return options.append(dense ? " dense " : " sparse ").append(fillMode).append(parallel ? " parallel" : "").toString();
+    }
+
+    /**
+     * A spec whose words could not be placed; reported in the output, never cached.
+     */
+    private static final class NotPlaced extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotPlaced(String message) {
+            super(message, null, false, false); // expected outcome, no stack trace
+        }
+    }
+
+    private static String await(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating puzzles", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Puzzle generation failed", e.getCause());
+        }
+    }
+
+    private static void report(long puzzles, long begin) {
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.err.printf("%d puzzles in %.2f s (%.1f puzzles/s)%n", puzzles, seconds, puzzles / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Usage: BatchGenerator specs [output] [--seed N] [--threads N] [--metrics] [--dense] [--unambiguous]
+     *                       [--parallel] [--directions SET] [--dictionary FILE] [--cache MB] [--cache-dir DIR]
+     * The output defaults to standard output, the seed to 0 and the thread count to the number of cores.
+     * With --metrics the generation counters are printed to standard error at the end.
+     * With --dense words may cross where their letters match, so lists fit smaller grids.
+     * With --unambiguous the filler letters never spell a word a second time.
+     * With --parallel each grid is placed tile by tile on all cores, for huge grids (a different layout per seed).
+     * --directions takes "classic" (the default: H, V and D), "all" or a list such as "H,V,W,N".
+     * With --dictionary each spec line is "rows cols count" and the words are chosen from the file.
+     * --cache keeps up to MB megabytes of generated puzzles in memory and serves repeats from them;
+     * --cache-dir also keeps them on disk across runs. The cache counters go to standard error at the end.
+     */
+    public static void main(String[] args) throws IOException {
+        String specsFile = null;
+        String outputFile = null;
+        long seed = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean metrics = false;
+        boolean dense = false;
+        boolean parallel = false;
+        Grid.FillMode fillMode = Grid.FillMode.RANDOM;
+        Set<Direction> directions = Direction.CLASSIC;
+        String dictionaryFile = null;
+        long cacheBytes = -1;
+        Path cacheDir = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--metrics" -> metrics = true;
+                case "--dense" -> dense = true;
+                case "--unambiguous" -> fillMode = Grid.FillMode.UNAMBIGUOUS;
+                case "--parallel" -> parallel = true;
+                case "--directions" -> directions = Direction.parseSet(args[++i]);
+                case "--dictionary" -> dictionaryFile = args[++i];
+                case "--cache" -> cacheBytes = Long.parseLong(args[++i]) << 20;
+                case "--cache-dir" -> cacheDir = Path.of(args[++i]);
+                default -> {
+                    if (specsFile == null) {
+                        specsFile = args[i];
+                    } else {
+                        outputFile = args[i];
+                    }
+                }
+            }
+        }
+        if (specsFile == null) {
+            System.err.println("Usage: BatchGenerator specs [output] [--seed N] [--threads N] [--metrics] [--dense] [--unambiguous]"
+                    + " [--parallel] [--directions SET] [--dictionary FILE] [--cache MB] [--cache-dir DIR]");
+            System.exit(2);
+        }
+
+        if (metrics) {
+            GenerationMetrics.setEnabled(true);
+        }
+        BatchGenerator generator = new BatchGenerator(seed, threads).setDense(dense).setParallel(parallel).setFillMode(fillMode)
+                .setDirections(directions);
+        if (dictionaryFile != null) {
+            generator.setDictionary(WordSelector.load(Path.of(dictionaryFile)));
+        }
+        PuzzleCache cache = null;
+        if (cacheBytes >= 0 || cacheDir != null) {
+            cache = new PuzzleCache(cacheBytes >= 0 ? cacheBytes : PuzzleCache.DEFAULT_MAX_BYTES, cacheDir);
+            generator.setCache(cache);
+        }
+        try (BufferedReader specs = Files.newBufferedReader(Path.of(specsFile), StandardCharsets.UTF_8);
+             Writer output = outputFile == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(outputFile), StandardCharsets.UTF_8)) {
+            generator.run(specs, output);
+        }
+        if (cache != null) {
+            cache.close(); // keeps what is left in memory on disk for the next run
+            System.err.println(cache.getStats());
+        }
+        if (GenerationMetrics.isEnabled()) {
+            System.err.println(GenerationMetrics.snapshot());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+
+/**
+ * Reverse index from each cell of a puzzle to the placements that cover it.
+ *
+ * Stored in compressed sparse row form over the covered cells only: a sorted array of the
+ * covered cells, the offset of each one's placements, and the placement ids back to back.
+ * Memory grows with the number of placed letters, not with the size of the grid, so huge
+ * mostly-filler grids cost no more than small dense ones. Looking a cell up is a binary
+ * search; resolving a dragged segment to a word then only checks the few placements that
+ * cover its first cell.
+ *
+ * Immutable, like the {@link SharedPuzzle} it is built from.
+ */
+public final class CellIndex {
+
+    private final SharedPuzzle puzzle;
+    private final int[] cells; // covered cells (row * cols + col), ascending
+    private final int[] start; // placements of cells[i] are ids[start[i]..start[i + 1])
+    private final int[] ids;
+
+    private CellIndex(SharedPuzzle puzzle, int[] cells, int[] start, int[] ids) {
+        this.puzzle = puzzle;
+        this.cells = cells;
+        this.start = start;
+        this.ids = ids;
+    }
+
+    /**
+     * Indexes every letter of every placement.
+     *
+     * @param puzzle The puzzle
+     * @return The index
+     */
+    public static CellIndex of(SharedPuzzle puzzle) {
+        int cols = puzzle.getCols();
+        int letters = 0;
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            letters += puzzle.getLength(id);
+        }
+        // One (cell, id) pair per letter, sorted so the pairs of a cell are contiguous
+        long[] pairs = new long[letters];
+        int n = 0;
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            int step = puzzle.getLines().step(puzzle.getDirection(id));
+            int cell = puzzle.getRow(id) * cols + puzzle.getCol(id);
+            for (int k = 0; k < puzzle.getLength(id); k++, cell += step) {
+                pairs[n++] = ((long) cell << 32) | id;
+            }
+        }
+        Arrays.sort(pairs);
+
+        int distinct = 0;
+        for (int i = 0; i < letters; i++) {
+            if (i == 0 || (pairs[i] >>> 32) != (pairs[i - 1] >>> 32)) {
+                distinct++;
+            }
+        }
+        int[] cells = new int[distinct];
+        int[] start = new int[distinct + 1];
+        int[] ids = new int[letters];
+        int c = -1;
+        for (int i = 0; i < letters; i++) {
+            int cell = (int) (pairs[i] >>> 32);
+            if (c < 0 || cells[c] != cell) {
+                cells[++c] = cell;
+                start[c] = i;
+            }
+            ids[i] = (int) pairs[i];
+        }
+        start[distinct] = letters;
+        return new CellIndex(puzzle, cells, start, ids);
+    }
+
+    /**
+     * @return Number of placements covering the cell; more than one where words cross
+     */
+    public int countAt(int row, int col) {
+        int i = slot(row, col);
+        return i < 0 ? 0 : start[i + 1] - start[i];
+    }
+
+    /**
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @param k   Which placement, 0 to {@link #countAt} - 1
+     * @return The id of the k-th placement covering the cell, in id order
+     */
+    public int placementAt(int row, int col, int k) {
+        int i = slot(row, col);
+        if (i < 0 || k < 0 || k >= start[i + 1] - start[i]) {
+            throw new IndexOutOfBoundsException("No placement " + k + " at " + row + "," + col);
+        }
+        return ids[start[i] + k];
+    }
+
+    /**
+     * Finds the word spanning a straight segment, as selected by dragging from its first letter
+     * to its last (or from its last to its first).
+     *
+     * @param startRow The row where the drag started
+     * @param startCol The column where the drag started
+     * @param endRow   The row where the drag ended
+     * @param endCol   The column where the drag ended
+     * @return The placement whose end letters are the two cells, or -1 if there is none
+     */
+    public int resolve(int startRow, int startCol, int endRow, int endCol) {
+        int dr = endRow - startRow;
+        int dc = endCol - startCol;
+        if (dr != 0 && dc != 0 && Math.abs(dr) != Math.abs(dc)) {
+            return -1; // not along one of the eight directions
+        }
+        int length = Math.max(Math.abs(dr), Math.abs(dc)) + 1;
+        int i = slot(startRow, startCol);
+        if (i < 0) {
+            return -1;
+        }
+        for (int j = start[i]; j < start[i + 1]; j++) {
+            int id = ids[j];
+            if (puzzle.getLength(id) != length) {
+                continue;
+            }
+            Direction direction = puzzle.getDirection(id);
+            int firstRow = puzzle.getRow(id);
+            int firstCol = puzzle.getCol(id);
+            int lastRow = firstRow + (length - 1) * direction.getRowStep();
+            int lastCol = firstCol + (length - 1) * direction.getColStep();
+            if ((firstRow == startRow && firstCol == startCol && lastRow == endRow && lastCol == endCol)
+                    || (lastRow == startRow && lastCol == startCol && firstRow == endRow && firstCol == endCol)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The position of the cell in {@link #cells}, or -1 if no placement covers it
+     */
+    private int slot(int row, int col) {
+        if (row < 0 || row >= puzzle.getRows() || col < 0 || col >= puzzle.getCols()) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(cells, row * puzzle.getCols() + col);
+        return i < 0 ? -1 : i;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.wordsearchgui;
+
+/**
+ * Parses a move typed on one line, such as {@code apple 1 d h}: the word, the row number,
+ * the column letters and the direction symbol, separated by spaces or tabs.
+ *
+ * The line is read once, left to right, without splitting it into an array or running a
+ * regex; only the word and the direction symbol are copied out. Rows are 0-based numbers as
+ * shown on the left of the grid, columns are the letters shown on top of it ("a" to "z",
+ * then "aa", "ab", ... as in a spreadsheet).
+ */
+public final class CommandParser {
+
+    /**
+     * One parsed move.
+     *
+     * @param word      The word as typed
+     * @param row       The row of the first letter, 0-based
+     * @param col       The column of the first letter, 0-based
+     * @param direction The direction of the word
+     */
+    public record Command(String word, int row, int col, Direction direction) {
+    }
+
+    private CommandParser() {
+    }
+
+    /**
+     * @param line The line typed by the player
+     * @return The move
+     * @throws IllegalArgumentException If the line is not "WORD ROW COLUMN DIRECTION"; the
+     *                                  message says what is wrong and can be shown to the player
+     */
+    public static Command parse(CharSequence line) {
+        int length = line.length();
+        int i = skipSpaces(line, 0);
+
+        int wordStart = i;
+        while (i < length && Character.isLetter(line.charAt(i))) {
+            i++;
+        }
+        if (i == wordStart || (i < length && !isSpace(line.charAt(i)))) {
+            throw new IllegalArgumentException("Expected a word, then row, column and direction, e.g. \"apple 1 d h\"");
+        }
+        String word = line.subSequence(wordStart, i).toString();
+
+        i = skipSpaces(line, i);
+        int rowStart = i;
+        long row = 0;
+        while (i < length && line.charAt(i) >= '0' && line.charAt(i) <= '9' && row <= Integer.MAX_VALUE) {
+            row = row * 10 + (line.charAt(i++) - '0');
+        }
+        if (i == rowStart || row > Integer.MAX_VALUE || (i < length && !isSpace(line.charAt(i)))) {
+            throw new IllegalArgumentException("Row must be a number, as shown on the left of the grid");
+        }
+
+        i = skipSpaces(line, i);
+        int colStart = i;
+        long col = 0;
+        while (i < length && Character.isLetter(line.charAt(i)) && col <= Integer.MAX_VALUE) {
+            char c = Character.toLowerCase(line.charAt(i++));
+            if (c < 'a' || c > 'z') {
+                col = Long.MAX_VALUE;
+                break;
+            }
+            col = col * 26 + (c - 'a' + 1); // bijective base 26: a = 1, z = 26, aa = 27
+        }
+        if (i == colStart || col > Integer.MAX_VALUE || (i < length && !isSpace(line.charAt(i)))) {
+            throw new IllegalArgumentException("Column must be letters, as shown on top of the grid");
+        }
+
+        i = skipSpaces(line, i);
+        int directionStart = i;
+        while (i < length && !isSpace(line.charAt(i))) {
+            i++;
+        }
+        Direction direction = i == directionStart ? null
+                : Direction.fromSymbol(line.subSequence(directionStart, i).toString());
+        if (direction == null) {
+            throw new IllegalArgumentException("Direction must be one of H, V, D or a compass point such as NW");
+        }
+        if (skipSpaces(line, i) != length) {
+            throw new IllegalArgumentException("Unexpected text after the direction");
+        }
+        return new Command(word, (int) row, (int) col - 1, direction);
+    }
+
+    /**
+     * @param col A 0-based column
+     * @return Its label on top of the grid: "a" to "z", then "aa", "ab", ...
+     */
+    public static String columnLabel(int col) {
+        StringBuilder label = new StringBuilder(2);
+        for (int n = col + 1; n > 0; n = (n - 1) / 26) {
+            label.append((char) ('a' + (n - 1) % 26));
+        }
+        return label.reverse().toString();
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static int skipSpaces(CharSequence line, int i) {
+        while (i < line.length() && isSpace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
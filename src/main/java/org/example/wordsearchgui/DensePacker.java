@@ -0,0 +1,514 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Placement engine that lets words cross where their letters match, for compact puzzles.
+ *
+ * Candidate slots are looked up instead of sampled. The packer keeps, for every letter, the
+ * cells that currently hold it, and for every direction the length of the free run starting
+ * at each cell. A word first tries the slots that cross a letter it contains, most shared
+ * letters first. Only when none of them fits does it look for a run of free cells at
+ * least as long as itself. When a word fits nowhere the previous word is lifted and moved
+ * to its next candidate. Only the cells a word wrote itself are cleared, so the letters of
+ * the words it crossed stay in place. As with {@link PlacementEngine}, the grid is left as it
+ * was when the list cannot fit or the budget runs out.
+ *
+ * The indexes take about two ints per cell plus one per enabled direction, so this mode is
+ * meant for grids sized to their word list, see {@link #packSmallest}.
+ */
+public class DensePacker {
+
+    private static final int CLOCK_CHECK_MASK = 4095; // check the deadline every 4096 attempts
+    private static final int CELL_BITS = 31; // a slot key holds the start cell and the direction
+    private static final int DIR_BITS = 3; // enough for the index of any of the eight directions
+    private static final int TIE_BITS = 14; // random bits that break ties between equal overlaps
+
+    private final Grid grid;
+    private final Random random;
+    private final int rows;
+    private final int cols;
+    private final LineTable lines;
+    private final Direction[] directions; // the grid's enabled directions; indexes below refer to this array
+    private final int[] steps; // cell offset of one step in each direction
+    private long maxAttempts = PlacementEngine.DEFAULT_MAX_ATTEMPTS;
+    private long timeBudgetNanos = Long.MAX_VALUE;
+
+    // Letter index: the cells holding each letter, and the position of every cell in its letter's list
+    private final int[][] cellsByLetter = new int[26][];
+    private final int[] letterCount = new int[26];
+    private final int[] positionInLetter;
+
+    // Free-run index: free[dir][cell] is the number of empty cells from cell onwards in directions[dir], inside the grid
+    private final int[][] free;
+
+    // Statistics of the last search, reported to GenerationMetrics and PlacementEvent
+    private long writes;
+    private long backtracks;
+    private long maxWordAttempts;
+    private long sharedCells; // letters written onto a cell another word already holds
+
+    /**
+     * @param grid   The grid to place words into, empty or partly filled with placed words
+     * @param random The random source used to break ties and shuffle free slots
+     */
+    public DensePacker(Grid grid, Random random) {
+        this.grid = grid;
+        this.random = random;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.lines = grid.getLines();
+        this.directions = grid.directionArray();
+        int cellCount = rows * cols;
+        this.steps = new int[directions.length];
+        this.free = new int[directions.length][cellCount];
+        this.positionInLetter = new int[cellCount];
+        for (int letter = 0; letter < 26; letter++) {
+            cellsByLetter[letter] = new int[16];
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            byte letter = grid.letterAt(cell);
+            if (letter != Grid.EMPTY) {
+                indexLetter(cell, letter);
+            }
+        }
+        for (int dir = 0; dir < steps.length; dir++) {
+            Direction direction = directions[dir];
+            steps[dir] = lines.step(direction);
+            // Each line is walked back to front so the next cell of every run is already known
+            for (int line = 0; line < lines.lineCount(direction); line++) {
+                int next = 0;
+                for (int i = lines.lineLength(direction, line) - 1; i >= 0; i--) {
+                    int cell = lines.lineStart(direction, line) + i * steps[dir];
+                    next = grid.letterAt(cell) == Grid.EMPTY ? next + 1 : 0;
+                    free[dir][cell] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param maxAttempts Maximum number of candidate slots to examine before giving up
+     */
+    public DensePacker setMaxAttempts(long maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param millis Maximum wall-clock time to spend searching before giving up
+     */
+    public DensePacker setTimeBudgetMillis(long millis) {
+        this.timeBudgetNanos = millis * 1_000_000L;
+        return this;
+    }
+
+    /**
+     * Finds the smallest square grid the words pack into. The search starts from the size at
+     * which the words would cover the target share of the cells without crossing, grows it
+     * until the words fit, then bisects down towards the longest word.
+     *
+     * @param words         The words to place (case-insensitive)
+     * @param targetDensity Share of the cells words should cover, in (0, 1]
+     * @param random        The random source used for placement
+     * @param maxAttempts   Attempt budget for each grid size tried
+     * @return The smallest grid found, with the words placed and the other cells still empty
+     */
+    public static Grid packSmallest(List<String> words, double targetDensity, Random random, long maxAttempts) {
+        return packSmallest(words, targetDensity, random, maxAttempts, Direction.CLASSIC);
+    }
+
+    /**
+     * Same as {@link #packSmallest(List, double, Random, long)}, in the given directions.
+     *
+     * @param directions The directions words may run in
+     */
+    public static Grid packSmallest(List<String> words, double targetDensity, Random random, long maxAttempts,
+                                    Set<Direction> directions) {
+        if (!(targetDensity > 0 && targetDensity <= 1)) {
+            throw new IllegalArgumentException("Target density must be in (0, 1]: " + targetDensity);
+        }
+        long letters = 0;
+        int longest = 1;
+        for (String word : words) {
+            letters += word.trim().length();
+            longest = Math.max(longest, word.trim().length());
+        }
+        int low = longest - 1; // largest size known (or assumed) not to work
+        int high = Math.max(longest, (int) Math.ceil(Math.sqrt(letters / targetDensity)));
+        Grid best = tryPack(words, high, random, maxAttempts, directions);
+        while (best == null) {
+            low = high;
+            high = Math.multiplyExact(high, 2);
+            best = tryPack(words, high, random, maxAttempts, directions);
+        }
+        while (high - low > 1) {
+            int side = (low + high) >>> 1;
+            Grid grid = tryPack(words, side, random, maxAttempts, directions);
+            if (grid != null) {
+                best = grid;
+                high = side;
+            } else {
+                low = side;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return A square grid of the given side with every word placed, or null if they did not fit
+     */
+    private static Grid tryPack(List<String> words, int side, Random random, long maxAttempts, Set<Direction> directions) {
+        Grid grid = new Grid(side, side, random);
+        grid.setDirections(directions);
+        return new DensePacker(grid, random).setMaxAttempts(maxAttempts).place(words).isPlaced() ? grid : null;
+    }
+
+    /**
+     * Places every word of the list into the grid, or none of them.
+     *
+     * @param input The words to place (case-insensitive)
+     * @return The outcome of the search
+     */
+    public PlacementResult place(List<String> input) {
+        PlacementEvent event = new PlacementEvent();
+        event.begin();
+        writes = 0;
+        backtracks = 0;
+        maxWordAttempts = 0;
+        sharedCells = 0;
+        PlacementResult result = search(input);
+        event.end();
+        if (event.shouldCommit()) {
+            event.words = input.size();
+            event.attempts = result.attempts();
+            event.conflicts = result.attempts() - writes;
+            event.backtracks = backtracks;
+            event.maxWordAttempts = maxWordAttempts;
+            event.status = result.status().name();
+            event.commit();
+        }
+        if (GenerationMetrics.isEnabled()) {
+            GenerationMetrics.recordPlacement(result, writes, backtracks, maxWordAttempts);
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of letters of the last search that landed on a cell shared with another word
+     */
+    public long getSharedCells() {
+        return sharedCells;
+    }
+
+    private PlacementResult search(List<String> input) {
+        long begin = System.nanoTime();
+        long deadline = timeBudgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : begin + timeBudgetNanos;
+        int n = input.size();
+        int dirCount = steps.length;
+
+        String[] words = new String[n];
+        int totalLetters = 0;
+        for (int w = 0; w < n; w++) {
+            words[w] = PlacementIndex.normalizeLetters(input.get(w));
+            if (words[w].isEmpty() || words[w].length() > Math.max(rows, cols)) {
+                return new PlacementResult(PlacementResult.Status.UNPLACEABLE, words[w], 0, System.nanoTime() - begin);
+            }
+            totalLetters += words[w].length();
+        }
+        int[] order = longestFirst(words);
+
+        // Search state, one entry per depth
+        long[][] crossings = new long[n][]; // sorted candidate slots that cross placed letters
+        int[] crossingCount = new int[n];
+        int[] crossingCursor = new int[n];
+        int[] dirStart = new int[n];
+        int[] dirStep = new int[n];
+        long[] freeStart = new long[n];
+        long[] freeStride = new long[n];
+        long[] freeCursor = new long[n];
+        int[] placedCell = new int[n];
+        int[] placedDir = new int[n];
+        int[] writtenFrom = new int[n + 1]; // each depth's cells in the written stack
+        int[] written = new int[totalLetters]; // cells written by the words placed so far, in order
+
+        long attempts = 0;
+        long wordStart = 0;
+        int depth = 0;
+        int deepest = -1;
+        String stuck = null;
+        boolean entering = true;
+        int cellCount = rows * cols;
+
+        while (depth < n) {
+            String word = words[order[depth]];
+            if (entering) {
+                crossings[depth] = crossingSlots(word);
+                crossingCount[depth] = crossings[depth].length;
+                crossingCursor[depth] = 0;
+                dirStart[depth] = random.nextInt(dirCount);
+                dirStep[depth] = 0;
+                freeStart[depth] = random.nextInt(cellCount);
+                freeStride[depth] = coprimeStride(cellCount);
+                freeCursor[depth] = 0;
+                entering = false;
+                wordStart = attempts;
+            }
+
+            int slotCell = -1;
+            int slotDir = -1;
+            boolean exhausted = false;
+            // Slots crossing placed letters, most shared letters first. Deeper words are always
+            // lifted before this word moves on, so the grid still matches the list.
+            if (crossingCursor[depth] < crossingCount[depth]) {
+                long key = crossings[depth][crossingCursor[depth]++];
+                attempts++;
+                slotCell = (int) ((key >>> DIR_BITS) & ((1L << CELL_BITS) - 1));
+                slotDir = (int) (key & ((1 << DIR_BITS) - 1));
+            }
+            // Then runs of free cells long enough for the word, in a random order
+            while (slotCell < 0 && !exhausted && dirStep[depth] < dirCount) {
+                int dir = (dirStart[depth] + dirStep[depth]) % dirCount;
+                int[] run = free[dir];
+                while (freeCursor[depth] < cellCount) {
+                    int cell = (int) ((freeStart[depth] + freeCursor[depth]++ * freeStride[depth]) % cellCount);
+                    attempts++;
+                    if (run[cell] >= word.length()) {
+                        slotCell = cell;
+                        slotDir = dir;
+                        break;
+                    }
+                    if (attempts > maxAttempts || ((attempts & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline)) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+                if (slotCell < 0 && !exhausted) {
+                    dirStep[depth]++;
+                    freeCursor[depth] = 0;
+                }
+            }
+            if (exhausted || attempts > maxAttempts) {
+                rollBack(written, writtenFrom, depth);
+                return new PlacementResult(PlacementResult.Status.BUDGET_EXHAUSTED, word, attempts, System.nanoTime() - begin);
+            }
+
+            if (slotCell >= 0) {
+                writtenFrom[depth + 1] = writtenFrom[depth] + write(word, slotCell, slotDir, written, writtenFrom[depth]);
+                writes++;
+                maxWordAttempts = Math.max(maxWordAttempts, attempts - wordStart);
+                placedCell[depth] = slotCell;
+                placedDir[depth] = slotDir;
+                depth++;
+                entering = true;
+                continue;
+            }
+
+            // Every candidate of this word was tried: lift the previous word and move it on
+            if (depth >= deepest) {
+                deepest = depth;
+                stuck = word;
+            }
+            depth--;
+            if (depth < 0) {
+                return new PlacementResult(PlacementResult.Status.UNPLACEABLE, stuck, attempts, System.nanoTime() - begin);
+            }
+            erase(written, writtenFrom[depth], writtenFrom[depth + 1]);
+            backtracks++;
+            wordStart = attempts;
+        }
+        for (int d = 0; d < n; d++) {
+            sharedCells += words[order[d]].length() - (writtenFrom[d + 1] - writtenFrom[d]);
+        }
+        return new PlacementResult(PlacementResult.Status.PLACED, null, attempts, System.nanoTime() - begin);
+    }
+
+    /**
+     * Lists the slots where the word would cross at least one placed letter and adds at least
+     * one letter of its own, ordered by the number of shared letters (ties in random order).
+     *
+     * @return Slot keys: overlap rank, random tie-breaker, start cell and direction
+     */
+    private long[] crossingSlots(String word) {
+        int length = word.length();
+        // Every (start cell, direction) that lines one of the word's letters up with the same letter
+        int raw = 0;
+        for (int i = 0; i < length; i++) {
+            raw += letterCount[word.charAt(i) - 'A'];
+        }
+        long[] slots = new long[Math.multiplyExact(raw, steps.length)];
+        int dirMask = (1 << DIR_BITS) - 1;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = word.charAt(i) - 'A';
+            int[] cells = cellsByLetter[letter];
+            for (int k = 0; k < letterCount[letter]; k++) {
+                int row = cells[k] / cols;
+                int col = cells[k] % cols;
+                for (int dir = 0; dir < steps.length; dir++) {
+                    int startRow = row - directions[dir].getRowStep() * i;
+                    int startCol = col - directions[dir].getColStep() * i;
+                    if (lines.fits(startRow, startCol, directions[dir], length)) {
+                        slots[count++] = ((long) (startRow * cols + startCol) << DIR_BITS) | dir;
+                    }
+                }
+            }
+        }
+        // The same slot appears once per letter it shares: sort, drop repeats, then rank what fits
+        Arrays.sort(slots, 0, count);
+        int ranked = 0;
+        for (int k = 0; k < count; k++) {
+            if (k > 0 && slots[k] == slots[k - 1]) {
+                continue;
+            }
+            int cell = (int) (slots[k] >>> DIR_BITS);
+            int dir = (int) (slots[k] & dirMask);
+            int shared = overlap(word, cell, dir);
+            if (shared > 0 && shared < length) {
+                long rank = 0x7FFF - shared; // more shared letters sort first
+                slots[ranked++] = (rank << 48) | ((long) random.nextInt(1 << TIE_BITS) << (CELL_BITS + DIR_BITS)) | slots[k];
+            }
+        }
+        Arrays.sort(slots, 0, ranked);
+        return Arrays.copyOf(slots, ranked);
+    }
+
+    /**
+     * @return Number of letters the word shares with the grid at the slot, or -1 if a letter conflicts
+     */
+    private int overlap(String word, int cell, int dir) {
+        int shared = 0;
+        for (int i = 0; i < word.length(); i++, cell += steps[dir]) {
+            byte letter = grid.letterAt(cell);
+            if (letter == word.charAt(i)) {
+                shared++;
+            } else if (letter != Grid.EMPTY) {
+                return -1;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Writes the word and updates both indexes.
+     *
+     * @return Number of cells the word wrote, recorded in written from offset on
+     */
+    private int write(String word, int cell, int dir, int[] written, int offset) {
+        int count = grid.writeShared(word, directions[dir].getCode(), cell / cols, cell % cols, written, offset);
+        for (int k = offset; k < offset + count; k++) {
+            indexLetter(written[k], grid.letterAt(written[k]));
+            for (int d = 0; d < steps.length; d++) {
+                free[d][written[k]] = 0;
+                updateRunsBefore(written[k], d);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Clears the cells of the most recently written word and updates both indexes.
+     */
+    private void erase(int[] written, int from, int to) {
+        for (int k = to - 1; k >= from; k--) {
+            unindexLetter(written[k], grid.letterAt(written[k]));
+        }
+        grid.eraseShared(written, from, to);
+        for (int k = to - 1; k >= from; k--) {
+            for (int d = 0; d < steps.length; d++) {
+                int next = nextCell(written[k], d);
+                free[d][written[k]] = 1 + (next < 0 ? 0 : free[d][next]);
+                updateRunsBefore(written[k], d);
+            }
+        }
+    }
+
+    private void rollBack(int[] written, int[] writtenFrom, int depth) {
+        for (int d = depth - 1; d >= 0; d--) {
+            erase(written, writtenFrom[d], writtenFrom[d + 1]);
+        }
+    }
+
+    /**
+     * Recomputes the free runs of the empty cells leading up to a cell whose run changed.
+     */
+    private void updateRunsBefore(int cell, int dir) {
+        int[] run = free[dir];
+        for (int previous = previousCell(cell, dir); previous >= 0 && grid.letterAt(previous) == Grid.EMPTY;
+             previous = previousCell(previous, dir)) {
+            run[previous] = run[previous + steps[dir]] + 1;
+        }
+    }
+
+    /**
+     * @return The next cell in the direction, or -1 at the edge of the grid
+     */
+    private int nextCell(int cell, int dir) {
+        return lines.room(cell, directions[dir]) > 1 ? cell + steps[dir] : -1;
+    }
+
+    /**
+     * @return The previous cell in the direction, or -1 at the edge of the grid
+     */
+    private int previousCell(int cell, int dir) {
+        return lines.offsetOf(cell, directions[dir]) > 0 ? cell - steps[dir] : -1;
+    }
+
+    private void indexLetter(int cell, byte letter) {
+        int l = letter - 'A';
+        if (letterCount[l] == cellsByLetter[l].length) {
+            cellsByLetter[l] = Arrays.copyOf(cellsByLetter[l], letterCount[l] * 2);
+        }
+        positionInLetter[cell] = letterCount[l];
+        cellsByLetter[l][letterCount[l]++] = cell;
+    }
+
+    private void unindexLetter(int cell, byte letter) {
+        int l = letter - 'A';
+        int last = cellsByLetter[l][--letterCount[l]];
+        cellsByLetter[l][positionInLetter[cell]] = last; // move the last cell into the hole
+        positionInLetter[last] = positionInLetter[cell];
+    }
+
+    /**
+     * @return A random stride in [1, slots) that is coprime to slots, so the walk visits every slot once
+     */
+    private long coprimeStride(long slots) {
+        if (slots <= 2) {
+            return 1;
+        }
+        long candidate;
+        do {
+            candidate = random.nextLong(1, slots);
+        } while (gcd(candidate, slots) != 1);
+        return candidate;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * @return Word indexes sorted by descending length, ties kept in input order
+     */
+    private static int[] longestFirst(String[] words) {
+        long[] keys = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            keys[w] = ((long) (Integer.MAX_VALUE - words[w].length()) << 32) | w;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[words.length];
+        for (int w = 0; w < words.length; w++) {
+            order[w] = (int) keys[w];
+        }
+        return order;
+    }
+}
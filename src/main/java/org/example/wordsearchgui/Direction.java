@@ -0,0 +1,137 @@
+package org.example.wordsearchgui;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Directions a word can run in. The ordinal of each constant is the direction code
+ * packed into {@link PlacementIndex} placements, so the three original directions keep
+ * codes 0, 1 and 2 and new directions are only ever added at the end.
+ *
+ * Each direction has the symbol players type and puzzle files use (H, V and D for the
+ * original three, compass points for the rest), and a compass alias.
+ */
+public enum Direction {
+    HORIZONTAL(0, 1, "H", "E"),
+    VERTICAL(1, 0, "V", "S"),
+    DIAGONAL(1, 1, "D", "SE"),
+    WEST(0, -1, "W", "W"),
+    NORTH(-1, 0, "N", "N"),
+    NORTH_WEST(-1, -1, "NW", "NW"),
+    NORTH_EAST(-1, 1, "NE", "NE"),
+    SOUTH_WEST(1, -1, "SW", "SW");
+
+    /**
+     * The directions of the original game: left to right, top to bottom and down-right.
+     */
+    public static final Set<Direction> CLASSIC = EnumSet.of(HORIZONTAL, VERTICAL, DIAGONAL);
+
+    private static final Direction[] VALUES = values();
+
+    private final int rowStep; // row increment per letter
+    private final int colStep; // column increment per letter
+    private final String symbol; // what the player types for this direction
+    private final String compass; // compass point, accepted as an alias
+
+    Direction(int rowStep, int colStep, String symbol, String compass) {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+        this.symbol = symbol;
+        this.compass = compass;
+    }
+
+    public int getRowStep() {
+        return rowStep;
+    }
+
+    public int getColStep() {
+        return colStep;
+    }
+
+    /**
+     * @return The symbol players type and puzzle files use, e.g. "H" or "NW"
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getCompass() {
+        return compass;
+    }
+
+    /**
+     * @return The direction code stored in placements
+     */
+    public int getCode() {
+        return ordinal();
+    }
+
+    /**
+     * @return The direction pointing the other way
+     */
+    public Direction opposite() {
+        return fromSteps(-rowStep, -colStep);
+    }
+
+    /**
+     * @param code A direction code from a placement
+     * @return The matching direction
+     */
+    public static Direction fromCode(int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * @param rowStep Row increment per letter, -1, 0 or 1
+     * @param colStep Column increment per letter, -1, 0 or 1
+     * @return The matching direction, or null if both steps are 0 or out of range
+     */
+    public static Direction fromSteps(int rowStep, int colStep) {
+        for (Direction direction : VALUES) {
+            if (direction.rowStep == rowStep && direction.colStep == colStep) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param text A symbol, compass point or constant name, in any case
+     * @return The matching direction, or null if the text is not a direction
+     */
+    public static Direction fromSymbol(String text) {
+        String upper = text.trim().toUpperCase(Locale.ROOT);
+        for (Direction direction : VALUES) {
+            if (direction.symbol.equals(upper) || direction.compass.equals(upper) || direction.name().equals(upper)) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a direction set such as "H,V,D", "classic" or "all".
+     *
+     * @param text Comma-separated symbols or compass points, or "classic" or "all"
+     * @return The directions
+     * @throws IllegalArgumentException If a part is not a direction
+     */
+    public static Set<Direction> parseSet(String text) {
+        if (text.equalsIgnoreCase("all")) {
+            return EnumSet.allOf(Direction.class);
+        }
+        if (text.equalsIgnoreCase("classic")) {
+            return EnumSet.copyOf(CLASSIC);
+        }
+        Set<Direction> directions = EnumSet.noneOf(Direction.class);
+        for (String part : text.split(",")) {
+            Direction direction = fromSymbol(part);
+            if (direction == null) {
+                throw new IllegalArgumentException("Not a direction: " + part);
+            }
+            directions.add(direction);
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.wordsearchgui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for {@link Grid#fillGridWithLetters(Grid.FillMode)}.
+ */
+@Name("org.example.wordsearchgui.Fill")
+@Label("Grid Fill")
+@Category("Word Search")
+class FillEvent extends Event {
+
+    @Label("Cells")
+    int cells;
+
+    @Label("Cells Filled")
+    int filled;
+
+    @Label("Rerolls")
+    @Description("Letters replaced because they completed a placed word")
+    int rerolls;
+}
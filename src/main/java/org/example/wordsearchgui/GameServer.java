@@ -0,0 +1,318 @@
+package org.example.wordsearchgui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless game server: many players, each with their own {@link GameSession}, over plain HTTP.
+ * Nothing on this path touches JavaFX.
+ *
+ * Every request runs on its own virtual thread, so tens of thousands of connections cost
+ * little more than their sessions. Puzzles are loaded once and shared by all sessions.
+ * Requests and responses are plain text:
+ *    POST   /sessions?puzzle=N        start a game of puzzle N (default 0), returns the session id
+ *    GET    /sessions/ID              the grid (found cells as '*'), then "remaining N"
+ *    POST   /sessions/ID/moves        body "WORD ROW COL DIR" (0-based row and column,
+ *                                     direction symbol such as H or NW), returns "FOUND remaining N",
+ *                                     "ALREADY_FOUND remaining N" or "NOT_FOUND remaining N"
+ *    POST   /sessions/ID/undo         take back the last word found, returns "UNDONE WORD remaining N"
+ *    DELETE /sessions/ID              end a game
+ * Sessions without a move for the idle timeout are dropped. The number of live sessions is
+ * capped, so clients cannot grow the heap without bound; when the cap is reached, starting a
+ * game is answered with 503 until a session ends or expires.
+ */
+public class GameServer {
+
+    private static final int MAX_BODY = 4096; // longest move accepted
+    private static final long DEFAULT_IDLE_MINUTES = 30;
+    public static final int DEFAULT_MAX_SESSIONS = 100_000;
+
+    private final List<SharedPuzzle> puzzles;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final long idleNanos;
+    private final Semaphore freeSessions; // one permit per session that can still be started
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * @param puzzles     The puzzles players can choose from, by index
+     * @param idleMinutes Minutes without a move after which a session is dropped
+     */
+    public GameServer(List<SharedPuzzle> puzzles, long idleMinutes) {
+        this(puzzles, idleMinutes, DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * @param puzzles     The puzzles players can choose from, by index
+     * @param idleMinutes Minutes without a move after which a session is dropped
+     * @param maxSessions Most sessions alive at once
+     */
+    public GameServer(List<SharedPuzzle> puzzles, long idleMinutes, int maxSessions) {
+        if (puzzles.isEmpty()) {
+            throw new IllegalArgumentException("No puzzles to serve");
+        }
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("At least one session is needed: " + maxSessions);
+        }
+        this.puzzles = List.copyOf(puzzles);
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        this.freeSessions = new Semaphore(maxSessions);
+    }
+
+    /**
+     * Starts listening. Requests are handled on virtual threads.
+     *
+     * @param port The port to listen on, 0 for any free port
+     * @return The port the server listens on
+     * @throws IOException If the port cannot be opened
+     */
+    public int start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        handlers = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(handlers);
+        server.createContext("/sessions", this::handle);
+        server.start();
+        sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+        sweeper.scheduleWithFixedDelay(this::dropIdleSessions, 1, 1, TimeUnit.MINUTES);
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and waits up to a second for the ones in progress.
+     */
+    public void stop() {
+        server.stop(1);
+        handlers.close();
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * @return Number of live sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().split("/"); // "", "sessions", id, "moves"
+            String method = exchange.getRequestMethod();
+            if (path.length == 2 && method.equals("POST")) {
+                create(exchange);
+            } else if (path.length == 3 && method.equals("GET")) {
+                show(exchange, path[2]);
+            } else if (path.length == 4 && path[3].equals("moves") && method.equals("POST")) {
+                move(exchange, path[2]);
+            } else if (path.length == 4 && path[3].equals("undo") && method.equals("POST")) {
+                undo(exchange, path[2]);
+            } else if (path.length == 3 && method.equals("DELETE")) {
+                reply(exchange, endSession(path[2]) ? 200 : 404, "");
+            } else {
+                reply(exchange, 404, "Unknown request\n");
+            }
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        int puzzle = 0;
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.startsWith("puzzle=")) {
+            try {
+                puzzle = Integer.parseInt(query.substring("puzzle=".length()));
+            } catch (NumberFormatException e) {
+                puzzle = -1;
+            }
+        }
+        if (puzzle < 0 || puzzle >= puzzles.size()) {
+            reply(exchange, 400, "Puzzle must be between 0 and " + (puzzles.size() - 1) + "\n");
+            return;
+        }
+        if (!freeSessions.tryAcquire()) {
+            reply(exchange, 503, "Too many games in progress, try again later\n");
+            return;
+        }
+        GameSession session = new GameSession(puzzles.get(puzzle));
+        String id;
+        do {
+            id = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE); // always 16 digits
+        } while (sessions.putIfAbsent(id, session) != null);
+        reply(exchange, 201, id + "\n");
+    }
+
+    private void show(HttpExchange exchange, String id) throws IOException {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            reply(exchange, 404, "No such session\n");
+            return;
+        }
+        PuzzleState state = session.getState(); // a consistent version even if a move arrives meanwhile
+        StringBuilder out = new StringBuilder(state.getRows() * (state.getCols() + 1) + 32);
+        for (int row = 0; row < state.getRows(); row++) {
+            for (int col = 0; col < state.getCols(); col++) {
+                out.append(state.isFound(row, col) ? '*' : state.getLetter(row, col));
+            }
+            out.append('\n');
+        }
+        out.append("remaining ").append(state.getRemaining()).append('\n');
+        reply(exchange, 200, out.toString());
+    }
+
+    private void move(HttpExchange exchange, String id) throws IOException {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            reply(exchange, 404, "No such session\n");
+            return;
+        }
+        String[] move = readBody(exchange).trim().split("\\s+");
+        int row;
+        int col;
+        Direction direction;
+        try {
+            row = Integer.parseInt(move[1]);
+            col = Integer.parseInt(move[2]);
+            direction = Direction.fromSymbol(move[3]);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            reply(exchange, 400, "Expected 'WORD ROW COL DIR'\n");
+            return;
+        }
+        if (direction == null) {
+            reply(exchange, 400, "Unknown direction: " + move[3] + "\n");
+            return;
+        }
+        GameSession.Outcome outcome = session.submit(move[0], row, col, direction);
+        reply(exchange, 200, outcome + " remaining " + session.getRemaining() + "\n");
+    }
+
+    private void undo(HttpExchange exchange, String id) throws IOException {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            reply(exchange, 404, "No such session\n");
+            return;
+        }
+        int placementId = session.undo();
+        String undone = placementId < 0 ? "NOTHING" : session.getPuzzle().getWord(placementId);
+        reply(exchange, 200, "UNDONE " + undone + " remaining " + session.getRemaining() + "\n");
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readNBytes(MAX_BODY), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static void reply(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * @return True if the session existed; its slot is free again
+     */
+    private boolean endSession(String id) {
+        if (sessions.remove(id) == null) {
+            return false;
+        }
+        freeSessions.release();
+        return true;
+    }
+
+    private void dropIdleSessions() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, GameSession> entry : sessions.entrySet()) {
+            if (now - entry.getValue().getLastActive() > idleNanos && sessions.remove(entry.getKey(), entry.getValue())) {
+                freeSessions.release();
+            }
+        }
+    }
+
+    /**
+     * Usage: GameServer port puzzle... [--idle MINUTES] [--max-sessions N]
+     * Each puzzle is a saved .wsp file or a text input file, which is generated once at startup.
+     * At most N games (100000 by default) are in progress at once.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = -1;
+        long idleMinutes = DEFAULT_IDLE_MINUTES;
+        int maxSessions = DEFAULT_MAX_SESSIONS;
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--idle")) {
+                    idleMinutes = Long.parseLong(valueOf(args, ++i));
+                } else if (args[i].equals("--max-sessions")) {
+                    maxSessions = Integer.parseInt(valueOf(args, ++i));
+                } else if (args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                } else if (port < 0) {
+                    port = Integer.parseInt(args[i]);
+                } else {
+                    files.add(Path.of(args[i]));
+                }
+            }
+            if (port < 0 || files.isEmpty()) { throw new IllegalArgumentException("Missing port or puzzle"); }
+            if (port > 65535) { throw new IllegalArgumentException("Not a port: " + port); }
+            if (idleMinutes <= 0) { throw new IllegalArgumentException("Idle minutes must be positive: " + idleMinutes); }
+            if (maxSessions <= 0) { throw new IllegalArgumentException("Session limit must be positive: " + maxSessions); }
+        } catch (IllegalArgumentException e) { // also a number that does not parse
+            System.err.println(e.getMessage());
+            System.err.println("Usage: GameServer port puzzle... [--idle MINUTES] [--max-sessions N]");
+            System.exit(2);
+        }
+        List<SharedPuzzle> puzzles = new ArrayList<>();
+        for (Path file : files) {
+            puzzles.add(SharedPuzzle.of(loadOrGenerate(file)));
+        }
+        GameServer gameServer = new GameServer(puzzles, idleMinutes, maxSessions);
+        System.err.println("Serving " + puzzles.size() + " puzzle(s) on port " + gameServer.start(port));
+    }
+
+    private static String valueOf(String[] args, int k) {
+        if (k == args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[k - 1]);
+        }
+        return args[k];
+    }
+
+    /**
+     * @param file A saved .wsp file, or a text input file to generate a puzzle from
+     * @return The grid, with its letters filled in
+     */
+    static Grid loadOrGenerate(Path file) throws IOException {
+        if (PuzzleFile.isPuzzleFile(file)) {
+            return PuzzleFile.load(file);
+        }
+        PuzzleLoader.Puzzle spec = PuzzleLoader.load(file);
+        Grid grid = new Grid(spec.rows(), spec.cols());
+        grid.setWords(spec.words());
+        PlacementResult placement = grid.placeWords();
+        if (!placement.isPlaced()) {
+            throw new IllegalStateException(file + ": " + placement.describe());
+        }
+        grid.fillGridWithLetters(Grid.FillMode.UNAMBIGUOUS);
+        return grid;
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.wordsearchgui;
+
+/**
+ * The state of one player's game, independent of any UI.
+ *
+ * The letters and placements live in a {@link SharedPuzzle} shared with every other session
+ * of the same puzzle; a session only points at the current {@link PuzzleState} version of this
+ * player's game. Moves are synchronized, so a session can be driven from several threads (for
+ * example overlapping requests from one client). Readers take {@link #getState()} and see a
+ * consistent version without locking, however many moves are made meanwhile. A session keeps
+ * no older versions, so a long game on a server costs its current version and move list only.
+ */
+public final class GameSession implements LetterGrid {
+
+    /**
+     * Result of a move.
+     */
+    public enum Outcome {
+        FOUND,          // the word is at that position and was not found before
+        ALREADY_FOUND,  // the word is at that position but was already found
+        NOT_FOUND       // the word is not at that position
+    }
+
+    private final SharedPuzzle puzzle;
+    private volatile PuzzleState state; // current version, replaced on every move
+    private volatile long lastActive = System.nanoTime(); // used to expire idle sessions
+
+    /**
+     * @param puzzle The puzzle to play, shared with other sessions
+     */
+    public GameSession(SharedPuzzle puzzle) {
+        this.puzzle = puzzle;
+        this.state = PuzzleState.initial(puzzle);
+    }
+
+    public SharedPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * @return The current version of the game, which never changes once returned
+     */
+    public PuzzleState getState() {
+        return state;
+    }
+
+    @Override
+    public int getRows() {
+        return puzzle.getRows();
+    }
+
+    @Override
+    public int getCols() {
+        return puzzle.getCols();
+    }
+
+    @Override
+    public char getLetter(int row, int col) {
+        return puzzle.getLetter(row, col);
+    }
+
+    @Override
+    public boolean isFound(int row, int col) {
+        return state.isFound(row, col);
+    }
+
+    /**
+     * Plays a move: looks the word up at the position and marks it found if it is there.
+     *
+     * @param word      The word entered, in any case
+     * @param row       The row of the first letter, 0-based
+     * @param col       The column of the first letter, 0-based
+     * @param direction The direction of the word (null is never found)
+     * @return The outcome of the move
+     */
+    public Outcome submit(String word, int row, int col, Direction direction) {
+        int id = puzzle.find(word, row, col, direction);
+        if (id < 0) {
+            touch();
+            return Outcome.NOT_FOUND;
+        }
+        return markFound(id) ? Outcome.FOUND : Outcome.ALREADY_FOUND;
+    }
+
+    /**
+     * Marks a placement and its cells as found.
+     *
+     * @param placementId The placement, see {@link SharedPuzzle#find}
+     * @return True if the placement was not found before
+     */
+    public synchronized boolean markFound(int placementId) {
+        touch();
+        PuzzleState next = state.markFound(placementId);
+        if (next == state) {
+            return false;
+        }
+        state = next;
+        return true;
+    }
+
+    /**
+     * Takes back the last word found.
+     *
+     * @return The placement that is no longer found, or -1 if nothing was found yet
+     */
+    public synchronized int undo() {
+        touch();
+        int placementId = state.getLastPlacement();
+        state = state.undo();
+        return placementId;
+    }
+
+    public boolean isPlacementFound(int placementId) {
+        return state.isPlacementFound(placementId);
+    }
+
+    /**
+     * @return Number of words still to be found
+     */
+    public int getRemaining() {
+        return state.getRemaining();
+    }
+
+    public boolean isComplete() {
+        return state.isComplete();
+    }
+
+    /**
+     * @return System.nanoTime() of the last move
+     */
+    long getLastActive() {
+        return lastActive;
+    }
+
+    private void touch() {
+        lastActive = System.nanoTime();
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.wordsearchgui;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters for puzzle generation.
+ *
+ * Counting is off by default and costs one volatile read per instrumented call when off.
+ * Turn it on with {@code -Dwordsearch.metrics=true} or {@link #setEnabled(boolean)}. Hot loops
+ * count into local variables and publish once per call, so the counters are striped
+ * {@link LongAdder}s that many generator threads can update without contention.
+ * For per-call detail, record the JFR events in the "Word Search" category.
+ */
+public final class GenerationMetrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("wordsearch.metrics");
+
+    private static final LongAdder placementRuns = new LongAdder();
+    private static final LongAdder placedRuns = new LongAdder();
+    private static final LongAdder unplaceableRuns = new LongAdder();
+    private static final LongAdder budgetExhaustedRuns = new LongAdder();
+    private static final LongAdder wordsPlaced = new LongAdder();
+    private static final LongAdder attempts = new LongAdder();
+    private static final LongAdder conflicts = new LongAdder();
+    private static final LongAdder outOfBounds = new LongAdder();
+    private static final LongAdder backtracks = new LongAdder();
+    private static final LongAccumulator maxWordAttempts = new LongAccumulator(Math::max, 0);
+    private static final LongAdder placementNanos = new LongAdder();
+    private static final LongAdder fills = new LongAdder();
+    private static final LongAdder cellsFilled = new LongAdder();
+    private static final LongAdder fillNanos = new LongAdder();
+    private static final LongAdder gridCopies = new LongAdder();
+    private static final LongAdder gridCopyNanos = new LongAdder();
+
+    private GenerationMetrics() {
+    }
+
+    /**
+     * A point-in-time copy of the counters.
+     */
+    public record Snapshot(long placementRuns, long placedRuns, long unplaceableRuns, long budgetExhaustedRuns,
+                           long wordsPlaced, long attempts, long conflicts, long outOfBounds, long backtracks,
+                           long maxWordAttempts, long placementNanos, long fills, long cellsFilled, long fillNanos,
+                           long gridCopies, long gridCopyNanos) {
+
+        /**
+         * @return Average number of slots examined per placed word
+         */
+        public double attemptsPerWord() {
+            return wordsPlaced == 0 ? 0 : (double) attempts / wordsPlaced;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "placement: %d runs (%d placed, %d unplaceable, %d out of budget), %.1f ms%n"
+                            + "  words placed: %d, attempts: %d (%.1f per word, max %d for one word)%n"
+                            + "  rejected: %d letter conflicts, %d out of bounds, %d backtracks%n"
+                            + "fill: %d grids, %d cells, %.1f ms%n"
+                            + "grid copy to strings: %d copies, %.1f ms",
+                    placementRuns, placedRuns, unplaceableRuns, budgetExhaustedRuns, placementNanos / 1e6,
+                    wordsPlaced, attempts, attemptsPerWord(), maxWordAttempts,
+                    conflicts, outOfBounds, backtracks,
+                    fills, cellsFilled, fillNanos / 1e6,
+                    gridCopies, gridCopyNanos / 1e6);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * @return The current value of every counter
+     */
+    public static Snapshot snapshot() {
+        return new Snapshot(placementRuns.sum(), placedRuns.sum(), unplaceableRuns.sum(), budgetExhaustedRuns.sum(),
+                wordsPlaced.sum(), attempts.sum(), conflicts.sum(), outOfBounds.sum(), backtracks.sum(),
+                maxWordAttempts.get(), placementNanos.sum(), fills.sum(), cellsFilled.sum(), fillNanos.sum(),
+                gridCopies.sum(), gridCopyNanos.sum());
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public static void reset() {
+        for (LongAdder adder : new LongAdder[]{placementRuns, placedRuns, unplaceableRuns, budgetExhaustedRuns,
+                wordsPlaced, attempts, conflicts, outOfBounds, backtracks, placementNanos, fills, cellsFilled,
+                fillNanos, gridCopies, gridCopyNanos}) {
+            adder.reset();
+        }
+        maxWordAttempts.reset();
+    }
+
+    static void recordPlacement(PlacementResult result, long writes, long lifted, long maxAttempts) {
+        placementRuns.increment();
+        switch (result.status()) {
+            case PLACED -> placedRuns.increment();
+            case UNPLACEABLE, TOO_MANY_LETTERS -> unplaceableRuns.increment();
+            case BUDGET_EXHAUSTED -> budgetExhaustedRuns.increment();
+        }
+        if (result.isPlaced()) {
+            // Words lifted while backtracking were written more than once, count each word once
+            wordsPlaced.add(writes - lifted);
+        }
+        attempts.add(result.attempts());
+        conflicts.add(result.attempts() - writes);
+        backtracks.add(lifted);
+        maxWordAttempts.accumulate(maxAttempts);
+        placementNanos.add(result.nanos());
+    }
+
+    static void recordOutOfBounds() {
+        outOfBounds.increment();
+    }
+
+    static void recordConflict() {
+        conflicts.increment();
+    }
+
+    static void recordFill(int filled, long nanos) {
+        fills.increment();
+        cellsFilled.add(filled);
+        fillNanos.add(nanos);
+    }
+
+    static void recordGridCopy(long nanos) {
+        gridCopies.increment();
+        gridCopyNanos.add(nanos);
+    }
+}
@@ -1,25 +1,30 @@
 package org.example.wordsearchgui;
 
-import java.io.FileWriter;
-import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.Random;
+import java.util.Set;
+
+public class Grid implements LetterGrid {
+    static final byte EMPTY = ' '; // value of a cell no word has been written to
 
-public class Grid {
     private int rows;
     private int cols;
-    private char[][] grid;
+    private final byte[] cells; // letters in row-major order, one byte per cell
+    private final BitSet found = new BitSet(); // cells of words the player has found
+    private final BitSet foundPlacements = new BitSet(); // placement ids of words the player has found
     private ArrayList<String> words;
-    private Boolean digonalPlaced=false;
-    private final int[][] directions = {
-            {0, 1}, {1, 0}, {1, 1},  // Horizontal, Vertical, Diagonal
-    };
-    Map<String,ArrayList<Integer>> gridMap=new HashMap<String,ArrayList<Integer>>();
+    private final Random random; // single random source for placement and filling
+    private final LineTable lines; // line geometry, walked by placement, checks and filling
+    private Direction[] directions = Direction.CLASSIC.toArray(new Direction[0]); // directions words may run in
+    private final PlacementIndex placements = new PlacementIndex(); // where each word was placed
+    private boolean parallel; // place tile by tile on all cores, see ParallelPlacer
 
-    public Map<String, ArrayList<Integer>> getGridMap() {
-        return gridMap;
+    public PlacementIndex getPlacements() {
+        return placements;
     }
 
     /**
@@ -30,115 +35,418 @@ public class Grid {
      * @param cols Number of columns in the grid
      */
     public Grid(int rows, int cols) {
+        this(rows, cols, new Random());
+    }
+
+    /**
+     * Constructor to initialize the grid with specified dimensions and random source.
+     * Passing a seeded random makes placement and filling reproducible.
+     *
+     * @param rows   Number of rows in the grid
+     * @param cols   Number of columns in the grid
+     * @param random The random source used for placement and filling
+     */
+    public Grid(int rows, int cols, Random random) {
         this.rows = rows;
         this.cols = cols;
-        this.grid = new char[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                grid[i][j] = ' '; // fill the grid with empty spaces
+        this.random = random;
+        this.cells = new byte[Math.multiplyExact(rows, cols)];
+        this.lines = new LineTable(rows, cols);
+        Arrays.fill(cells, EMPTY); // fill the grid with empty spaces
+    }
+
+    /**
+     * Sets the directions words are placed in, and checked in by the unambiguous fill.
+     * The default is {@link Direction#CLASSIC}, which keeps the puzzles of a given seed unchanged.
+     *
+     * @param directions The directions to use, at least one
+     */
+    public void setDirections(Set<Direction> directions) {
+        if (directions.isEmpty()) {
+            throw new IllegalArgumentException("At least one direction is needed");
+        }
+        this.directions = EnumSet.copyOf(directions).toArray(new Direction[0]);
+    }
+
+    /**
+     * Chooses how {@link #placeWords} places: one backtracking search over the whole grid (the
+     * default), or tiles placed on all cores by a {@link ParallelPlacer}. The parallel mode is
+     * much faster on grids of a million cells or more, but gives a different layout for the
+     * same seed.
+     *
+     * @param parallel True to place tile by tile in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * @return The directions words are placed in
+     */
+    public Set<Direction> getDirections() {
+        return EnumSet.copyOf(Arrays.asList(directions));
+    }
+
+    /**
+     * @return The enabled directions in code order; the caller must not modify the array
+     */
+    Direction[] directionArray() {
+        return directions;
+    }
+
+    /**
+     * @return The line and stride tables of this grid's size
+     */
+    public LineTable getLines() {
+        return lines;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getLetter(int row, int col) {
+        return (char) cells[row * cols + col];
+    }
+
+    @Override
+    public boolean isFound(int row, int col) {
+        return found.get(row * cols + col);
+    }
+
+    /**
+     * Marks every cell of a placement as found.
+     *
+     * @param placementId The id of the placement in {@link #getPlacements()}
+     */
+    public void markFound(int placementId) {
+        foundPlacements.set(placementId);
+        int step = lines.step(placements.getDirection(placementId));
+        int cell = placements.getRow(placementId) * cols + placements.getCol(placementId);
+        for (int i = 0; i < placements.getLength(placementId); i++, cell += step) {
+            found.set(cell);
+        }
+    }
+
+    /**
+     * @param placementId The id of the placement in {@link #getPlacements()}
+     * @return True if the player has already found this placement
+     */
+    public boolean isPlacementFound(int placementId) {
+        return foundPlacements.get(placementId);
+    }
+
+    /**
+     * Returns a read-only view of the letters in row-major order (index = row * cols + col).
+     * The view shares the grid's storage, so no letters are copied.
+     *
+     * @return A read-only buffer over the grid's letters
+     */
+    public ByteBuffer getLetters() {
+        return ByteBuffer.wrap(cells).asReadOnlyBuffer();
+    }
+
+    /**
+     * Replaces the letters with the next rows * cols bytes of a buffer (used when loading a saved puzzle).
+     *
+     * @param source The buffer to read from, positioned at the first letter
+     */
+    void readLetters(ByteBuffer source) {
+        source.get(cells);
+    }
+
+    /**
+     * Checks that a word is spelled in the grid starting at a cell and running in a direction.
+     *
+     * @param word      The uppercase word
+     * @param row       The row of the first letter
+     * @param col       The column of the first letter
+     * @param direction The direction of the word
+     * @return True if the slot is in bounds and holds the word
+     */
+    boolean spells(String word, int row, int col, Direction direction) {
+        if (!lines.fits(row, col, direction, word.length())) {
+            return false;
+        }
+        int step = lines.step(direction);
+        for (int i = 0, cell = row * cols + col; i < word.length(); i++, cell += step) {
+            if (cells[cell] != word.charAt(i)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * How {@link #fillGridWithLetters(FillMode)} chooses the letters of the empty cells.
+     */
+    public enum FillMode {
+        RANDOM,      // uniformly random letters
+        UNAMBIGUOUS  // random letters, re-rolled when they would spell a placed word a second time
     }
 
     /**
      * Fills the remaining empty spaces in the grid with random wordDetails.
      */
     public void fillGridWithLetters() {
-        Random random = new Random();
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if(grid[i][j]==' ') // Only replace empty space
-                    grid[i][j] = (char) ('A' + random.nextInt(26));  // Random uppercase letter
+        fillGridWithLetters(FillMode.RANDOM);
+    }
+
+    /**
+     * Fills the remaining empty spaces in the grid with random letters.
+     *
+     * In {@link FillMode#UNAMBIGUOUS} mode every new letter is checked before moving on: the
+     * lines through the cell, in every enabled direction, are run through an Aho-Corasick automaton of
+     * the placed words, and only the stretch a word could span is scanned. A letter that
+     * completes a word is replaced by another letter. The cost is proportional to the cells
+     * filled times the longest word, whatever the number of words. Copies made by the placed
+     * words themselves (for example one word inside another) are not the filler's doing and stay.
+     *
+     * @param mode How to choose the letters
+     * @return Number of cells where every letter completed a word (only possible with one-letter
+     *         words), so a second copy could not be avoided; always 0 in RANDOM mode
+     */
+    public int fillGridWithLetters(FillMode mode) {
+        FillEvent event = new FillEvent();
+        event.begin();
+        long begin = System.nanoTime();
+        AhoCorasick matcher = mode == FillMode.UNAMBIGUOUS && placements.size() > 0 ? placedWords() : null;
+        int filled = 0;
+        int rerolls = 0;
+        int ambiguous = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == EMPTY) { // Only replace empty space
+                cells[i] = (byte) ('A' + random.nextInt(26));  // Random uppercase letter
+                filled++;
+                if (matcher != null) {
+                    int tried = 1 << (cells[i] - 'A');
+                    while (completesWord(matcher, i) && tried != (1 << 26) - 1) {
+                        int letter;
+                        do {
+                            letter = random.nextInt(26);
+                        } while ((tried & (1 << letter)) != 0);
+                        tried |= 1 << letter;
+                        cells[i] = (byte) ('A' + letter);
+                        rerolls++;
+                    }
+                    if (tried == (1 << 26) - 1 && completesWord(matcher, i)) {
+                        ambiguous++;
+                    }
+                }
             }
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.cells = cells.length;
+            event.filled = filled;
+            event.rerolls = rerolls;
+            event.commit();
+        }
+        if (GenerationMetrics.isEnabled()) {
+            GenerationMetrics.recordFill(filled, System.nanoTime() - begin);
+        }
+        return ambiguous;
     }
 
     /**
-     * Places all words in the word list into the grid.
-     * Words are wordPlaced in random directions and positions.
-     * Ensures at least one word is wordPlaced diagonally.
-     */
-    public void placeWords() {
-        for (String word : words) {
-            boolean wordPlaced = false;
-            // Convert the word to uppercase
-            word = word.toUpperCase();
-            // Keep trying until the word is wordPlaced
-            while (!wordPlaced) {
-                Random random = new Random();
-                int startRow = random.nextInt(rows);
-                int startCol = random.nextInt(cols);
-                // random direction
-                int[] direction = directions[random.nextInt(directions.length)];
-                // ensure at least one diagonal is wordPlaced
-                if(!digonalPlaced)
-                {
-                    digonalPlaced=true;
-                    direction[1] =1; // force diagonal direction
-                    direction[0] =1;
+     * @return An automaton over the distinct placed words
+     */
+    private AhoCorasick placedWords() {
+        ArrayList<String> placed = new ArrayList<>(placements.size());
+        for (int id = 0; id < placements.size(); id++) {
+            placed.add(placements.getWord(id));
+        }
+        return AhoCorasick.build(placed);
+    }
+
+    /**
+     * Checks whether the letter in a cell completes a word in any enabled direction. Only the
+     * stretch of each line a word through the cell could span is scanned: up to the longest
+     * word's length minus one before and after the cell, clipped to the line by the line table.
+     * Empty cells reset the automaton.
+     */
+    private boolean completesWord(AhoCorasick matcher, int cell) {
+        int reach = matcher.getMaxLength() - 1;
+        for (Direction direction : directions) {
+            int step = lines.step(direction);
+            int back = Math.min(reach, lines.offsetOf(cell, direction));
+            int first = cell - back * step;
+            int span = Math.min(back + reach + 1, lines.room(first, direction));
+            int state = matcher.root();
+            for (int position = 0, c = first; position < span; position++, c += step) {
+                state = matcher.next(state, (char) cells[c]);
+                if (position < back) {
+                    continue; // a word ending before the cell does not contain it
+                }
+                for (int match = matcher.firstMatch(state); match >= 0; match = matcher.nextMatch(match)) {
+                    if (position - matcher.word(matcher.wordId(match)).length() < back) {
+                        return true; // the match starts at or before the cell, so it contains it
+                    }
                 }
-                // Attempt to place the word
-                wordPlaced = checkPlaceWord(word,direction,startRow,startCol);
             }
         }
+        return false;
+    }
+
+    /**
+     * Places all words in the word list into the grid using the backtracking {@link PlacementEngine}
+     * with its default budget. Words are placed in random directions and positions, and the first
+     * (longest) word tries the diagonal first so at least one word is usually diagonal.
+     * In parallel mode (see {@link #setParallel}) the grid is split into tiles placed on all
+     * cores by a {@link ParallelPlacer}, seeded from this grid's random source.
+     * If the words cannot all be placed the grid is left empty.
+     *
+     * @return The outcome of the placement, see {@link PlacementResult}
+     */
+    public PlacementResult placeWords() {
+        if (parallel) {
+            return new ParallelPlacer(this, random.nextLong()).place(words);
+        }
+        return new PlacementEngine(this, random).place(words);
+    }
+
+    /**
+     * Creates a placement engine bound to this grid and its random source,
+     * for callers that need a custom ordering or budget.
+     *
+     * @return A new placement engine
+     */
+    public PlacementEngine newPlacementEngine() {
+        return new PlacementEngine(this, random);
     }
 
     /**
      * Attempts to place a word into the grid at the specified position and direction.
      * @param word      The word to place
-     * @param direction The direction to place the word ({rowIncrement, colIncrement})
+     * @param direction The direction to place the word ({rowIncrement, colIncrement}), any of the eight
      * @param startRow  The starting row
      * @param startCol  The starting column
      * @return True if the word was wordPlaced successfully; false otherwise
      */
     public boolean checkPlaceWord(String word, int[] direction, int startRow, int startCol) {
-        // calculate the end position of the word
-        int endRow = startRow + direction[0] * (word.length() - 1);
-        int endCol = startCol + direction[1] * (word.length() - 1);
+        Direction resolved = Direction.fromSteps(direction[0], direction[1]);
+        if (resolved == null) {
+            throw new IllegalArgumentException("Not a direction: " + Arrays.toString(direction));
+        }
         // check if the word will go out of boundraies
-        if (endRow >= rows || endCol >= cols) {
+        if (!lines.fits(startRow, startCol, resolved, word.length())) {
+            if (GenerationMetrics.isEnabled()) {
+                GenerationMetrics.recordOutOfBounds();
+            }
             return false; // Out of bounds
         }
+        int dir = resolved.getCode();
         // check for conflicts with existing wordDetails
-        for (int i = 0; i < word.length(); i++) {
-            int row = startRow + i * direction[0];
-            int col = startCol + i * direction[1];
-            if (grid[row][col] !=' ') {
-                return false; // conflict
+        if (!fits(word, dir, startRow, startCol)) {
+            if (GenerationMetrics.isEnabled()) {
+                GenerationMetrics.recordConflict();
             }
+            return false; // conflict
         }
         // place the word in the grid
-        ArrayList<Integer> wordDetails=setWordDetails(startCol,startRow,direction);
-        gridMap.put(word,wordDetails);
-        for (int i = 0; i < word.length(); i++) {
-            int row = startRow + i * direction[0];
-            int col = startCol + i * direction[1];
-            grid[row][col] = word.charAt(i);
+        write(word, dir, startRow, startCol);
+        return true;
+    }
+
+    /**
+     * Checks that every cell of an in-bounds slot is still empty.
+     *
+     * @param word     The word to place
+     * @param dir      The direction code, see {@link Direction#getCode()}
+     * @param startRow The starting row
+     * @param startCol The starting column
+     * @return True if the word can be written at the slot
+     */
+    boolean fits(String word, int dir, int startRow, int startCol) {
+        int step = lines.step(Direction.fromCode(dir));
+        for (int i = 0, cell = startRow * cols + startCol; i < word.length(); i++, cell += step) {
+            if (cells[cell] != EMPTY) {
+                return false;
+            }
         }
         return true;
     }
 
-    private ArrayList<Integer> setWordDetails(int startCol, int startRow, int[] direction) {
-        ArrayList<Integer> wordDetails = new ArrayList<Integer>();
-        wordDetails.add(startRow);
-        wordDetails.add(startCol);
-        if(direction[0]==0)
-        {
-            wordDetails.add(0); //Horizintal
+    /**
+     * Writes a word into an in-bounds slot and records it in the placement index.
+     */
+    void write(String word, int dir, int startRow, int startCol) {
+        int step = lines.step(Direction.fromCode(dir));
+        placements.add(word, startRow, startCol, Direction.fromCode(dir));
+        for (int i = 0, cell = startRow * cols + startCol; i < word.length(); i++, cell += step) {
+            cells[cell] = (byte) word.charAt(i);
         }
-        else {
-            if(direction[1]==0)
-            {
-                wordDetails.add(1); // Vertical
-            }
-            else{
-                wordDetails.add(2); // Digonal
+    }
+
+    /**
+     * Clears the most recently written word and forgets its placement (used when backtracking).
+     */
+    void erase(String word, int dir, int startRow, int startCol) {
+        int step = lines.step(Direction.fromCode(dir));
+        placements.removeLast();
+        for (int i = 0, cell = startRow * cols + startCol; i < word.length(); i++, cell += step) {
+            cells[cell] = EMPTY;
+        }
+    }
+
+    /**
+     * Writes a word that may cross letters already in the grid, and records it in the placement index.
+     * The caller has checked that every cell is empty or already holds the matching letter.
+     *
+     * @param written Receives the cells that were empty before, the ones this word owns
+     * @param offset  Where in written to store the first of them
+     * @return Number of cells stored in written
+     */
+    int writeShared(String word, int dir, int startRow, int startCol, int[] written, int offset) {
+        int step = lines.step(Direction.fromCode(dir));
+        placements.add(word, startRow, startCol, Direction.fromCode(dir));
+        int count = 0;
+        for (int i = 0, cell = startRow * cols + startCol; i < word.length(); i++, cell += step) {
+            if (cells[cell] == EMPTY) {
+                cells[cell] = (byte) word.charAt(i);
+                written[offset + count++] = cell;
             }
         }
-        return wordDetails;
+        return count;
+    }
+
+    /**
+     * Undoes {@link #writeShared}: clears the cells the word owned and forgets its placement.
+     * Letters it shared with other words stay.
+     */
+    void eraseShared(int[] written, int from, int to) {
+        placements.removeLast();
+        for (int k = from; k < to; k++) {
+            cells[written[k]] = EMPTY;
+        }
+    }
 
+    /**
+     * Empties every cell and forgets every placement.
+     */
+    void clear() {
+        Arrays.fill(cells, EMPTY);
+        placements.clear();
+        found.clear();
+        foundPlacements.clear();
     }
 
+    /**
+     * @param cell A row-major cell index
+     * @return The letter in the cell, or {@link #EMPTY}
+     */
+    byte letterAt(int cell) {
+        return cells[cell];
+    }
 
     /**
      * Sets the list of words to place in the grid.
@@ -149,16 +457,29 @@ public class Grid {
         this.words = words;
     }
 
+    /**
+     * @return The list of words to place, or still to be found in a loaded puzzle
+     */
+    public ArrayList<String> getWords() {
+        return words;
+    }
+
 
     /**
-     * Prints the grid to a file and fills empty spaces with random wordDetails.
+     * Fills empty spaces with random letters and copies the grid into an array of labelled
+     * cells. Nothing is written to a file. Allocates one String per cell; the GUI and game
+     * logic read the grid through {@link LetterGrid} instead, and {@link PuzzleExporter}
+     * streams it to text or PNG without this copy. Only kept for callers that need it.
      *
-     * @return The FileWriter object used to write the grid
-     * @throws IOException If an error occurs during file writing
+     * @return The column labels in row 0 and the row labels in column 0, then one
+     *         "letter " cell per grid cell
      */
     public String [][] getGridAsArray()  {
-        String grid2[][]=new String[rows+1][cols+1];
         fillGridWithLetters();
+        GridCopyEvent event = new GridCopyEvent();
+        event.begin();
+        long begin = System.nanoTime();
+        String grid2[][]=new String[rows+1][cols+1];
         for (int i = 0; i < rows+1; i++) {
             if(i==0)
             {
@@ -176,9 +497,18 @@ public class Grid {
             }
 
             for (int j = 1; j < cols+1; j++) {
-                grid2[i][j] = String.valueOf(grid[i-1][j-1]+" ");
+                grid2[i][j] = getLetter(i-1, j-1)+" ";
             }
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.cols = cols;
+            event.commit();
+        }
+        if (GenerationMetrics.isEnabled()) {
+            GenerationMetrics.recordGridCopy(System.nanoTime() - begin);
+        }
         return grid2;
     }
 
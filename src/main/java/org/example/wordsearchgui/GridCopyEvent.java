@@ -0,0 +1,21 @@
+package org.example.wordsearchgui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for {@link Grid#getGridAsArray()}, which copies every cell into a String.
+ */
+@Name("org.example.wordsearchgui.GridCopy")
+@Label("Grid Copy To Strings")
+@Category("Word Search")
+class GridCopyEvent extends Event {
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int cols;
+}
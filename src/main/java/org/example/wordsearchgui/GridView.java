@@ -1,145 +1,536 @@
 package org.example.wordsearchgui;
 
+import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.geometry.VPos;
 import javafx.scene.Scene;
-import javafx.scene.control.TextArea;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.StackPane;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TextField;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
 
 public class GridView {
 
+    /**
+     * Receives the segment the player selected by dragging across the grid.
+     */
+    public interface SelectionHandler {
+        /**
+         * @param startRow The row where the drag started
+         * @param startCol The column where the drag started
+         * @param endRow   The row where the drag ended, in line with the start along one of the eight directions
+         * @param endCol   The column where the drag ended
+         */
+        void selected(int startRow, int startCol, int endRow, int endCol);
+    }
+
     private static final int RECTANGLE_SIZE = 20; // Size of each rectangle in the grid for better visibility
     private static final int SPACING = 10; // Space between UI elements (grid, text area, etc.)
     private static final int GRID_SPACING = 5; // Space between individual grid elements (cells)
+    private static final double MAX_VIEWPORT_WIDTH = 900; // Largest initial viewport, bigger grids scroll
+    private static final double MAX_VIEWPORT_HEIGHT = 600;
+    private static final double MIN_ZOOM = 0.25; // Zoom limits for Ctrl + mouse wheel
+    private static final double MAX_ZOOM = 4;
+    private static final double MIN_TEXT_SIZE = 6; // Letters are not drawn in cells smaller than this
+    private static final double TRANSCRIPT_HEIGHT = 150; // Height of the message list under the grid
 
     private int rows; // Number of rows in the grid
     private int cols; // Number of columns in the grid
-    private String[][] grid; // 2D array that represents the word search grid
-    private VBox gridContainer; // Container to hold the grid rows and cells in the UI
-    public static TextArea textArea; // Text area for user input (where user enters word details)
+    private LetterGrid grid; // Read-only view of the word search grid
+    private Canvas canvas; // Canvas the visible part of the grid is painted on
+    private ScrollBar hBar; // First visible column
+    private ScrollBar vBar; // First visible row
+    private double zoom = 1; // Scale factor applied to cell sizes
+    private Font labelFont; // Font of the cell labels, rebuilt only when the zoom changes
+    private double labelFontZoom; // Zoom the label font was built for
+    public static TextField inputField; // Input line where the user types a move, e.g. "apple 1 d h"
+    private ListView<String> transcriptView; // Shows the most recent messages
+    private final Transcript transcript = new Transcript(); // Bounded message history, oldest lines are dropped
+    private Label suggestions; // Remaining words that start with what the user is typing
+    private int hintRow = -1; // First cell of the word highlighted as a hint, -1 if none
+    private int hintCol;
+    private Direction hintDirection;
+    private int hintLength;
+    private int selectionRow = -1; // First cell of the segment being dragged, -1 if none
+    private int selectionCol;
+    private Direction selectionDirection;
+    private int selectionLength;
+    private SelectionHandler selectionHandler; // Told about each segment dragged across the grid
 
     /**
      * Constructor to initialize the grid view with given grid data.
      *
-     * @param rows Number of rows in the grid.
-     * @param cols Number of columns in the grid.
-     * @param grid 2D array representing the word search grid.
+     * @param grid Read-only view of the word search grid.
      */
-    public GridView(int rows, int cols, String[][] grid) {
-        this.rows = rows; // Set the number of rows
-        this.cols = cols + 1; // Set the number of columns (the +1 accounts for 1-indexing in the grid)
+    public GridView(LetterGrid grid) {
+        this.rows = grid.getRows(); // Set the number of rows
+        this.cols = grid.getCols(); // Set the number of columns
         this.grid = grid; // Set the grid data
     }
 
     /**
      * Draws the main grid and input area as a JavaFX scene.
+     * The grid is painted on a single canvas that only covers the viewport, so the cost of a
+     * frame depends on the window size, not on the grid size. Scroll with the scroll bars or the
+     * mouse wheel (Shift for horizontal) and zoom with Ctrl + mouse wheel.
      *
-     * @return The created scene with grid and text area.
+     * @return The created scene with grid, messages and input line.
      */
     public Scene drawGrid() {
         VBox root = new VBox(SPACING); // Main vertical container for the grid and text area
         root.setAlignment(Pos.CENTER); // Center align the root container
 
-        // Container for the grid (holds all rows)
-        gridContainer = new VBox(GRID_SPACING);
-        gridContainer.setAlignment(Pos.CENTER); // Center align the grid container
+        // Viewport holding the canvas, the canvas always has the viewport's size
+        Pane viewport = new Pane();
+        viewport.setMinSize(0, 0);
+        viewport.setPrefSize(Math.min(cellWidth() * (cols + 1), MAX_VIEWPORT_WIDTH),
+                Math.min(cellHeight() * (rows + 1), MAX_VIEWPORT_HEIGHT));
+        canvas = new Canvas();
+        canvas.widthProperty().bind(viewport.widthProperty());
+        canvas.heightProperty().bind(viewport.heightProperty());
+        viewport.getChildren().add(canvas);
+
+        // Scroll bars move in whole cells
+        hBar = new ScrollBar();
+        vBar = new ScrollBar();
+        vBar.setOrientation(Orientation.VERTICAL);
+        hBar.valueProperty().addListener((obs, oldValue, newValue) -> createGrid());
+        vBar.valueProperty().addListener((obs, oldValue, newValue) -> createGrid());
+        canvas.widthProperty().addListener((obs, oldValue, newValue) -> createGrid());
+        canvas.heightProperty().addListener((obs, oldValue, newValue) -> createGrid());
+        canvas.setOnScroll(this::handleScroll);
+        canvas.setOnMousePressed(this::startSelection);
+        canvas.setOnMouseDragged(this::extendSelection);
+        canvas.setOnMouseReleased(this::endSelection);
+
+        BorderPane gridContainer = new BorderPane(viewport, null, vBar, hBar, null);
+        VBox.setVgrow(gridContainer, Priority.ALWAYS);
 
         // Create the grid representation using the current grid data
         createGrid();
 
-        // Text area for user input (e.g., entering word found, coordinates, and direction)
-        textArea = new TextArea();
-        textArea.setPromptText("Click Enter to Start..."); // Display a prompt message in the text area
-        textArea.setFocusTraversable(false); // Prevent the text area from gaining focus by default
+        // Messages, newest at the bottom; only the lines kept by the transcript are listed
+        transcriptView = new ListView<>();
+        transcriptView.setPrefHeight(TRANSCRIPT_HEIGHT);
+        transcriptView.setFocusTraversable(false);
+        transcriptView.getItems().setAll(transcript);
+
+        // Typeahead over the remaining words, filled in by the game as the user types
+        suggestions = new Label();
+
+        // Input line for moves: the word, its row, column and direction on one line
+        inputField = new TextField();
+        inputField.setPromptText("word row column direction, e.g. apple 1 d h");
 
-        // Add the grid container and text area to the root container
-        root.getChildren().addAll(gridContainer, textArea);
+        // Add the grid container, messages, suggestions and input line to the root container
+        root.getChildren().addAll(gridContainer, transcriptView, suggestions, inputField);
 
         // Return the created scene
         return new Scene(root);
     }
 
     /**
-     * Creates the grid using the current state of the `grid` array.
-     * This method populates the `gridContainer` with rows of StackPanes (each containing a rectangle and text).
+     * Paints the part of the grid that is inside the viewport.
+     * Row 0 and column 0 of the viewport hold the column letters and row numbers and stay
+     * in place while scrolling.
      */
     public void createGrid() {
-        gridContainer.getChildren().clear(); // Clear previous grid content before creating the new grid
+        if (canvas == null) {
+            return; // Not shown yet
+        }
+        updateScrollBars();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight()); // Clear the previous frame
+        int firstRow = firstVisibleRow();
+        int firstCol = firstVisibleCol();
+        int lastRow = Math.min(rows, firstRow + visibleRows());
+        int lastCol = Math.min(cols, firstCol + visibleCols());
 
-        // Loop through the rows of the grid
-        for (int i = 0; i < rows + 1; i++) {
-            HBox row = new HBox(SPACING); // Create a horizontal box for each row
-            row.setAlignment(Pos.CENTER); // Center align the row
+        // Boxes first, then every label on top, so the font and fill are set once per pass and not per cell
+        for (int j = firstCol - 1; j < lastCol; j++) {
+            paintBox(gc, 0, j - firstCol + 1, Color.GREEN); // the corner, then the column letters
+        }
+        for (int i = firstRow; i < lastRow; i++) {
+            paintBox(gc, i - firstRow + 1, 0, Color.GREEN); // row numbers
+            for (int j = firstCol; j < lastCol; j++) {
+                paintBox(gc, i - firstRow + 1, j - firstCol + 1, cellColor(i, j));
+            }
+        }
+        if (!beginLabels(gc)) {
+            return;
+        }
+        for (int j = firstCol; j < lastCol; j++) {
+            paintLabel(gc, 0, j - firstCol + 1, CommandParser.columnLabel(j));
+        }
+        for (int i = firstRow; i < lastRow; i++) {
+            paintLabel(gc, i - firstRow + 1, 0, i < 10 ? "0" + i : String.valueOf(i));
+            for (int j = firstCol; j < lastCol; j++) {
+                paintLabel(gc, i - firstRow + 1, j - firstCol + 1, cellLabel(i, j));
+            }
+        }
+    }
 
-            // Loop through the columns in the current row
-            for (int j = 0; j < cols; j++) {
-                StackPane stackPane = new StackPane(); // StackPane to hold the rectangle and text for each cell
+    /**
+     * Repaints only the cells of one word, e.g. after it was found. Cells outside the viewport are skipped.
+     *
+     * @param startRow  The row of the first letter.
+     * @param startCol  The column of the first letter.
+     * @param direction The direction of the word.
+     * @param length    The number of letters in the word.
+     */
+    public void repaintCells(int startRow, int startCol, Direction direction, int length) {
+        if (canvas == null) {
+            return;
+        }
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        int firstRow = firstVisibleRow();
+        int firstCol = firstVisibleCol();
+        int lastRow = firstRow + visibleRows();
+        int lastCol = firstCol + visibleCols();
+        // Boxes, then labels, as in createGrid
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1 && !beginLabels(gc)) {
+                return;
+            }
+            for (int k = 0; k < length; k++) {
+                int row = startRow + k * direction.getRowStep();
+                int col = startCol + k * direction.getColStep();
+                if (row >= firstRow && row < lastRow && col >= firstCol && col < lastCol) {
+                    if (pass == 0) {
+                        paintBox(gc, row - firstRow + 1, col - firstCol + 1, cellColor(row, col));
+                    } else {
+                        paintLabel(gc, row - firstRow + 1, col - firstCol + 1, cellLabel(row, col));
+                    }
+                }
+            }
+        }
+    }
 
-                // Create a rectangle to represent each cell in the grid
-                Rectangle rectangle = new Rectangle(RECTANGLE_SIZE, RECTANGLE_SIZE, Color.GREEN);
-                // Change color to RED if the cell contains the '*' symbol (word found)
-                rectangle.setFill("*".equals(grid[i][j].trim()) ? Color.RED : Color.GREEN);
+    /**
+     * Highlights the cells of a word as a hint, replacing the previous hint.
+     *
+     * @param startRow  The row of the first letter.
+     * @param startCol  The column of the first letter.
+     * @param direction The direction of the word.
+     * @param length    The number of letters in the word.
+     */
+    public void showHint(int startRow, int startCol, Direction direction, int length) {
+        clearHint();
+        hintRow = startRow;
+        hintCol = startCol;
+        hintDirection = direction;
+        hintLength = length;
+        repaintCells(startRow, startCol, direction, length);
+    }
 
-                // Create a text object to display the letter in the current grid cell
-                String letter = grid[i][j].trim(); // Get the letter from the grid
-                Text text = new Text(letter); // Create a Text node for the letter
+    /**
+     * Removes the hint highlight, if any.
+     */
+    public void clearHint() {
+        if (hintRow < 0) {
+            return;
+        }
+        int row = hintRow;
+        hintRow = -1;
+        repaintCells(row, hintCol, hintDirection, hintLength);
+    }
 
-                // Style the text (set color to white and adjust font size)
-                text.setFill(Color.WHITE);
-                text.setStyle("-fx-font-size: 14;");
+    /**
+     * @param text The suggestions to show above the input line, empty to hide them.
+     */
+    public void showSuggestions(String text) {
+        if (suggestions != null) {
+            suggestions.setText(text);
+        }
+    }
 
-                // Add both the rectangle and text to the StackPane (so they stack on top of each other)
-                stackPane.getChildren().addAll(rectangle, text);
+    /**
+     * @param handler Told about each segment the player drags across the grid, to check it against the words
+     */
+    public void setOnSelect(SelectionHandler handler) {
+        this.selectionHandler = handler;
+    }
 
-                // Align the text at the center of the rectangle
-                StackPane.setAlignment(text, Pos.CENTER);
+    /**
+     * Starts a selection on the cell under the mouse.
+     */
+    private void startSelection(MouseEvent event) {
+        int row = rowAt(event.getY());
+        int col = colAt(event.getX());
+        if (event.getButton() != MouseButton.PRIMARY || row < 0 || col < 0) {
+            return; // Not on a letter
+        }
+        setSelection(row, col, Direction.HORIZONTAL, 1);
+        event.consume();
+    }
 
-                // Add the StackPane to the row (which contains multiple cells)
-                row.getChildren().add(stackPane);
+    /**
+     * Stretches the selection towards the cell under the mouse, snapped to the nearest of the
+     * eight directions and cut at the edge of the grid. Only the cells that change are repainted.
+     */
+    private void extendSelection(MouseEvent event) {
+        if (selectionRow < 0) {
+            return;
+        }
+        int row = Math.max(0, Math.min(rows - 1, firstVisibleRow() + (int) (event.getY() / cellHeight()) - 1));
+        int col = Math.max(0, Math.min(cols - 1, firstVisibleCol() + (int) (event.getX() / cellWidth()) - 1));
+        int dr = row - selectionRow;
+        int dc = col - selectionCol;
+        Direction direction = selectionDirection;
+        int length = Math.max(Math.abs(dr), Math.abs(dc)) + 1;
+        if (length > 1) {
+            // Nearest multiple of 45 degrees; the row axis points down, as in the grid
+            double octant = Math.round(Math.atan2(dr, dc) / (Math.PI / 4)) * (Math.PI / 4);
+            direction = Direction.fromSteps((int) Math.round(Math.sin(octant)), (int) Math.round(Math.cos(octant)));
+            while (!inGrid(selectionRow + (length - 1) * direction.getRowStep(),
+                    selectionCol + (length - 1) * direction.getColStep())) {
+                length--;
             }
+        }
+        if (direction != selectionDirection || length != selectionLength) {
+            setSelection(selectionRow, selectionCol, direction, length);
+        }
+        event.consume();
+    }
 
-            // Add the row to the grid container (which holds all rows)
-            gridContainer.getChildren().add(row);
+    /**
+     * Ends the selection and hands the segment to the selection handler; a click on a single cell selects nothing.
+     */
+    private void endSelection(MouseEvent event) {
+        if (selectionRow < 0) {
+            return;
+        }
+        int startRow = selectionRow;
+        int startCol = selectionCol;
+        int endRow = startRow + (selectionLength - 1) * selectionDirection.getRowStep();
+        int endCol = startCol + (selectionLength - 1) * selectionDirection.getColStep();
+        boolean segment = selectionLength > 1;
+        setSelection(-1, 0, null, 0);
+        if (segment && selectionHandler != null) {
+            selectionHandler.selected(startRow, startCol, endRow, endCol);
         }
+        event.consume();
     }
 
     /**
-     * Captures a word or input line from the user via the text area.
+     * Replaces the selection highlight, repainting the old and the new cells.
+     */
+    private void setSelection(int row, int col, Direction direction, int length) {
+        int oldRow = selectionRow;
+        int oldCol = selectionCol;
+        Direction oldDirection = selectionDirection;
+        int oldLength = selectionLength;
+        selectionRow = row;
+        selectionCol = col;
+        selectionDirection = direction;
+        selectionLength = length;
+        if (oldRow >= 0) {
+            repaintCells(oldRow, oldCol, oldDirection, oldLength);
+        }
+        if (row >= 0) {
+            repaintCells(row, col, direction, length);
+        }
+    }
+
+    private boolean inGrid(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * @return The grid row under a y coordinate of the canvas, or -1 over the column letters or past the last row
+     */
+    private int rowAt(double y) {
+        int viewRow = (int) (y / cellHeight());
+        int row = firstVisibleRow() + viewRow - 1;
+        return viewRow == 0 || row >= rows ? -1 : row;
+    }
+
+    /**
+     * @return The grid column under an x coordinate of the canvas, or -1 over the row numbers or past the last column
+     */
+    private int colAt(double x) {
+        int viewCol = (int) (x / cellWidth());
+        int col = firstVisibleCol() + viewCol - 1;
+        return viewCol == 0 || col >= cols ? -1 : col;
+    }
+
+    /**
+     * @return True if the cell is one of the length cells from (startRow, startCol) along the direction
+     */
+    private static boolean onSegment(int row, int col, int startRow, int startCol, Direction direction, int length) {
+        int dr = row - startRow;
+        int dc = col - startCol;
+        // The cell is k steps along the segment for some 0 <= k < length
+        int k = direction.getRowStep() != 0 ? dr * direction.getRowStep() : dc * direction.getColStep();
+        return k >= 0 && k < length && dr == k * direction.getRowStep() && dc == k * direction.getColStep();
+    }
+
+    /**
+     * @return The box colour of a grid cell: red for found words, blue for the segment being
+     *         dragged, orange for the word given as a hint
+     */
+    private Color cellColor(int row, int col) {
+        return grid.isFound(row, col) ? Color.RED
+                : selectionRow >= 0 && onSegment(row, col, selectionRow, selectionCol, selectionDirection, selectionLength)
+                ? Color.BLUE
+                : hintRow >= 0 && onSegment(row, col, hintRow, hintCol, hintDirection, hintLength) ? Color.ORANGE
+                : Color.GREEN;
+    }
+
+    /**
+     * @return The label of a grid cell: its letter, or '*' once its word is found
+     */
+    private String cellLabel(int row, int col) {
+        return grid.isFound(row, col) ? "*" : String.valueOf(grid.getLetter(row, col));
+    }
+
+    /**
+     * Paints a box at a viewport position (0 is the label row / column).
+     */
+    private void paintBox(GraphicsContext gc, int viewRow, int viewCol, Color fill) {
+        if (gc.getFill() != fill) {
+            gc.setFill(fill); // Neighbouring boxes mostly share a colour
+        }
+        double size = RECTANGLE_SIZE * zoom;
+        gc.fillRect(viewCol * cellWidth(), viewRow * cellHeight(), size, size);
+    }
+
+    /**
+     * Sets the font, fill and alignment for a pass of {@link #paintLabel} calls.
      *
-     * @return The user's entered text (word or command).
+     * @return False if the cells are too small for text at this zoom
      */
-    public String captureWordFromInput() {
-        String[] lines = textArea.getText().split("\n"); // Split the text by newlines
-        // Return the last entered line (after the colon)
-        return lines[lines.length - 1].split(":")[1].trim();
+    private boolean beginLabels(GraphicsContext gc) {
+        if (RECTANGLE_SIZE * zoom < MIN_TEXT_SIZE) {
+            return false;
+        }
+        if (labelFontZoom != zoom) {
+            labelFont = Font.font(14 * zoom);
+            labelFontZoom = zoom;
+        }
+        gc.setFont(labelFont);
+        gc.setFill(Color.WHITE);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        return true;
     }
 
     /**
-     * Displays a message in the text area.
+     * Paints a label centred in the box at a viewport position, after {@link #beginLabels}.
+     */
+    private void paintLabel(GraphicsContext gc, int viewRow, int viewCol, String label) {
+        double size = RECTANGLE_SIZE * zoom;
+        gc.fillText(label, viewCol * cellWidth() + size / 2, viewRow * cellHeight() + size / 2);
+    }
+
+    /**
+     * Mouse wheel scrolls by rows (Shift: by columns), Ctrl + mouse wheel zooms.
+     */
+    private void handleScroll(ScrollEvent event) {
+        double delta = event.getDeltaY() != 0 ? event.getDeltaY() : event.getDeltaX();
+        if (event.isControlDown()) {
+            zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * (delta > 0 ? 1.1 : 1 / 1.1)));
+            createGrid();
+        } else {
+            ScrollBar bar = event.isShiftDown() ? hBar : vBar;
+            bar.setValue(Math.max(bar.getMin(), Math.min(bar.getMax(), bar.getValue() - Math.signum(delta) * 3)));
+        }
+        event.consume();
+    }
+
+    /**
+     * Sizes the scroll bars to the number of rows and columns that fit in the viewport.
+     */
+    private void updateScrollBars() {
+        int visibleRows = visibleRows();
+        int visibleCols = visibleCols();
+        vBar.setMax(Math.max(0, rows - visibleRows));
+        vBar.setVisibleAmount(visibleRows);
+        vBar.setBlockIncrement(Math.max(1, visibleRows - 1));
+        vBar.setVisible(rows > visibleRows);
+        hBar.setMax(Math.max(0, cols - visibleCols));
+        hBar.setVisibleAmount(visibleCols);
+        hBar.setBlockIncrement(Math.max(1, visibleCols - 1));
+        hBar.setVisible(cols > visibleCols);
+    }
+
+    private double cellWidth() {
+        return (RECTANGLE_SIZE + SPACING) * zoom;
+    }
+
+    private double cellHeight() {
+        return (RECTANGLE_SIZE + GRID_SPACING) * zoom;
+    }
+
+    // Grid rows / columns that fit in the viewport next to the label row / column
+    private int visibleRows() {
+        return Math.max(1, (int) Math.ceil(canvas.getHeight() / cellHeight()) - 1);
+    }
+
+    private int visibleCols() {
+        return Math.max(1, (int) Math.ceil(canvas.getWidth() / cellWidth()) - 1);
+    }
+
+    private int firstVisibleRow() {
+        return Math.min((int) vBar.getValue(), Math.max(0, rows - 1));
+    }
+
+    private int firstVisibleCol() {
+        return Math.min((int) hBar.getValue(), Math.max(0, cols - 1));
+    }
+
+    /**
+     * Takes the line the user typed and clears the input line for the next move.
      *
-     * @param message The message to display in the text area.
+     * @return The user's entered text (a move).
+     */
+    public String takeInput() {
+        String line = inputField.getText();
+        inputField.clear();
+        return line;
+    }
+
+    /**
+     * Displays a message under the grid. Only the last {@link Transcript#DEFAULT_CAPACITY} lines
+     * are kept, so the cost of a message does not grow with the length of the game.
+     *
+     * @param message The message to display, one or more lines.
      */
     public void displayMessage(String message) {
-        textArea.appendText(message); // Append the message to the text area
+        if (transcript.append(message) == 0 || transcriptView == null) {
+            return;
+        }
+        transcriptView.getItems().setAll(transcript); // at most the transcript's capacity
+        transcriptView.scrollTo(transcript.size() - 1);
     }
 
     /**
      * Updates the grid with a new state.
      * This method is used to update the grid with new data after a word is found and removed.
      *
-     * @param updatedGrid The updated grid array (with some words removed).
+     * @param updatedGrid The updated grid (with some words found).
      */
-    public void updateGrid(String[][] updatedGrid) {
-        this.grid = updatedGrid; // Update the grid data
-        createGrid(); // Re-create the grid UI with the updated data
+    public void updateGrid(LetterGrid updatedGrid) {
+        setGrid(updatedGrid); // Update the grid data
+        createGrid(); // Repaint the viewport with the updated data
     }
 
     // Setter for the grid (allows external classes to modify the grid data)
-    public void setGrid(String[][] grid) {
+    public void setGrid(LetterGrid grid) {
         this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
     }
 }
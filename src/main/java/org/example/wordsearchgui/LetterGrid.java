@@ -0,0 +1,32 @@
+package org.example.wordsearchgui;
+
+/**
+ * Read-only view of a word search grid, used by renderers and game logic
+ * so they can read letters without copying them into a String matrix.
+ */
+public interface LetterGrid {
+
+    /**
+     * @return Number of rows in the grid
+     */
+    int getRows();
+
+    /**
+     * @return Number of columns in the grid
+     */
+    int getCols();
+
+    /**
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return The uppercase letter in the cell, or ' ' if the cell is still empty
+     */
+    char getLetter(int row, int col);
+
+    /**
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return True if the cell belongs to a word the player has already found
+     */
+    boolean isFound(int row, int col);
+}
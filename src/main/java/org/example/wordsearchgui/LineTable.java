@@ -0,0 +1,191 @@
+package org.example.wordsearchgui;
+
+/**
+ * Precomputed line geometry of a grid, for every {@link Direction}.
+ *
+ * Every cell lies on exactly one line per direction: a row, a column, a diagonal or an
+ * anti-diagonal, walked one way or the other. For a (cell, direction) pair the table gives
+ * the line, the offset of the cell along it and the room left to the end of the line in
+ * O(1), from a few coefficients per direction and one start and length per line. There is
+ * no per-cell storage, so the table costs O(rows + cols) whatever the grid size, and walking
+ * a word is a bounds check against {@link #room} followed by a loop over cell += step.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class LineTable {
+
+    private final int rows;
+    private final int cols;
+    private final int[] step; // cell offset of one letter, per direction code
+    // Line of a cell: lineRow * row + lineCol * col + lineBase
+    private final int[] lineRow;
+    private final int[] lineCol;
+    private final int[] lineBase;
+    // Offset from the top end of the line: min(aRow * row + aCol * col + aBase, bRow * row + bCol * col + bBase)
+    private final int[] aRow;
+    private final int[] aCol;
+    private final int[] aBase;
+    private final int[] bRow;
+    private final int[] bCol;
+    private final int[] bBase;
+    private final int[] reversed; // 1 if the direction walks its line bottom to top, else 0
+    private final int[][] lineStart; // per direction code and line, the first cell in that direction
+    private final int[][] lineLength; // per direction code and line, the number of cells
+
+    /**
+     * @param rows Number of rows in the grid
+     * @param cols Number of columns in the grid
+     */
+    public LineTable(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int n = Direction.values().length;
+        step = new int[n];
+        lineRow = new int[n];
+        lineCol = new int[n];
+        lineBase = new int[n];
+        aRow = new int[n];
+        aCol = new int[n];
+        aBase = new int[n];
+        bRow = new int[n];
+        bCol = new int[n];
+        bBase = new int[n];
+        reversed = new int[n];
+        lineStart = new int[n][];
+        lineLength = new int[n][];
+        for (Direction direction : Direction.values()) {
+            int d = direction.getCode();
+            int dr = direction.getRowStep();
+            int dc = direction.getColStep();
+            step[d] = dr * cols + dc;
+            // Each line is measured from the end with the smaller row (or column, for rows)
+            if (dr == 0) { // a row, measured from column 0
+                lineRow[d] = 1;
+                aCol[d] = 1;
+                bCol[d] = 1;
+            } else if (dc == 0) { // a column, measured from row 0
+                lineCol[d] = 1;
+                aRow[d] = 1;
+                bRow[d] = 1;
+            } else if (dr == dc) { // a diagonal, numbered by col - row
+                lineRow[d] = -1;
+                lineCol[d] = 1;
+                lineBase[d] = rows - 1;
+                aRow[d] = 1;
+                bCol[d] = 1;
+            } else { // an anti-diagonal, numbered by row + col and measured from its top-right end
+                lineRow[d] = 1;
+                lineCol[d] = 1;
+                aRow[d] = 1;
+                bCol[d] = -1;
+                bBase[d] = cols - 1;
+            }
+            reversed[d] = dr < 0 || (dr == 0 && dc < 0) ? 1 : 0;
+            // Walk each line once from its top end (its left end, for rows) to find its length
+            int downRow = dr == 0 ? 0 : 1;
+            int downCol = dr == 0 ? 1 : dc * dr;
+            int lines = dr == 0 ? rows : dc == 0 ? cols : rows + cols - 1;
+            lineStart[d] = new int[lines];
+            lineLength[d] = new int[lines];
+            for (int line = 0; line < lines; line++) {
+                int row;
+                int col;
+                if (downRow == 0) {
+                    row = line;
+                    col = 0;
+                } else if (downCol == 0) {
+                    row = 0;
+                    col = line;
+                } else if (downCol == 1) {
+                    row = Math.max(0, rows - 1 - line);
+                    col = Math.max(0, line - (rows - 1));
+                } else {
+                    row = Math.max(0, line - (cols - 1));
+                    col = line - row;
+                }
+                int length = Math.min(downRow == 0 ? cols : rows - row,
+                        downCol == 0 ? rows : downCol > 0 ? cols - col : col + 1);
+                int top = row * cols + col;
+                lineLength[d][line] = length;
+                lineStart[d][line] = top + reversed[d] * (length - 1) * (downRow * cols + downCol);
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The cell offset of one letter in the direction
+     */
+    public int step(Direction direction) {
+        return step[direction.getCode()];
+    }
+
+    /**
+     * @return Number of lines running in the direction
+     */
+    public int lineCount(Direction direction) {
+        return lineLength[direction.getCode()].length;
+    }
+
+    /**
+     * @return The first cell of a line, walking in the direction
+     */
+    public int lineStart(Direction direction, int line) {
+        return lineStart[direction.getCode()][line];
+    }
+
+    public int lineLength(Direction direction, int line) {
+        return lineLength[direction.getCode()][line];
+    }
+
+    /**
+     * @return The line through the cell in the direction
+     */
+    public int lineOf(int cell, Direction direction) {
+        int d = direction.getCode();
+        int row = cell / cols;
+        int col = cell - row * cols;
+        return lineRow[d] * row + lineCol[d] * col + lineBase[d];
+    }
+
+    /**
+     * @return The 0-based position of the cell on its line, walking in the direction
+     */
+    public int offsetOf(int cell, Direction direction) {
+        int d = direction.getCode();
+        int row = cell / cols;
+        int col = cell - row * cols;
+        int fromTop = Math.min(aRow[d] * row + aCol[d] * col + aBase[d], bRow[d] * row + bCol[d] * col + bBase[d]);
+        int line = lineRow[d] * row + lineCol[d] * col + lineBase[d];
+        // Reversed directions count from the other end: (length - 1) - fromTop
+        return fromTop + reversed[d] * (lineLength[d][line] - 1 - 2 * fromTop);
+    }
+
+    /**
+     * @return Number of cells from the cell (included) to the end of its line in the direction,
+     *         so a word of length n starting at the cell fits exactly when n <= room
+     */
+    public int room(int cell, Direction direction) {
+        int d = direction.getCode();
+        int row = cell / cols;
+        int col = cell - row * cols;
+        int line = lineRow[d] * row + lineCol[d] * col + lineBase[d];
+        int fromTop = Math.min(aRow[d] * row + aCol[d] * col + aBase[d], bRow[d] * row + bCol[d] * col + bBase[d]);
+        int length = lineLength[d][line];
+        return length - (fromTop + reversed[d] * (length - 1 - 2 * fromTop));
+    }
+
+    /**
+     * @return Whether a word of the given length fits from (row, col) in the direction
+     */
+    public boolean fits(int row, int col, Direction direction, int length) {
+        return row >= 0 && col >= 0 && row < rows && col < cols && length <= room(row * cols + col, direction);
+    }
+}
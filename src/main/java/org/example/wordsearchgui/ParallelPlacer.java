@@ -0,0 +1,188 @@
+package org.example.wordsearchgui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Places a large word list into one huge grid on several cores.
+ *
+ * The grid is cut into square tiles and the (shuffled) words are dealt out to the tiles in
+ * proportion to their area. Each tile places its words with its own {@link PlacementEngine}
+ * on a private tile-sized grid, so tiles never touch the same cells and need no locking.
+ * Words a tile cannot fit, and only those, go to a seam pass that places them on the whole
+ * grid afterwards, where they may cross tile borders.
+ *
+ * Every tile's random source is derived from the seed and the tile's index, tiles are merged
+ * into the grid in tile order and the seam pass is sequential, so the result for a given seed
+ * is the same whatever the number of threads.
+ */
+public class ParallelPlacer {
+
+    public static final int DEFAULT_TILE_SIZE = 256; // rows and columns per tile
+    private static final long TILE_MAX_ATTEMPTS = 2_000_000L; // per tile on the first try, before a word goes to the seam
+    private static final long TILE_MIN_ATTEMPTS = TILE_MAX_ATTEMPTS / 64; // floor of the halving retry budget
+
+    private final Grid grid;
+    private final long seed;
+    private final Executor executor;
+    private int tileSize = DEFAULT_TILE_SIZE;
+
+    /**
+     * Places on the common fork/join pool.
+     *
+     * @param grid The empty grid to place words into
+     * @param seed The seed every random choice is derived from
+     */
+    public ParallelPlacer(Grid grid, long seed) {
+        this(grid, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param grid     The empty grid to place words into
+     * @param seed     The seed every random choice is derived from
+     * @param executor Runs the tiles
+     */
+    public ParallelPlacer(Grid grid, long seed, Executor executor) {
+        this.grid = grid;
+        this.seed = seed;
+        this.executor = executor;
+    }
+
+    /**
+     * @param tileSize Rows and columns per tile; raised to twice the longest word if smaller
+     */
+    public ParallelPlacer setTileSize(int tileSize) {
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    /**
+     * Places every word of the list into the grid, or none of them.
+     *
+     * @param words The words to place (case-insensitive)
+     * @return The outcome; attempts are summed over all tiles and the seam pass
+     * @throws IllegalArgumentException If a word has a character other than the letters A-Z
+     */
+    public PlacementResult place(List<String> words) {
+        long begin = System.nanoTime();
+        int longest = 0;
+        for (String word : words) {
+            // Checked here rather than in the tiles, so the caller gets the exception itself
+            longest = Math.max(longest, PlacementIndex.normalizeLetters(word).length());
+        }
+        int side = Math.max(tileSize, 2 * longest);
+        int tileRows = (grid.getRows() + side - 1) / side;
+        int tileCols = (grid.getCols() + side - 1) / side;
+        int tiles = tileRows * tileCols;
+
+        // Deal the shuffled words out to the tiles in proportion to their area
+        List<String> shuffled = new ArrayList<>(words);
+        Collections.shuffle(shuffled, new Random(seed));
+        long totalArea = (long) grid.getRows() * grid.getCols();
+        List<CompletableFuture<Tile>> running = new ArrayList<>(tiles);
+        long areaBefore = 0;
+        for (int t = 0; t < tiles; t++) {
+            int top = (t / tileCols) * side;
+            int left = (t % tileCols) * side;
+            int height = Math.min(side, grid.getRows() - top);
+            int width = Math.min(side, grid.getCols() - left);
+            int from = (int) (shuffled.size() * areaBefore / totalArea);
+            areaBefore += (long) height * width;
+            int to = (int) (shuffled.size() * areaBefore / totalArea);
+            Grid tileGrid = new Grid(height, width, new Random(Seeds.derive(seed, t)));
+            tileGrid.setDirections(grid.getDirections()); // tiles place in the same directions as the seam pass
+            Tile tile = new Tile(top, left, tileGrid, new ArrayList<>(shuffled.subList(from, to)));
+            running.add(CompletableFuture.supplyAsync(tile::place, executor));
+        }
+
+        // Merge in tile order, so the placement ids do not depend on which tile finished first
+        long attempts = 0;
+        List<String> seam = new ArrayList<>();
+        for (CompletableFuture<Tile> future : running) {
+            Tile tile = future.join();
+            attempts += tile.attempts;
+            seam.addAll(tile.leftOver);
+            PlacementIndex placed = tile.grid.getPlacements();
+            for (int id = 0; id < placed.size(); id++) {
+                grid.write(placed.getWord(id), placed.getDirection(id).getCode(),
+                        tile.top + placed.getRow(id), tile.left + placed.getCol(id));
+            }
+        }
+
+        // Words no tile could take are placed across the whole grid
+        PlacementResult result = seam.isEmpty() ? null
+                : new PlacementEngine(grid, new Random(Seeds.derive(seed, tiles))).place(seam);
+        if (result != null) {
+            attempts += result.attempts();
+            if (!result.isPlaced()) {
+                grid.clear(); // all or nothing, like the single-threaded engine
+                return new PlacementResult(result.status(), result.word(), attempts, System.nanoTime() - begin);
+            }
+        }
+        return new PlacementResult(PlacementResult.Status.PLACED, null, attempts, System.nanoTime() - begin);
+    }
+
+    /**
+     * One tile: its position in the grid, a private grid of its size and its share of the words.
+     */
+    private static final class Tile {
+        final int top;
+        final int left;
+        final Grid grid;
+        final List<String> words;
+        final List<String> leftOver = new ArrayList<>(); // words to place in the seam pass
+        long attempts;
+
+        Tile(int top, int left, Grid grid, List<String> words) {
+            this.top = top;
+            this.left = left;
+            this.grid = grid;
+            this.words = words;
+        }
+
+        /**
+         * Places the tile's words; when the list does not fit, the word the engine got stuck on
+         * is handed to the seam pass and the rest is tried again on half the budget, down to
+         * TILE_MIN_ATTEMPTS, so shedding many words does not rerun a full search for each.
+         */
+        Tile place() {
+            long budget = TILE_MAX_ATTEMPTS;
+            while (!words.isEmpty()) {
+                PlacementResult result = grid.newPlacementEngine().setMaxAttempts(budget).place(words);
+                attempts += result.attempts();
+                if (result.isPlaced()) {
+                    break;
+                }
+                // Too many letters blames no word; the longest one frees the most cells
+                int index = result.word() == null ? longest(words) : indexOfIgnoreCase(words, result.word());
+                leftOver.add(words.remove(index));
+                budget = Math.max(TILE_MIN_ATTEMPTS, budget / 2);
+            }
+            return this;
+        }
+
+        private static int longest(List<String> words) {
+            int longest = 0;
+            for (int i = 1; i < words.size(); i++) {
+                if (words.get(i).trim().length() > words.get(longest).trim().length()) {
+                    longest = i;
+                }
+            }
+            return longest;
+        }
+
+        private static int indexOfIgnoreCase(List<String> words, String word) {
+            for (int i = 0; i < words.size(); i++) {
+                if (words.get(i).trim().equalsIgnoreCase(word)) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Engine reported a word that is not in the list: " + word);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Backtracking placement engine for {@link Grid}.
+ *
+ * Each word walks the valid start cells of every direction in a random permutation
+ * (a random offset plus a stride coprime to the slot count), so every slot is visited
+ * exactly once without materialising the candidate list. When a word has no free slot
+ * left the previous word is lifted and moved to its next slot. The search stops when
+ * every word is placed, when the search space is exhausted (the list cannot fit), or
+ * when the attempt or time budget runs out. In the last two cases the grid is left as
+ * it was before the call.
+ */
+public class PlacementEngine {
+
+    /**
+     * Order in which words are placed.
+     */
+    public enum Ordering {
+        LONGEST_FIRST,    // static order, longest words first
+        MOST_CONSTRAINED  // dynamic order, the word with the fewest free slots first (small, dense lists)
+    }
+
+    public static final long DEFAULT_MAX_ATTEMPTS = 50_000_000L; // slots examined before giving up
+    private static final int CLOCK_CHECK_MASK = 4095; // check the deadline every 4096 attempts
+
+    private final Grid grid;
+    private final Random random;
+    private Ordering ordering = Ordering.LONGEST_FIRST;
+    private long maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long timeBudgetNanos = Long.MAX_VALUE;
+
+    // Statistics of the last search, reported to GenerationMetrics and PlacementEvent
+    private long writes; // successful attempts, every other attempt hit a letter conflict
+    private long backtracks; // words lifted to move them to their next slot
+    private long maxWordAttempts; // most attempts spent on a single word before it fit
+
+    /**
+     * @param grid   The grid to place words into
+     * @param random The random source used to shuffle candidate slots
+     */
+    public PlacementEngine(Grid grid, Random random) {
+        this.grid = grid;
+        this.random = random;
+    }
+
+    public PlacementEngine setOrdering(Ordering ordering) {
+        this.ordering = ordering;
+        return this;
+    }
+
+    /**
+     * @param maxAttempts Maximum number of candidate slots to examine before giving up
+     */
+    public PlacementEngine setMaxAttempts(long maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param millis Maximum wall-clock time to spend searching before giving up
+     */
+    public PlacementEngine setTimeBudgetMillis(long millis) {
+        this.timeBudgetNanos = millis * 1_000_000L;
+        return this;
+    }
+
+    /**
+     * Places every word of the list into the grid, or none of them.
+     *
+     * @param input The words to place (case-insensitive)
+     * @return The outcome of the search
+     * @throws IllegalArgumentException If a word has a character other than the letters A-Z
+     */
+    public PlacementResult place(List<String> input) {
+        PlacementEvent event = new PlacementEvent();
+        event.begin();
+        writes = 0;
+        backtracks = 0;
+        maxWordAttempts = 0;
+        PlacementResult result = search(input);
+        event.end();
+        if (event.shouldCommit()) {
+            event.words = input.size();
+            event.attempts = result.attempts();
+            event.conflicts = result.attempts() - writes;
+            event.backtracks = backtracks;
+            event.maxWordAttempts = maxWordAttempts;
+            event.status = result.status().name();
+            event.commit();
+        }
+        if (GenerationMetrics.isEnabled()) {
+            GenerationMetrics.recordPlacement(result, writes, backtracks, maxWordAttempts);
+        }
+        return result;
+    }
+
+    private PlacementResult search(List<String> input) {
+        long begin = System.nanoTime();
+        long deadline = timeBudgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : begin + timeBudgetNanos;
+        int n = input.size();
+        Direction[] directions = grid.directionArray();
+        int dirCount = directions.length;
+        int diagonal = Arrays.asList(directions).indexOf(Direction.DIAGONAL);
+
+        // Normalise the words and reject the ones that cannot fit in any direction
+        String[] words = new String[n];
+        long letters = 0;
+        for (int w = 0; w < n; w++) {
+            words[w] = PlacementIndex.normalizeLetters(input.get(w));
+            if (words[w].isEmpty() || !fitsSomewhere(words[w].length())) {
+                return new PlacementResult(PlacementResult.Status.UNPLACEABLE, words[w], 0, System.nanoTime() - begin);
+            }
+            letters += words[w].length();
+        }
+        if (letters > (long) grid.getRows() * grid.getCols()) {
+            // Words never share cells, so the letters alone overflow the grid
+            return new PlacementResult(PlacementResult.Status.TOO_MANY_LETTERS, null, 0, System.nanoTime() - begin);
+        }
+
+        int[] order = longestFirst(words);
+        boolean[] taken = new boolean[n]; // words already assigned to a depth
+
+        // Search state, one entry per depth
+        int[] wordAt = new int[n];
+        int[] dirStart = new int[n];
+        int[] dirStep = new int[n];
+        long[] slotCount = new long[n];
+        long[] cellStart = new long[n];
+        long[] stride = new long[n];
+        long[] cursor = new long[n];
+        int[] placedRow = new int[n];
+        int[] placedCol = new int[n];
+        int[] placedDir = new int[n];
+
+        long attempts = 0;
+        long wordStart = 0; // attempts when the current word started or resumed its search
+        int depth = 0;
+        int deepest = -1;
+        String stuck = null;
+        boolean entering = true;
+
+        while (depth < n) {
+            if (entering) {
+                int w = ordering == Ordering.MOST_CONSTRAINED ? mostConstrained(words, taken) : order[depth];
+                taken[w] = true;
+                wordAt[depth] = w;
+                // The first word tries the diagonal first so at least one word is usually diagonal
+                dirStart[depth] = depth == 0 && diagonal >= 0 ? diagonal : random.nextInt(dirCount);
+                dirStep[depth] = 0;
+                resetCursor(depth, words[w].length(), directions[dirStart[depth]], slotCount, cellStart, stride, cursor);
+                entering = false;
+                wordStart = attempts;
+            }
+
+            String word = words[wordAt[depth]];
+            boolean found = false;
+            while (!found && dirStep[depth] < dirCount) {
+                Direction direction = directions[(dirStart[depth] + dirStep[depth]) % dirCount];
+                int dir = direction.getCode();
+                int span = word.length() - 1;
+                int validCols = grid.getCols() - Math.abs(direction.getColStep()) * span;
+                // Slots count start cells from the top left; words running up or left start further in
+                int rowShift = direction.getRowStep() < 0 ? span : 0;
+                int colShift = direction.getColStep() < 0 ? span : 0;
+                while (cursor[depth] < slotCount[depth]) {
+                    long slot = (cellStart[depth] + cursor[depth] * stride[depth]) % slotCount[depth];
+                    cursor[depth]++;
+                    attempts++;
+                    if (attempts > maxAttempts
+                            || ((attempts & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline)) {
+                        rollBack(words, wordAt, placedDir, placedRow, placedCol, depth);
+                        return new PlacementResult(PlacementResult.Status.BUDGET_EXHAUSTED, word, attempts, System.nanoTime() - begin);
+                    }
+                    int row = (int) (slot / validCols) + rowShift;
+                    int col = (int) (slot % validCols) + colShift;
+                    if (grid.fits(word, dir, row, col)) {
+                        grid.write(word, dir, row, col);
+                        writes++;
+                        maxWordAttempts = Math.max(maxWordAttempts, attempts - wordStart);
+                        placedRow[depth] = row;
+                        placedCol[depth] = col;
+                        placedDir[depth] = dir;
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found && ++dirStep[depth] < dirCount) {
+                    resetCursor(depth, word.length(), directions[(dirStart[depth] + dirStep[depth]) % dirCount],
+                            slotCount, cellStart, stride, cursor);
+                }
+            }
+
+            if (found) {
+                depth++;
+                entering = true;
+                continue;
+            }
+
+            // Every slot of this word was tried: lift the previous word and move it on
+            if (depth >= deepest) {
+                deepest = depth;
+                stuck = word;
+            }
+            taken[wordAt[depth]] = false;
+            depth--;
+            if (depth < 0) {
+                return new PlacementResult(PlacementResult.Status.UNPLACEABLE, stuck, attempts, System.nanoTime() - begin);
+            }
+            grid.erase(words[wordAt[depth]], placedDir[depth], placedRow[depth], placedCol[depth]);
+            backtracks++;
+            wordStart = attempts;
+        }
+        return new PlacementResult(PlacementResult.Status.PLACED, null, attempts, System.nanoTime() - begin);
+    }
+
+    /**
+     * Starts a fresh random permutation of the valid start cells of one direction.
+     */
+    private void resetCursor(int depth, int length, Direction direction, long[] slotCount, long[] cellStart, long[] stride,
+                             long[] cursor) {
+        long slots = validStarts(length, direction);
+        slotCount[depth] = slots;
+        cellStart[depth] = slots > 0 ? random.nextLong(slots) : 0;
+        stride[depth] = coprimeStride(slots);
+        cursor[depth] = 0;
+    }
+
+    /**
+     * @return Number of start cells from which a word of the given length stays inside the grid
+     */
+    private long validStarts(int length, Direction direction) {
+        long validRows = grid.getRows() - (long) Math.abs(direction.getRowStep()) * (length - 1);
+        long validCols = grid.getCols() - (long) Math.abs(direction.getColStep()) * (length - 1);
+        return validRows > 0 && validCols > 0 ? validRows * validCols : 0;
+    }
+
+    private boolean fitsSomewhere(int length) {
+        for (Direction direction : grid.directionArray()) {
+            if (validStarts(length, direction) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A random stride in [1, slots) that is coprime to slots, so the walk visits every slot once
+     */
+    private long coprimeStride(long slots) {
+        if (slots <= 2) {
+            return 1;
+        }
+        long candidate;
+        do {
+            candidate = random.nextLong(1, slots);
+        } while (gcd(candidate, slots) != 1);
+        return candidate;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * @return Word indexes sorted by descending length, ties kept in input order
+     */
+    private static int[] longestFirst(String[] words) {
+        long[] keys = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            keys[w] = ((long) (Integer.MAX_VALUE - words[w].length()) << 32) | w;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[words.length];
+        for (int w = 0; w < words.length; w++) {
+            order[w] = (int) keys[w];
+        }
+        return order;
+    }
+
+    /**
+     * @return The untaken word with the fewest free slots in the current grid
+     */
+    private int mostConstrained(String[] words, boolean[] taken) {
+        int best = -1;
+        long bestCount = Long.MAX_VALUE;
+        for (int w = 0; w < words.length; w++) {
+            if (taken[w]) {
+                continue;
+            }
+            long count = countFreeSlots(words[w], bestCount);
+            if (count < bestCount || (count == bestCount && words[w].length() > words[best].length())) {
+                best = w;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts the free slots of a word, stopping early once the count reaches the limit.
+     */
+    private long countFreeSlots(String word, long limit) {
+        long count = 0;
+        LineTable lines = grid.getLines();
+        for (Direction direction : grid.directionArray()) {
+            int dir = direction.getCode();
+            for (int row = 0; row < grid.getRows(); row++) {
+                for (int col = 0; col < grid.getCols(); col++) {
+                    if (lines.fits(row, col, direction, word.length()) && grid.fits(word, dir, row, col) && ++count >= limit) {
+                        return count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lifts every word placed so far, leaving the grid as it was before the search.
+     */
+    private void rollBack(String[] words, int[] wordAt, int[] placedDir, int[] placedRow, int[] placedCol, int depth) {
+        for (int d = depth - 1; d >= 0; d--) {
+            grid.erase(words[wordAt[d]], placedDir[d], placedRow[d], placedCol[d]);
+        }
+    }
+}
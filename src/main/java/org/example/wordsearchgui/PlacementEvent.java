@@ -0,0 +1,37 @@
+package org.example.wordsearchgui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one {@link PlacementEngine#place} call. Costs nothing unless a recording enables it.
+ */
+@Name("org.example.wordsearchgui.Placement")
+@Label("Word Placement")
+@Category("Word Search")
+@Description("Backtracking placement of a word list into a grid")
+class PlacementEvent extends Event {
+
+    @Label("Words")
+    int words;
+
+    @Label("Attempts")
+    @Description("Candidate slots examined")
+    long attempts;
+
+    @Label("Conflicts")
+    @Description("Slots rejected because a cell already held a letter")
+    long conflicts;
+
+    @Label("Backtracks")
+    long backtracks;
+
+    @Label("Max Attempts Per Word")
+    long maxWordAttempts;
+
+    @Label("Status")
+    String status;
+}
@@ -0,0 +1,210 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of where each word was placed in the grid.
+ *
+ * Every placement gets a stable id in insertion order and is packed into a single long
+ * (row, column and direction code), so the index holds no boxed values. Words are keyed
+ * case-insensitively and may be placed more than once. Looking a placement up by word,
+ * start cell and direction is a single hash lookup plus a scan of that word's placements.
+ */
+public final class PlacementIndex {
+
+    private static final int COORD_BITS = 28; // rows and columns up to 268 million
+    private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<String, int[]> idsByWord = new HashMap<>(); // normalized word -> placement ids
+    private String[] words = new String[16]; // placement id -> normalized word
+    private long[] placements = new long[16]; // placement id -> packed placement
+    private int size;
+
+    /**
+     * Packs a placement into a long: row in the high bits, then column, then direction code.
+     */
+    public static long pack(int row, int col, Direction direction) {
+        return ((long) row << (COORD_BITS + 8)) | ((long) col << 8) | direction.getCode();
+    }
+
+    public static int unpackRow(long placement) {
+        return (int) ((placement >>> (COORD_BITS + 8)) & COORD_MASK);
+    }
+
+    public static int unpackCol(long placement) {
+        return (int) ((placement >>> 8) & COORD_MASK);
+    }
+
+    public static Direction unpackDirection(long placement) {
+        return Direction.fromCode((int) (placement & 0xFF));
+    }
+
+    /**
+     * @param word A word in any case
+     * @return The key the word is stored under
+     */
+    public static String normalize(String word) {
+        return word.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes a word that is to be written into a grid, which holds only the letters A-Z.
+     *
+     * @param word A word in any case
+     * @return The key the word is stored under
+     * @throws IllegalArgumentException If the word has a character other than a-z or A-Z
+     */
+    public static String normalizeLetters(String word) {
+        if (!isLetters(word)) {
+            throw new IllegalArgumentException("Not a letter A-Z in word: " + word.trim());
+        }
+        return normalize(word);
+    }
+
+    /**
+     * @param word A word in any case
+     * @return True if the word, trimmed, has only the letters a-z and A-Z (checked before any case
+     *         mapping, which would turn a dotless i or a long s into I or S)
+     */
+    public static boolean isLetters(String word) {
+        String trimmed = word.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = (char) (trimmed.charAt(i) & ~0x20); // ASCII upper case
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a placement.
+     *
+     * @param word      The placed word
+     * @param row       The row of the first letter
+     * @param col       The column of the first letter
+     * @param direction The direction of the word
+     * @return The id of the new placement
+     */
+    public int add(String word, int row, int col, Direction direction) {
+        String key = normalize(word);
+        if (size == placements.length) {
+            words = Arrays.copyOf(words, size * 2);
+            placements = Arrays.copyOf(placements, size * 2);
+        }
+        int id = size++;
+        words[id] = key;
+        placements[id] = pack(row, col, direction);
+        int[] ids = idsByWord.get(key);
+        if (ids == null) {
+            idsByWord.put(key, new int[]{id});
+        } else {
+            ids = Arrays.copyOf(ids, ids.length + 1);
+            ids[ids.length - 1] = id;
+            idsByWord.put(key, ids);
+        }
+        return id;
+    }
+
+    /**
+     * Forgets the most recent placement (used when the placement engine backtracks).
+     *
+     * @return The id that was removed
+     * @throws IllegalStateException If the index is empty
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("No placement to remove");
+        }
+        int id = --size;
+        String key = words[id];
+        int[] ids = idsByWord.get(key);
+        if (ids.length == 1) {
+            idsByWord.remove(key);
+        } else {
+            idsByWord.put(key, Arrays.copyOf(ids, ids.length - 1)); // ids are ascending, the last one is ours
+        }
+        words[id] = null;
+        return id;
+    }
+
+    /**
+     * Forgets every placement.
+     */
+    public void clear() {
+        idsByWord.clear();
+        Arrays.fill(words, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Finds the placement of a word starting at a cell and running in a direction.
+     *
+     * @param word      The word, in any case
+     * @param row       The row of the first letter
+     * @param col       The column of the first letter
+     * @param direction The direction of the word
+     * @return The placement id, or -1 if the word is not placed there
+     */
+    public int find(String word, int row, int col, Direction direction) {
+        if (direction == null) {
+            return -1;
+        }
+        long wanted = pack(row, col, direction);
+        for (int id : idsOf(word)) {
+            if (placements[id] == wanted) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param word The word, in any case
+     * @return The ids of every placement of the word, in placement order (empty if it is not placed)
+     */
+    public int[] idsOf(String word) {
+        return idsByWord.getOrDefault(normalize(word), NO_IDS);
+    }
+
+    /**
+     * @return Number of placements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The uppercase word of a placement
+     */
+    public String getWord(int id) {
+        return words[id];
+    }
+
+    /**
+     * @return The packed placement, see {@link #pack}
+     */
+    public long getPlacement(int id) {
+        return placements[id];
+    }
+
+    public int getRow(int id) {
+        return unpackRow(placements[id]);
+    }
+
+    public int getCol(int id) {
+        return unpackCol(placements[id]);
+    }
+
+    public Direction getDirection(int id) {
+        return unpackDirection(placements[id]);
+    }
+
+    public int getLength(int id) {
+        return words[id].length();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.wordsearchgui;
+
+/**
+ * Outcome of a {@link PlacementEngine} run.
+ *
+ * @param status   Whether every word was placed, the list cannot fit, or the budget ran out
+ * @param word     The word that could not be placed (null when every word was placed, or when
+ *                 the list has more letters than the grid has cells and no one word is to blame)
+ * @param attempts Number of candidate slots that were examined
+ * @param nanos    Wall-clock time spent searching
+ */
+public record PlacementResult(Status status, String word, long attempts, long nanos) {
+
+    public enum Status {
+        PLACED,           // every word is in the grid
+        UNPLACEABLE,      // the search space was exhausted, the list cannot fit
+        TOO_MANY_LETTERS, // the words have more letters than the grid has cells
+        BUDGET_EXHAUSTED  // the attempt or time budget ran out before a layout was found
+    }
+
+    /**
+     * @return True if every word was placed
+     */
+    public boolean isPlaced() {
+        return status == Status.PLACED;
+    }
+
+    /**
+     * @return A one-line, human readable description of the result
+     */
+    public String describe() {
+        return switch (status) {
+            case PLACED -> "All words placed after " + attempts + " attempts";
+            case UNPLACEABLE -> "Word cannot be placed: " + word;
+            case TOO_MANY_LETTERS -> "The words have more letters than the grid has cells";
+            case BUDGET_EXHAUSTED -> "Gave up after " + attempts + " attempts while placing: " + word;
+        };
+    }
+}
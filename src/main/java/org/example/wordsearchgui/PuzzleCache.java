@@ -0,0 +1,351 @@
+package org.example.wordsearchgui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache of generated puzzles, so a spec that was generated before is served without placing
+ * and filling it again.
+ *
+ * Puzzles are keyed by a 128-bit digest of everything that decides the result: the grid size,
+ * the normalized words in order (placement depends on the order), the seed and the generation
+ * options. Generation is deterministic for a key, so a cached puzzle is exactly the one that
+ * would have been generated. Entries are kept as {@link SharedPuzzle}s (a byte per cell plus
+ * the packed placements) in a least-recently-used map bounded by their estimated size. With
+ * a disk tier, evicted puzzles are written as {@link PuzzleFile}s named by their digest and
+ * read back on the next miss, and {@link #close} writes the rest, so later runs start warm.
+ * Disk errors never fail a request; the puzzle is generated instead and the error counted.
+ *
+ * Thread-safe. The map is locked only to look up, insert and evict; generation and disk I/O
+ * run outside the lock, so two threads missing the same key at once may both generate it.
+ */
+public final class PuzzleCache implements AutoCloseable {
+
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+    private static final int ENTRY_OVERHEAD = 128; // bytes of map entry, key and puzzle headers
+    private static final int PLACEMENT_OVERHEAD = 64; // bytes per placement besides its letters
+
+    private final long maxBytes;
+    private final Path diskDir; // null without a disk tier
+    private final LinkedHashMap<Key, SharedPuzzle> entries = new LinkedHashMap<>(64, 0.75f, true); // access order
+    private long bytes; // estimated size of the entries, guarded by this
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder diskErrors = new LongAdder();
+
+    /**
+     * The identity of a generated puzzle.
+     */
+    public static final class Key {
+        private final int rows;
+        private final int cols;
+        private final List<String> words;
+        private final long seed;
+        private final String options;
+        private final long digestHigh; // first 128 bits of the SHA-256 of the canonical spec
+        private final long digestLow;
+
+        private Key(int rows, int cols, List<String> words, long seed, String options, byte[] digest) {
+            this.rows = rows;
+            this.cols = cols;
+            this.words = words;
+            this.seed = seed;
+            this.options = options;
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            this.digestHigh = buffer.getLong();
+            this.digestLow = buffer.getLong();
+        }
+
+        /**
+         * @param rows    Number of rows in the grid
+         * @param cols    Number of columns in the grid
+         * @param words   The words, normalized as placement does (trimmed, uppercase); order matters
+         * @param seed    The seed of the generator's random source
+         * @param options Any other setting that changes the result (directions, fill mode, ...), in a fixed format
+         * @return The key
+         */
+        public static Key of(int rows, int cols, List<String> words, long seed, String options) {
+            List<String> normalized = new ArrayList<>(words.size());
+            MessageDigest sha;
+            try {
+                sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+            }
+            ByteBuffer header = ByteBuffer.allocate(20).putInt(rows).putInt(cols).putLong(seed).putInt(words.size());
+            sha.update(header.array());
+            // Strings are length-prefixed, so no two specs give the same bytes by concatenation
+            ByteBuffer length = ByteBuffer.allocate(4);
+            byte[] optionBytes = options.getBytes(StandardCharsets.UTF_8);
+            sha.update(length.putInt(0, optionBytes.length).array());
+            sha.update(optionBytes);
+            for (String word : words) {
+                String normal = PlacementIndex.normalize(word);
+                normalized.add(normal);
+                byte[] bytes = normal.getBytes(StandardCharsets.UTF_8);
+                sha.update(length.putInt(0, bytes.length).array());
+                sha.update(bytes);
+            }
+            return new Key(rows, cols, List.copyOf(normalized), seed, options, sha.digest());
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+
+        /**
+         * @return The normalized words, in order
+         */
+        public List<String> getWords() {
+            return words;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public String getOptions() {
+            return options;
+        }
+
+        /**
+         * @return The digest in hex, 32 characters, used as the file name in the disk tier
+         */
+        public String getId() {
+            return String.format("%016x%016x", digestHigh, digestLow);
+        }
+
+        /**
+         * Keys are equal when their digests are; a 128-bit collision is not a practical concern.
+         */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && key.digestHigh == digestHigh && key.digestLow == digestLow;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) digestHigh;
+        }
+
+        @Override
+        public String toString() {
+            return getId() + " " + rows + "x" + cols + " " + words.size() + " words seed " + seed;
+        }
+    }
+
+    /**
+     * A point-in-time copy of the counters.
+     */
+    public record Stats(long hits, long diskHits, long misses, long evictions, long spills, long diskErrors,
+                        int entries, long bytes) {
+
+        /**
+         * @return Share of lookups served without generating, from memory or disk
+         */
+        public double hitRate() {
+            long lookups = hits + diskHits + misses;
+            return lookups == 0 ? 0 : (double) (hits + diskHits) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "cache: %d hits, %d disk hits, %d misses (%.1f%% served), %d evictions, %d spilled, %d disk errors%n"
+                            + "  %d puzzles in memory, %.1f MB",
+                    hits, diskHits, misses, hitRate() * 100, evictions, spills, diskErrors, entries, bytes / 1e6);
+        }
+    }
+
+    /**
+     * A cache in memory only.
+     *
+     * @param maxBytes Estimated size of the puzzles kept in memory
+     */
+    public PuzzleCache(long maxBytes) {
+        this.maxBytes = checkSize(maxBytes);
+        this.diskDir = null;
+    }
+
+    /**
+     * @param maxBytes Estimated size of the puzzles kept in memory
+     * @param diskDir  Directory of the disk tier, created if missing; null for none
+     * @throws IOException If the directory cannot be created
+     */
+    public PuzzleCache(long maxBytes, Path diskDir) throws IOException {
+        this.maxBytes = checkSize(maxBytes);
+        this.diskDir = diskDir;
+        if (diskDir != null) {
+            Files.createDirectories(diskDir);
+        }
+    }
+
+    /**
+     * Returns the cached puzzle for a key, from memory or from the disk tier, or generates it.
+     *
+     * @param key       The spec of the puzzle
+     * @param generator Generates the puzzle on a miss; any exception it throws reaches the caller
+     *                  and nothing is cached
+     * @return The puzzle
+     */
+    public SharedPuzzle get(Key key, Function<Key, SharedPuzzle> generator) {
+        SharedPuzzle puzzle;
+        synchronized (this) {
+            puzzle = entries.get(key);
+        }
+        if (puzzle != null) {
+            hits.increment();
+            return puzzle;
+        }
+        puzzle = read(key);
+        if (puzzle != null) {
+            diskHits.increment();
+        } else {
+            misses.increment();
+            puzzle = generator.apply(key);
+        }
+        put(key, puzzle);
+        return puzzle;
+    }
+
+    /**
+     * @return The puzzle if it is in memory, else null; the disk tier is not read
+     */
+    public synchronized SharedPuzzle getIfPresent(Key key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Adds a puzzle, evicting the least recently used ones beyond the size bound. Evicted
+     * puzzles go to the disk tier, if any.
+     *
+     * @param key    The spec of the puzzle
+     * @param puzzle The puzzle generated for it
+     */
+    public void put(Key key, SharedPuzzle puzzle) {
+        List<Map.Entry<Key, SharedPuzzle>> evicted = new ArrayList<>();
+        synchronized (this) {
+            SharedPuzzle previous = entries.put(key, puzzle);
+            bytes += sizeOf(puzzle) - (previous == null ? 0 : sizeOf(previous));
+            Iterator<Map.Entry<Key, SharedPuzzle>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Key, SharedPuzzle> entry = eldest.next();
+                eldest.remove();
+                bytes -= sizeOf(entry.getValue());
+                evicted.add(entry);
+            }
+        }
+        evictions.add(evicted.size());
+        for (Map.Entry<Key, SharedPuzzle> entry : evicted) {
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return The current counters and size
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.sum(), diskHits.sum(), misses.sum(), evictions.sum(), spills.sum(), diskErrors.sum(),
+                entries.size(), bytes);
+    }
+
+    /**
+     * Writes every puzzle still in memory to the disk tier, if any, so the next run finds them.
+     * The cache can still be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (diskDir == null) {
+            return;
+        }
+        List<Map.Entry<Key, SharedPuzzle>> all;
+        synchronized (this) {
+            all = new ArrayList<>(entries.entrySet());
+        }
+        for (Map.Entry<Key, SharedPuzzle> entry : all) {
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static long checkSize(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + maxBytes);
+        }
+        return maxBytes;
+    }
+
+    /**
+     * @return Estimated heap size of a cached puzzle
+     */
+    static long sizeOf(SharedPuzzle puzzle) {
+        long size = ENTRY_OVERHEAD + (long) puzzle.getRows() * puzzle.getCols();
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            size += PLACEMENT_OVERHEAD + puzzle.getLength(id);
+        }
+        return size;
+    }
+
+    private Path fileOf(Key key) {
+        return diskDir.resolve(key.getId() + PuzzleFile.EXTENSION);
+    }
+
+    /**
+     * @return The puzzle from the disk tier, or null if it is not there or cannot be read
+     */
+    private SharedPuzzle read(Key key) {
+        if (diskDir == null) {
+            return null;
+        }
+        Path file = fileOf(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return SharedPuzzle.of(PuzzleFile.load(file));
+        } catch (IOException | RuntimeException e) {
+            diskErrors.increment();
+            try {
+                Files.deleteIfExists(file); // damaged: the puzzle is generated again and spilled afresh
+            } catch (IOException ignored) {
+                // counted above; the next read fails the same way and generates again
+            }
+            return null;
+        }
+    }
+
+    private void spill(Key key, SharedPuzzle puzzle) {
+        if (diskDir == null) {
+            return;
+        }
+        Path file = fileOf(key);
+        if (Files.exists(file)) {
+            return; // generation is deterministic, the file already holds this puzzle
+        }
+        try {
+            PuzzleFile.save(puzzle, file);
+            spills.increment();
+        } catch (IOException e) {
+            diskErrors.increment();
+        }
+    }
+}
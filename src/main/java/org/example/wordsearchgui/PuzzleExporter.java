@@ -0,0 +1,426 @@
+package org.example.wordsearchgui;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exports a finished puzzle to plain text or PNG, for printing and publishing in bulk,
+ * optionally as an answer key that marks the letters of every placed word.
+ *
+ * Both formats are streamed one row of cells at a time, so a very large grid never needs the
+ * whole image or a {@code String[][]} copy in memory. The answer marks of a row are worked out
+ * from the placements that cross it, kept sorted by their top row, so only the words crossing
+ * the current row are looked at. A PNG is drawn band by band, one band per row of cells, from
+ * tiles of each letter rendered once with the system font, and handed to {@link PngStream}
+ * scanline by scanline. Memory is one band plus the tiles, whatever the number of rows.
+ *
+ * Nothing here touches JavaFX; it runs headless like {@link BatchGenerator}.
+ */
+public final class PuzzleExporter {
+
+    public static final int DEFAULT_CELL_SIZE = 32; // pixels per cell side in a PNG
+
+    private static final int MIN_CELL_SIZE = 8;
+    private static final byte PAPER = (byte) 0xFF;
+    private static final byte SHADE = (byte) 0xC8; // background of answer letters
+    private static final int INK = 0x00;
+    private static final float LETTER_SCALE = 0.6f; // letter font size relative to the cell
+    private static final float LABEL_SCALE = 0.4f; // label font size relative to the cell
+
+    private final SharedPuzzle puzzle;
+    private boolean answers; // mark the letters of placed words
+    private boolean labels = true; // row numbers and column letters, as in the game
+    private int cellSize = DEFAULT_CELL_SIZE;
+
+    /**
+     * @param puzzle The puzzle to export
+     */
+    public PuzzleExporter(SharedPuzzle puzzle) {
+        this.puzzle = puzzle;
+    }
+
+    /**
+     * @param answers True to export the answer key: placed words are marked and listed with
+     *                their positions
+     */
+    public PuzzleExporter setAnswers(boolean answers) {
+        this.answers = answers;
+        return this;
+    }
+
+    /**
+     * @param labels True (the default) to print row numbers and column letters
+     */
+    public PuzzleExporter setLabels(boolean labels) {
+        this.labels = labels;
+        return this;
+    }
+
+    /**
+     * @param cellSize Pixels per cell side in a PNG, at least 8
+     */
+    public PuzzleExporter setCellSize(int cellSize) {
+        if (cellSize < MIN_CELL_SIZE) {
+            throw new IllegalArgumentException("Cell size must be at least " + MIN_CELL_SIZE + ": " + cellSize);
+        }
+        this.cellSize = cellSize;
+        return this;
+    }
+
+    /**
+     * Writes the grid as text, in the layout of {@link Grid#getGridAsArray}, followed by the
+     * word list. In an answer key, letters that are not part of a word are printed as '.' and
+     * each word is listed as the move that finds it, e.g. "APPLE 1 d H".
+     *
+     * @param out Receives the text; should be buffered, and is not closed
+     * @throws IOException If writing fails
+     */
+    public void writeText(Writer out) throws IOException {
+        int rows = puzzle.getRows();
+        int cols = puzzle.getCols();
+        int rowWidth = Math.max(2, Integer.toString(rows - 1).length());
+        int colWidth = CommandParser.columnLabel(cols - 1).length();
+        if (labels) {
+            pad(out, 0, rowWidth + 1);
+            for (int col = 0; col < cols; col++) {
+                String label = CommandParser.columnLabel(col);
+                out.write(label);
+                if (col < cols - 1) {
+                    pad(out, label.length(), colWidth + 1);
+                }
+            }
+            out.write('\n');
+        }
+        AnswerRows marks = answers ? new AnswerRows() : null;
+        for (int row = 0; row < rows; row++) {
+            boolean[] marked = marks == null ? null : marks.next();
+            if (labels) {
+                String number = Integer.toString(row);
+                for (int i = number.length(); i < rowWidth; i++) {
+                    out.write('0'); // "00", "01", ... as in the game
+                }
+                out.write(number);
+                out.write(' ');
+            }
+            for (int col = 0; col < cols; col++) {
+                out.write(marked == null || marked[col] ? puzzle.getLetter(row, col) : '.');
+                if (col < cols - 1) {
+                    pad(out, 1, colWidth + 1);
+                }
+            }
+            out.write('\n');
+        }
+        out.write('\n');
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            out.write(puzzle.getWord(id));
+            if (answers) {
+                out.write(" " + puzzle.getRow(id) + " " + CommandParser.columnLabel(puzzle.getCol(id))
+                        + " " + puzzle.getDirection(id).getSymbol());
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the grid as a greyscale PNG. Answer letters are drawn on a grey background.
+     * The word list is not drawn; {@link #writeText} provides it.
+     *
+     * @param out Receives the image; should be buffered, and is not closed
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If the image would be too wide to buffer one band, or
+     *                                  taller than a PNG allows
+     */
+    public void writePng(OutputStream out) throws IOException {
+        int rows = puzzle.getRows();
+        int cols = puzzle.getCols();
+        int labelWidth = (cellSize + 1) / 2; // one label character
+        int rowLabelChars = Integer.toString(rows - 1).length();
+        int left = labels ? (rowLabelChars + 1) * labelWidth : 0;
+        int top = labels ? cellSize : 0;
+        long width = left + (long) cols * cellSize;
+        long height = top + (long) rows * cellSize;
+        // The band holds cellSize scanlines, so its size bounds the width before the PNG format does
+        if (width * cellSize >= Integer.MAX_VALUE || height >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A " + rows + "x" + cols + " grid at " + cellSize
+                    + " pixels per cell is too large for a PNG");
+        }
+        Tiles letterTiles = new Tiles(cellSize, cellSize, Font.BOLD, LETTER_SCALE);
+        Tiles labelTiles = new Tiles(labelWidth, cellSize, Font.PLAIN, LABEL_SCALE);
+        byte[] band = new byte[(int) width * cellSize]; // one row of cells, scanline after scanline
+        try (PngStream png = new PngStream(out, (int) width, (int) height)) {
+            if (labels) {
+                Arrays.fill(band, PAPER);
+                for (int col = 0; col < cols; col++) {
+                    String label = CommandParser.columnLabel(col);
+                    // Centred over the column, clipped to it if the label is wider than a cell
+                    int x = left + col * cellSize + Math.max(0, (cellSize - label.length() * labelWidth) / 2);
+                    int end = left + (col + 1) * cellSize;
+                    for (int i = 0; i < label.length() && x < end; i++, x += labelWidth) {
+                        drawTile(band, (int) width, x, labelTiles.get(label.charAt(i), false), labelWidth,
+                                Math.min(labelWidth, end - x));
+                    }
+                }
+                writeBand(png, band, (int) width);
+            }
+            AnswerRows marks = answers ? new AnswerRows() : null;
+            for (int row = 0; row < rows; row++) {
+                boolean[] marked = marks == null ? null : marks.next();
+                if (labels) {
+                    fillLeft(band, (int) width, left);
+                    String number = Integer.toString(row);
+                    int x = left - (number.length() + 1) * labelWidth + labelWidth / 2; // right-aligned
+                    for (int i = 0; i < number.length(); i++, x += labelWidth) {
+                        drawTile(band, (int) width, x, labelTiles.get(number.charAt(i), false), labelWidth, labelWidth);
+                    }
+                }
+                for (int col = 0; col < cols; col++) {
+                    byte[] tile = letterTiles.get(puzzle.getLetter(row, col), marked != null && marked[col]);
+                    drawTile(band, (int) width, left + col * cellSize, tile, cellSize, cellSize);
+                }
+                writeBand(png, band, (int) width);
+            }
+            png.finish();
+        }
+    }
+
+    /**
+     * Writes the text export to a file.
+     *
+     * @param path The file to create or overwrite
+     * @throws IOException If writing fails
+     */
+    public void exportText(Path path) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeText(out);
+        }
+    }
+
+    /**
+     * Writes the PNG export to a file.
+     *
+     * @param path The file to create or overwrite
+     * @throws IOException If writing fails
+     */
+    public void exportPng(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writePng(out);
+        }
+    }
+
+    private static void pad(Writer out, int used, int width) throws IOException {
+        for (int i = used; i < width; i++) {
+            out.write(' ');
+        }
+    }
+
+    /**
+     * Copies the first columns of a tile into every scanline of the band.
+     */
+    private void drawTile(byte[] band, int width, int x, byte[] tile, int tileWidth, int columns) {
+        for (int y = 0; y < cellSize; y++) {
+            System.arraycopy(tile, y * tileWidth, band, y * width + x, columns);
+        }
+    }
+
+    private void fillLeft(byte[] band, int width, int left) {
+        for (int y = 0; y < cellSize; y++) {
+            Arrays.fill(band, y * width, y * width + left, PAPER);
+        }
+    }
+
+    private void writeBand(PngStream png, byte[] band, int width) throws IOException {
+        for (int y = 0; y < cellSize; y++) {
+            png.writeRow(band, y * width);
+        }
+    }
+
+    /**
+     * The answer marks of each row in turn. Placements are sorted by their top row; a
+     * placement joins the active set when the rows reach its top and leaves it after its
+     * bottom, so each row only looks at the words that cross it.
+     */
+    private final class AnswerRows {
+        private final long[] byTop; // top row << 32 | placement id, ascending
+        private final int[] active;
+        private final boolean[] marked;
+        private int activeCount;
+        private int nextPlacement; // first entry of byTop not yet active
+        private int row; // row returned by the next call to next()
+
+        AnswerRows() {
+            byTop = new long[puzzle.getPlacementCount()];
+            for (int id = 0; id < byTop.length; id++) {
+                byTop[id] = ((long) Math.min(puzzle.getRow(id), lastRow(id)) << 32) | id;
+            }
+            Arrays.sort(byTop);
+            active = new int[byTop.length];
+            marked = new boolean[puzzle.getCols()];
+        }
+
+        /**
+         * @return Whether each cell of the next row is part of a placed word; reused between calls
+         */
+        boolean[] next() {
+            Arrays.fill(marked, false);
+            while (nextPlacement < byTop.length && (int) (byTop[nextPlacement] >>> 32) <= row) {
+                active[activeCount++] = (int) byTop[nextPlacement++];
+            }
+            for (int i = 0; i < activeCount; i++) {
+                int id = active[i];
+                if (Math.max(puzzle.getRow(id), lastRow(id)) < row) {
+                    active[i--] = active[--activeCount]; // past its bottom row
+                    continue;
+                }
+                Direction direction = puzzle.getDirection(id);
+                int col = puzzle.getCol(id);
+                if (direction.getRowStep() == 0) {
+                    // Lies along this row: every letter is on it
+                    for (int k = 0; k < puzzle.getLength(id); k++, col += direction.getColStep()) {
+                        marked[col] = true;
+                    }
+                } else {
+                    int k = (row - puzzle.getRow(id)) / direction.getRowStep(); // letter on this row
+                    marked[col + k * direction.getColStep()] = true;
+                }
+            }
+            row++;
+            return marked;
+        }
+
+        private int lastRow(int id) {
+            return puzzle.getRow(id) + (puzzle.getLength(id) - 1) * puzzle.getDirection(id).getRowStep();
+        }
+    }
+
+    /**
+     * Greyscale tiles of single characters, each rendered once with the system font and
+     * cached, on the paper background or on the answer shade.
+     */
+    private static final class Tiles {
+        private final int width;
+        private final int height;
+        private final Font font;
+        private final byte[][] coverage = new byte[128][]; // ink coverage per ASCII character, 0-255
+        private final byte[][][] tiles = new byte[2][128][]; // [shaded][character] -> grey pixels
+
+        Tiles(int width, int height, int style, float scale) {
+            this.width = width;
+            this.height = height;
+            this.font = new Font(Font.SANS_SERIF, style, Math.max(1, Math.round(height * scale)));
+        }
+
+        byte[] get(char c, boolean shaded) {
+            if (c >= 128) {
+                c = '?';
+            }
+            byte[] tile = tiles[shaded ? 1 : 0][c];
+            if (tile == null) {
+                if (coverage[c] == null) {
+                    coverage[c] = render(c);
+                }
+                int background = (shaded ? SHADE : PAPER) & 0xFF;
+                tile = new byte[width * height];
+                for (int i = 0; i < tile.length; i++) {
+                    int ink = coverage[c][i] & 0xFF;
+                    tile[i] = (byte) (background - ((background - INK) * ink + 127) / 255);
+                }
+                tiles[shaded ? 1 : 0][c] = tile;
+            }
+            return tile;
+        }
+
+        /**
+         * @return The ink coverage of the character centred in a tile
+         */
+        private byte[] render(char c) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                graphics.setFont(font);
+                FontMetrics metrics = graphics.getFontMetrics();
+                String text = String.valueOf(c);
+                int x = (width - metrics.stringWidth(text)) / 2;
+                int y = (height - metrics.getAscent() - metrics.getDescent()) / 2 + metrics.getAscent();
+                graphics.drawString(text, x, y); // white on black: the grey level is the coverage
+            } finally {
+                graphics.dispose();
+            }
+            byte[] pixels = new byte[width * height];
+            image.getRaster().getDataElements(0, 0, width, height, pixels);
+            return pixels;
+        }
+    }
+
+    /**
+     * Usage: PuzzleExporter output-dir puzzle... [--format text|png|both] [--answers] [--cell PIXELS] [--no-labels]
+     * Each puzzle is a saved .wsp file or a text input file, which is generated first. For a
+     * puzzle named "name", writes name.txt and name.png into the output directory, and with
+     * --answers also the keys name.key.txt and name.key.png.
+     */
+    public static void main(String[] args) throws IOException {
+        Path outputDir = null;
+        String format = "both";
+        boolean answers = false;
+        boolean labels = true;
+        int cellSize = DEFAULT_CELL_SIZE;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format" -> format = args[++i];
+                case "--answers" -> answers = true;
+                case "--cell" -> cellSize = Integer.parseInt(args[++i]);
+                case "--no-labels" -> labels = false;
+                default -> {
+                    if (outputDir == null) {
+                        outputDir = Path.of(args[i]);
+                    } else {
+                        inputs.add(Path.of(args[i]));
+                    }
+                }
+            }
+        }
+        boolean text = format.equals("text") || format.equals("both");
+        boolean png = format.equals("png") || format.equals("both");
+        if (outputDir == null || inputs.isEmpty() || !(text || png)) {
+            System.err.println("Usage: PuzzleExporter output-dir puzzle... [--format text|png|both] [--answers]"
+                    + " [--cell PIXELS] [--no-labels]");
+            System.exit(2);
+        }
+
+        Files.createDirectories(outputDir);
+        for (Path input : inputs) {
+            SharedPuzzle puzzle = SharedPuzzle.of(GameServer.loadOrGenerate(input));
+            String name = input.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            if (dot > 0) {
+                name = name.substring(0, dot);
+            }
+            PuzzleExporter exporter = new PuzzleExporter(puzzle).setLabels(labels).setCellSize(cellSize);
+            for (boolean key : answers ? new boolean[]{false, true} : new boolean[]{false}) {
+                exporter.setAnswers(key);
+                String base = key ? name + ".key" : name;
+                if (text) {
+                    exporter.exportText(outputDir.resolve(base + ".txt"));
+                }
+                if (png) {
+                    exporter.exportPng(outputDir.resolve(base + ".png"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.wordsearchgui;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Binary save format for generated puzzles, including how far the game has got.
+ *
+ * Layout (big-endian):
+ *    - Header, 32 bytes: magic "WSPZ", version (short), flags (short), rows, cols,
+ *      number of placements, then 12 reserved bytes. The low 8 bits of the flags are the
+ *      enabled directions, bit n for direction code n; files that predate eight directions
+ *      have 0 there and are read as {@link Direction#CLASSIC}.
+ *    - Letters: rows * cols bytes in row-major order, exactly as {@link Grid} stores them.
+ *    - Placements: one long per placement, packed as in {@link PlacementIndex#pack}.
+ *    - Found placements: one bit per placement, in longs (see {@link BitSet#toLongArray()}).
+ *    - Words: for each placement, an unsigned short length followed by its ASCII letters.
+ *
+ * Large files are memory-mapped and the letters are copied out in one bulk transfer, so
+ * opening a saved puzzle does no parsing or generation. Every placement is checked against
+ * the letters, so a damaged file is rejected instead of producing a puzzle that cannot be solved.
+ */
+public final class PuzzleFile {
+
+    public static final String EXTENSION = ".wsp";
+
+    private static final int MAGIC = 0x5753505A; // "WSPZ"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int DIRECTION_FLAGS = 0xFF; // flag bits holding the enabled directions
+    private static final long MAP_THRESHOLD = 1 << 20; // smaller files are read into the heap instead
+
+    private PuzzleFile() {
+    }
+
+    /**
+     * @param path A file name
+     * @return True if the file name has the save file extension
+     */
+    public static boolean isPuzzleFile(Path path) {
+        return path.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    /**
+     * Writes a grid, its placements and the words found so far. The file is written next to
+     * the target first and then moved over it, so an interrupted save never leaves a broken file.
+     *
+     * @param grid The grid to save, with its letters filled in
+     * @param path The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(Grid grid, Path path) throws IOException {
+        write(grid.getRows(), grid.getCols(), grid.getDirections(), grid.getLetters(), grid.getPlacements(),
+                grid::isPlacementFound, path);
+    }
+
+    /**
+     * Writes a game session: its puzzle and the words this player found so far.
+     *
+     * @param session The session to save
+     * @param path    The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(GameSession session, Path path) throws IOException {
+        PuzzleState state = session.getState(); // one version throughout, even if the game goes on meanwhile
+        SharedPuzzle puzzle = state.getPuzzle();
+        write(puzzle.getRows(), puzzle.getCols(), puzzle.getDirections(), puzzle.getLetters(), puzzle.placements(),
+                state::isPlacementFound, path);
+    }
+
+    /**
+     * Writes a puzzle with no words found, as generated.
+     *
+     * @param puzzle The puzzle to save
+     * @param path   The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(SharedPuzzle puzzle, Path path) throws IOException {
+        write(puzzle.getRows(), puzzle.getCols(), puzzle.getDirections(), puzzle.getLetters(), puzzle.placements(),
+                id -> false, path);
+    }
+
+    private static void write(int rows, int cols, Set<Direction> directions, ByteBuffer letters,
+                              PlacementIndex placements, IntPredicate isFound, Path path) throws IOException {
+        int count = placements.size();
+        BitSet found = new BitSet(count);
+        int wordBytes = 0;
+        for (int id = 0; id < count; id++) {
+            found.set(id, isFound.test(id));
+            wordBytes += 2 + placements.getLength(id);
+        }
+        long[] foundWords = found.toLongArray();
+        int foundLongs = (count + 63) >>> 6;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        int flags = 0;
+        for (Direction direction : directions) {
+            flags |= 1 << direction.getCode();
+        }
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) flags)
+                .putInt(rows).putInt(cols).putInt(count);
+        header.position(HEADER_SIZE).flip();
+
+        ByteBuffer tail = ByteBuffer.allocate(Math.addExact(Math.multiplyExact(count + foundLongs, 8), wordBytes));
+        for (int id = 0; id < count; id++) {
+            tail.putLong(placements.getPlacement(id));
+        }
+        for (int i = 0; i < foundLongs; i++) {
+            tail.putLong(i < foundWords.length ? foundWords[i] : 0L); // toLongArray drops trailing zero words
+        }
+        for (int id = 0; id < count; id++) {
+            String word = placements.getWord(id);
+            tail.putShort((short) word.length());
+            tail.put(word.getBytes(StandardCharsets.US_ASCII));
+        }
+        tail.flip();
+
+        // The letters are written straight from their storage, no copy
+        ByteBuffer[] buffers = {header, letters, tail};
+        // A temp file of its own, so concurrent saves of the same path do not write into each other
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (tail.hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true); // on disk before the rename makes it visible
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a saved puzzle. The returned grid has its letters, placements and found words
+     * restored, and its word list holds the words that are still to be found.
+     *
+     * @param path The file to read
+     * @return The restored grid
+     * @throws IOException If the file cannot be read or is not a valid puzzle file
+     */
+    public static Grid load(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException(path + ": not a puzzle file");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + ": file too large");
+            }
+            if (size >= MAP_THRESHOLD) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid after close
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException(path + ": truncated puzzle file");
+                    }
+                }
+                buffer.flip();
+            }
+        }
+        try {
+            return read(buffer, path);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException(path + ": truncated puzzle file", e);
+        }
+    }
+
+    private static Grid read(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException(path + ": not a puzzle file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException(path + ": unsupported puzzle file version " + version);
+        }
+        int flags = buffer.getShort() & DIRECTION_FLAGS;
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        int count = buffer.getInt();
+        if (rows <= 0 || cols <= 0 || count < 0
+                || (long) rows * cols + count * 8L > buffer.remaining()) { // checked before allocating anything
+            throw new IOException(path + ": bad header");
+        }
+        buffer.position(HEADER_SIZE);
+
+        Grid grid = new Grid(rows, cols);
+        if (flags != 0) {
+            Set<Direction> directions = EnumSet.noneOf(Direction.class);
+            for (Direction direction : Direction.values()) {
+                if ((flags & (1 << direction.getCode())) != 0) {
+                    directions.add(direction);
+                }
+            }
+            grid.setDirections(directions);
+        }
+        grid.readLetters(buffer);
+
+        long[] packed = new long[count];
+        buffer.asLongBuffer().get(packed);
+        buffer.position(buffer.position() + count * 8);
+        long[] foundWords = new long[(count + 63) >>> 6];
+        buffer.asLongBuffer().get(foundWords);
+        buffer.position(buffer.position() + foundWords.length * 8);
+        BitSet found = BitSet.valueOf(foundWords);
+
+        PlacementIndex placements = grid.getPlacements();
+        LinkedHashSet<String> remaining = new LinkedHashSet<>();
+        byte[] letters = new byte[Math.max(rows, cols)];
+        for (int id = 0; id < count; id++) {
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length == 0 || length > letters.length) {
+                throw new IOException(path + ": bad word length in placement " + id);
+            }
+            buffer.get(letters, 0, length);
+            String word = new String(letters, 0, length, StandardCharsets.US_ASCII);
+            int code = (int) (packed[id] & 0xFF);
+            if (code >= Direction.values().length) {
+                throw new IOException(path + ": bad direction in placement " + id);
+            }
+            int row = PlacementIndex.unpackRow(packed[id]);
+            int col = PlacementIndex.unpackCol(packed[id]);
+            Direction direction = Direction.fromCode(code);
+            if (!grid.spells(word, row, col, direction)) {
+                throw new IOException(path + ": placement " + id + " (" + word + ") does not match the letters");
+            }
+            placements.add(word, row, col, direction);
+        }
+        for (int id = 0; id < count; id++) {
+            if (found.get(id)) {
+                grid.markFound(id);
+            }
+        }
+        for (int id = 0; id < count; id++) {
+            if (!found.get(id)) {
+                remaining.add(placements.getWord(id));
+            }
+        }
+        grid.setWords(new ArrayList<>(remaining));
+        return grid;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.wordsearchgui;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a puzzle input file is malformed. The message starts with the line number.
+ */
+public class PuzzleFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+
+    /**
+     * @param line    The 1-based line number of the problem
+     * @param message What is wrong with the line
+     */
+    public PuzzleFormatException(long line, String message) {
+        super("Line " + line + ": " + message);
+        this.line = line;
+    }
+
+    /**
+     * @return The 1-based line number of the problem
+     */
+    public long getLine() {
+        return line;
+    }
+}
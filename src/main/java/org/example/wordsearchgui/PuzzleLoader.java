@@ -0,0 +1,327 @@
+package org.example.wordsearchgui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Streaming loader for puzzle input files.
+ *
+ * File format:
+ *    - The first line holds the number of rows and columns, separated by whitespace.
+ *    - Each following line holds one word (letters A-Z, any case). Blank lines are skipped.
+ *
+ * The file is read through a {@link FileChannel} in large blocks and split into lines by
+ * hand, with no regex or Scanner on the path. Words are uppercased, validated (letters only,
+ * no longer than the grid) and deduplicated as they stream past, and each accepted word is
+ * handed to the {@link Listener} straight away. Problems are reported as a
+ * {@link PuzzleFormatException} carrying the line number.
+ */
+public class PuzzleLoader {
+
+    private static final int BLOCK_SIZE = 1 << 20; // bytes read from the channel at a time
+    private static final int MAX_LINE_LENGTH = 0xFFFF; // longer lines are rejected
+
+    /**
+     * Receives the contents of the file as it is parsed.
+     */
+    public interface Listener {
+        /**
+         * Called once, before any word.
+         */
+        void header(int rows, int cols) throws IOException;
+
+        /**
+         * Called for each valid, not yet seen word.
+         *
+         * @param word The uppercase word
+         * @param line The line the word was read from
+         */
+        void word(String word, long line) throws IOException;
+    }
+
+    /**
+     * A fully loaded puzzle spec.
+     *
+     * @param rows  Number of rows in the grid
+     * @param cols  Number of columns in the grid
+     * @param words The distinct uppercase words, in file order
+     */
+    public record Puzzle(int rows, int cols, ArrayList<String> words) {
+    }
+
+    private final Listener listener;
+    private byte[] line = new byte[256]; // start of a line that crosses a block boundary
+    private int lineLength;
+    private long lineNumber;
+    private boolean headerRead;
+    private int maxWordLength; // a word longer than this cannot fit in any direction
+    private final ByteWordSet seen = new ByteWordSet(); // words handed on so far
+
+    private PuzzleLoader(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Loads a whole puzzle spec into memory.
+     *
+     * @param path The input file
+     * @return The grid size and the distinct words
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public static Puzzle load(Path path) throws IOException {
+        int[] size = new int[2];
+        ArrayList<String> words = new ArrayList<>();
+        load(path, new Listener() {
+            @Override
+            public void header(int rows, int cols) {
+                size[0] = rows;
+                size[1] = cols;
+            }
+
+            @Override
+            public void word(String word, long line) {
+                words.add(word);
+            }
+        });
+        return new Puzzle(size[0], size[1], words);
+    }
+
+    /**
+     * Streams a puzzle spec to a listener.
+     *
+     * @param path     The input file
+     * @param listener Receives the header and then each word
+     * @return Number of words handed to the listener
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public static long load(Path path, Listener listener) throws IOException {
+        PuzzleLoader loader = new PuzzleLoader(listener);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer block = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, Math.max(channel.size(), 1)));
+            byte[] bytes = block.array();
+            while (channel.read(block) != -1) {
+                int end = block.position();
+                int start = 0;
+                for (int i = 0; i < end; i++) {
+                    if (bytes[i] == '\n') {
+                        loader.endLine(bytes, start, i);
+                        start = i + 1;
+                    }
+                }
+                loader.carry(bytes, start, end); // partial line, completed by the next block
+                block.clear();
+            }
+        }
+        loader.endOfInput();
+        return loader.seen.size();
+    }
+
+    /**
+     * Keeps the unfinished end of a block until the rest of the line arrives.
+     */
+    private void carry(byte[] bytes, int from, int to) throws IOException {
+        int length = to - from;
+        if (lineLength + length > MAX_LINE_LENGTH) {
+            throw new PuzzleFormatException(lineNumber + 1, "line is longer than " + MAX_LINE_LENGTH + " bytes");
+        }
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(bytes, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private void endOfInput() throws IOException {
+        if (lineLength > 0) {
+            endLine(line, 0, 0); // last line without a trailing newline
+        }
+        if (!headerRead) {
+            throw new PuzzleFormatException(Math.max(lineNumber, 1), "missing 'rows cols' header");
+        }
+    }
+
+    /**
+     * Trims a complete line and hands it to the header or word parser. Lines that lie inside one
+     * block are parsed in place; if part of the line was carried over it is assembled first.
+     */
+    private void endLine(byte[] bytes, int from, int to) throws IOException {
+        if (lineLength > 0) {
+            carry(bytes, from, to);
+            bytes = line;
+            from = 0;
+            to = lineLength;
+            lineLength = 0;
+        }
+        lineNumber++;
+        if (lineNumber == 1 && to - from >= 3 && bytes[from] == (byte) 0xEF && bytes[from + 1] == (byte) 0xBB
+                && bytes[from + 2] == (byte) 0xBF) {
+            from += 3; // UTF-8 byte order mark
+        }
+        while (from < to && isBlank(bytes[from])) {
+            from++;
+        }
+        while (to > from && isBlank(bytes[to - 1])) {
+            to--;
+        }
+        if (!headerRead) {
+            parseHeader(bytes, from, to);
+        } else if (from < to) {
+            parseWord(bytes, from, to);
+        }
+    }
+
+    /**
+     * Parses "rows cols": two positive integers separated by whitespace.
+     */
+    private void parseHeader(byte[] line, int from, int to) throws IOException {
+        int[] values = new int[2];
+        int pos = from;
+        for (int v = 0; v < 2; v++) {
+            if (v == 1) {
+                int gap = pos;
+                while (pos < to && isBlank(line[pos])) {
+                    pos++;
+                }
+                if (pos == gap) {
+                    throw new PuzzleFormatException(lineNumber, "expected 'rows cols' header");
+                }
+            }
+            long value = 0;
+            int digits = 0;
+            while (pos < to && line[pos] >= '0' && line[pos] <= '9') {
+                value = value * 10 + (line[pos++] - '0');
+                if (++digits > 9) {
+                    throw new PuzzleFormatException(lineNumber, "grid size is too large");
+                }
+            }
+            if (digits == 0 || value == 0) {
+                throw new PuzzleFormatException(lineNumber, "expected 'rows cols' header with positive numbers");
+            }
+            values[v] = (int) value;
+        }
+        if (pos != to) {
+            throw new PuzzleFormatException(lineNumber, "unexpected text after 'rows cols' header");
+        }
+        if ((long) values[0] * values[1] > Integer.MAX_VALUE) {
+            throw new PuzzleFormatException(lineNumber, "grid has too many cells");
+        }
+        headerRead = true;
+        maxWordLength = Math.max(values[0], values[1]);
+        listener.header(values[0], values[1]);
+    }
+
+    /**
+     * Validates and uppercases a word, then hands it on unless it was already seen.
+     */
+    private void parseWord(byte[] line, int from, int to) throws IOException {
+        int length = to - from;
+        for (int i = from; i < to; i++) {
+            byte b = line[i];
+            if (b >= 'a' && b <= 'z') {
+                line[i] = (byte) (b - ('a' - 'A'));
+            } else if (b < 'A' || b > 'Z') {
+                throw new PuzzleFormatException(lineNumber, "invalid character '" + (char) (b & 0xFF) + "' in word");
+            }
+        }
+        if (length > maxWordLength) {
+            throw new PuzzleFormatException(lineNumber,
+                    "word " + new String(line, from, length, StandardCharsets.US_ASCII) + " is longer than the grid");
+        }
+        if (seen.add(line, from, to)) {
+            listener.word(new String(line, from, length, StandardCharsets.US_ASCII), lineNumber);
+        }
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Open-addressing set of words stored as raw bytes in one growing arena, so deduplicating
+     * millions of words does not create a String or a hash entry object per word.
+     */
+    private static final class ByteWordSet {
+        private byte[] arena = new byte[1 << 16]; // per word: 2-byte length, then the letters
+        private int arenaSize;
+        private int[] slots = new int[1 << 12]; // arena offset + 1 of each word, 0 = empty slot
+        private int size;
+
+        /**
+         * @return True if the word was not in the set yet
+         */
+        boolean add(byte[] bytes, int from, int to) {
+            int mask = slots.length - 1;
+            for (int i = hash(bytes, from, to) & mask; ; i = (i + 1) & mask) {
+                int slot = slots[i];
+                if (slot == 0) {
+                    slots[i] = append(bytes, from, to) + 1;
+                    if (++size * 2 > slots.length) {
+                        rehash();
+                    }
+                    return true;
+                }
+                if (matches(slot - 1, bytes, from, to)) {
+                    return false;
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int append(byte[] bytes, int from, int to) {
+            int length = to - from;
+            if (arenaSize + length + 2 > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length + 2));
+            }
+            int offset = arenaSize;
+            arena[offset] = (byte) (length >>> 8);
+            arena[offset + 1] = (byte) length;
+            System.arraycopy(bytes, from, arena, offset + 2, length);
+            arenaSize += length + 2;
+            return offset;
+        }
+
+        private boolean matches(int offset, byte[] bytes, int from, int to) {
+            int length = ((arena[offset] & 0xFF) << 8) | (arena[offset + 1] & 0xFF);
+            return length == to - from && Arrays.equals(arena, offset + 2, offset + 2 + length, bytes, from, to);
+        }
+
+        private void rehash() {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            int mask = slots.length - 1;
+            for (int slot : old) {
+                if (slot != 0) {
+                    int offset = slot - 1;
+                    int length = ((arena[offset] & 0xFF) << 8) | (arena[offset + 1] & 0xFF);
+                    int i = hash(arena, offset + 2, offset + 2 + length) & mask;
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = slot;
+                }
+            }
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int h = 0;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + bytes[i];
+            }
+            // Murmur3 finaliser: short words hash to nearby values, which would cluster under linear probing
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+    }
+}
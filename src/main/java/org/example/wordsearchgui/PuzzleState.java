@@ -0,0 +1,197 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+
+/**
+ * One immutable version of a game: which words and cells have been found so far.
+ *
+ * Finding a word produces a new version; the previous one is untouched. Found cells and
+ * found placements are kept in {@link TiledBits}, so a new version copies only the tiles
+ * the word falls in and shares the rest with its predecessor. Any thread can read any
+ * version without locks (renderers, exporters, spectators), and replaying a game costs the
+ * cells its moves touched.
+ *
+ * A version does not keep its predecessors alive: it holds only the list of moves that led
+ * to it, one small node per move. Undo clears the last word's cells again, except those
+ * another found word still covers (looked up in the puzzle's {@link CellIndex}), so a game
+ * costs its current tiles plus its move list however long it has been played.
+ */
+public final class PuzzleState implements LetterGrid {
+
+    private final SharedPuzzle puzzle;
+    private final TiledBits foundCells;
+    private final TiledBits foundPlacements;
+    private final int remaining; // placements still to be found
+    private final int version; // number of moves since the initial state
+    private final Move moves; // the last move and the ones before it, null for the initial state
+
+    /**
+     * One found placement in a game's list of moves, newest first.
+     */
+    private record Move(int placementId, Move before) {
+    }
+
+    private PuzzleState(SharedPuzzle puzzle, TiledBits foundCells, TiledBits foundPlacements, int remaining,
+                        int version, Move moves) {
+        this.puzzle = puzzle;
+        this.foundCells = foundCells;
+        this.foundPlacements = foundPlacements;
+        this.remaining = remaining;
+        this.version = version;
+        this.moves = moves;
+    }
+
+    /**
+     * @param puzzle The puzzle being played
+     * @return The state of a new game, with nothing found
+     */
+    public static PuzzleState initial(SharedPuzzle puzzle) {
+        return new PuzzleState(puzzle, new TiledBits(puzzle.getRows() * puzzle.getCols()),
+                new TiledBits(puzzle.getPlacementCount()), puzzle.getPlacementCount(), 0, null);
+    }
+
+    /**
+     * Rebuilds a game from its moves, see {@link #getMoves()}.
+     *
+     * @param puzzle The puzzle being played
+     * @param moves  Placement ids in the order they were found
+     * @return The state after the last move
+     */
+    public static PuzzleState replay(SharedPuzzle puzzle, int[] moves) {
+        PuzzleState state = initial(puzzle);
+        for (int placementId : moves) {
+            state = state.markFound(placementId);
+        }
+        return state;
+    }
+
+    /**
+     * @param placementId The placement the player found
+     * @return The next version with the placement and its cells found, or this version if
+     *         the placement was already found
+     */
+    public PuzzleState markFound(int placementId) {
+        if (foundPlacements.get(placementId)) {
+            return this;
+        }
+        return new PuzzleState(puzzle, foundCells.with(cellsOf(placementId)), foundPlacements.with(placementId),
+                remaining - 1, version + 1, new Move(placementId, moves));
+    }
+
+    /**
+     * Takes the last move back. The result has exactly the found words and cells of the
+     * version before the move, but is a new version rather than the old one.
+     *
+     * @return The version without the last move, or this version if no move was made
+     */
+    public PuzzleState undo() {
+        if (moves == null) {
+            return this;
+        }
+        int placementId = moves.placementId();
+        TiledBits placements = foundPlacements.without(placementId);
+        // Clear only the cells no other found word covers, so crossing words stay marked
+        CellIndex index = puzzle.getCellIndex();
+        int cols = puzzle.getCols();
+        int[] cells = cellsOf(placementId);
+        int clear = 0;
+        for (int cell : cells) {
+            int row = cell / cols;
+            int col = cell - row * cols;
+            boolean shared = false;
+            for (int k = 0; k < index.countAt(row, col) && !shared; k++) {
+                shared = placements.get(index.placementAt(row, col, k));
+            }
+            if (!shared) {
+                cells[clear++] = cell;
+            }
+        }
+        return new PuzzleState(puzzle, foundCells.without(Arrays.copyOf(cells, clear)), placements,
+                remaining + 1, version - 1, moves.before());
+    }
+
+    /**
+     * @return Placement ids in the order they were found, from the initial state to this version
+     */
+    public int[] getMoves() {
+        int[] ids = new int[version];
+        int i = version;
+        for (Move move = moves; move != null; move = move.before()) {
+            ids[--i] = move.placementId();
+        }
+        return ids;
+    }
+
+    /**
+     * @return The cells of a placement, first letter first
+     */
+    private int[] cellsOf(int placementId) {
+        int step = puzzle.getLines().step(puzzle.getDirection(placementId));
+        int[] cells = new int[puzzle.getLength(placementId)];
+        cells[0] = puzzle.getRow(placementId) * puzzle.getCols() + puzzle.getCol(placementId);
+        for (int i = 1; i < cells.length; i++) {
+            cells[i] = cells[i - 1] + step;
+        }
+        return cells;
+    }
+
+    public SharedPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * @return Number of moves since the initial state
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The placement found by the move that made this version, or -1 for the initial state
+     */
+    public int getLastPlacement() {
+        return moves == null ? -1 : moves.placementId();
+    }
+
+    /**
+     * @return Number of words still to be found
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public boolean isComplete() {
+        return remaining == 0;
+    }
+
+    public boolean isPlacementFound(int placementId) {
+        return foundPlacements.get(placementId);
+    }
+
+    @Override
+    public int getRows() {
+        return puzzle.getRows();
+    }
+
+    @Override
+    public int getCols() {
+        return puzzle.getCols();
+    }
+
+    @Override
+    public char getLetter(int row, int col) {
+        return puzzle.getLetter(row, col);
+    }
+
+    /**
+     * For tests, which check which tiles versions share.
+     */
+    TiledBits foundCells() {
+        return foundCells;
+    }
+
+    @Override
+    public boolean isFound(int row, int col) {
+        return foundCells.get(row * puzzle.getCols() + col);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.wordsearchgui;
+
+/**
+ * Derives independent seeds from one base seed, so work split across threads (puzzles of a
+ * batch, tiles of a grid) gets the same random choices whatever the number of threads.
+ */
+public final class Seeds {
+
+    private Seeds() {
+    }
+
+    /**
+     * Derives a well-mixed seed for one item of a sequence (SplitMix64 finaliser over seed and index).
+     *
+     * @param seed  The base seed
+     * @param index The index of the item, e.g. a puzzle of a batch or a tile of a grid
+     * @return The seed of the item
+     */
+    public static long derive(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.wordsearchgui;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An immutable, finished puzzle: the letters and where each word was placed.
+ *
+ * Nothing can change after construction, so one instance can be shared by any number of
+ * {@link GameSession}s on any number of threads without locking. Each session keeps only
+ * the state of its own game (which words were found).
+ */
+public final class SharedPuzzle implements LetterGrid {
+
+    private final int rows;
+    private final int cols;
+    private final byte[] letters; // row-major, never written after construction
+    private final PlacementIndex placements; // private copy, never written after construction
+    private final Set<Direction> directions; // directions the words were placed in
+    private final LineTable lines;
+    private volatile CellIndex cellIndex; // built on first use; two threads may both build it, with equal results
+
+    private SharedPuzzle(int rows, int cols, byte[] letters, PlacementIndex placements, Set<Direction> directions) {
+        this.rows = rows;
+        this.cols = cols;
+        this.letters = letters;
+        this.placements = placements;
+        this.directions = Collections.unmodifiableSet(EnumSet.copyOf(directions));
+        this.lines = new LineTable(rows, cols);
+    }
+
+    /**
+     * Copies a generated (or loaded) grid. Later changes to the grid do not affect the puzzle.
+     *
+     * @param grid A grid with its words placed and its letters filled in
+     * @return The immutable puzzle
+     */
+    public static SharedPuzzle of(Grid grid) {
+        byte[] letters = new byte[grid.getRows() * grid.getCols()];
+        grid.getLetters().get(letters);
+        PlacementIndex source = grid.getPlacements();
+        PlacementIndex placements = new PlacementIndex();
+        for (int id = 0; id < source.size(); id++) {
+            placements.add(source.getWord(id), source.getRow(id), source.getCol(id), source.getDirection(id));
+        }
+        return new SharedPuzzle(grid.getRows(), grid.getCols(), letters, placements, grid.getDirections());
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getLetter(int row, int col) {
+        return (char) letters[row * cols + col];
+    }
+
+    /**
+     * A puzzle has no players, so nothing is found. See {@link GameSession#isFound}.
+     */
+    @Override
+    public boolean isFound(int row, int col) {
+        return false;
+    }
+
+    /**
+     * @return The directions words may run in, which players choose from
+     */
+    public Set<Direction> getDirections() {
+        return directions;
+    }
+
+    /**
+     * @return The line and stride tables of this puzzle's size
+     */
+    public LineTable getLines() {
+        return lines;
+    }
+
+    /**
+     * @return A read-only view of the letters in row-major order
+     */
+    public ByteBuffer getLetters() {
+        return ByteBuffer.wrap(letters).asReadOnlyBuffer();
+    }
+
+    /**
+     * @param word      The word, in any case
+     * @param row       The row of the first letter
+     * @param col       The column of the first letter
+     * @param direction The direction of the word (null never matches)
+     * @return The placement id, or -1 if the word is not placed there
+     */
+    public int find(String word, int row, int col, Direction direction) {
+        return placements.find(word, row, col, direction);
+    }
+
+    /**
+     * @return Number of placed words
+     */
+    public int getPlacementCount() {
+        return placements.size();
+    }
+
+    public String getWord(int id) {
+        return placements.getWord(id);
+    }
+
+    public int getRow(int id) {
+        return placements.getRow(id);
+    }
+
+    public int getCol(int id) {
+        return placements.getCol(id);
+    }
+
+    public Direction getDirection(int id) {
+        return placements.getDirection(id);
+    }
+
+    public int getLength(int id) {
+        return placements.getLength(id);
+    }
+
+    /**
+     * @return The placed words, in placement order
+     */
+    public String[] getWords() {
+        String[] words = new String[placements.size()];
+        Arrays.setAll(words, placements::getWord);
+        return words;
+    }
+
+    /**
+     * @return The index from each cell to the placements covering it, built on first use
+     */
+    public CellIndex getCellIndex() {
+        CellIndex index = cellIndex;
+        if (index == null) {
+            index = CellIndex.of(this);
+            cellIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * For {@link PuzzleFile}, which only reads it.
+     */
+    PlacementIndex placements() {
+        return placements;
+    }
+}
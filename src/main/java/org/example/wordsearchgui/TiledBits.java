@@ -0,0 +1,122 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+
+/**
+ * Immutable bit set split into fixed-size tiles, for {@link PuzzleState}.
+ *
+ * The tiles hang off a persistent trie of small directory nodes. Changing bits returns a new
+ * set that copies only the tiles the bits fall in and the directory nodes on the path to
+ * them, and shares everything else with this one, so a version costs O(changed tiles x depth)
+ * whatever the size of the grid. Tiles and nodes that were never written are null and read as
+ * all clear.
+ */
+final class TiledBits {
+
+    static final int TILE_BITS = 4096; // bits per tile
+    private static final int TILE_SHIFT = 12;
+    private static final int LONGS_PER_TILE = TILE_BITS / 64;
+    private static final int FANOUT_SHIFT = 5; // 32 children per directory node
+    private static final int FANOUT = 1 << FANOUT_SHIFT;
+
+    private final Object[] root; // directory nodes are Object[], the last level holds long[] tiles
+    private final int levels; // directory levels, at least 1
+
+    /**
+     * @param size Number of bits the set can hold
+     */
+    TiledBits(int size) {
+        long tiles = Math.max(1, ((long) size + TILE_BITS - 1) >>> TILE_SHIFT);
+        int depth = 1;
+        while (1L << (depth * FANOUT_SHIFT) < tiles) {
+            depth++;
+        }
+        this.root = new Object[FANOUT];
+        this.levels = depth;
+    }
+
+    private TiledBits(Object[] root, int levels) {
+        this.root = root;
+        this.levels = levels;
+    }
+
+    boolean get(int bit) {
+        long[] tile = tile(bit >>> TILE_SHIFT);
+        return tile != null && (tile[(bit & (TILE_BITS - 1)) >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @param bits The bits to set
+     * @return A new set with the bits set, sharing the tiles none of them fall in
+     */
+    TiledBits with(int... bits) {
+        return update(bits, true);
+    }
+
+    /**
+     * @param bits The bits to clear
+     * @return A new set with the bits clear, sharing the tiles none of them fall in
+     */
+    TiledBits without(int... bits) {
+        return update(bits, false);
+    }
+
+    /**
+     * @return The tile holding the bits of tile number t, or null if it was never written
+     */
+    long[] tile(int t) {
+        Object node = root;
+        for (int level = levels - 1; level >= 0 && node != null; level--) {
+            node = ((Object[]) node)[(t >>> (level * FANOUT_SHIFT)) & (FANOUT - 1)];
+        }
+        return (long[]) node;
+    }
+
+    private TiledBits update(int[] bits, boolean set) {
+        Object[] copy = root.clone();
+        // Nodes and tiles created for this version, which may be written in place; a word
+        // touches a few tiles, so a short list scanned by identity is enough
+        Object[] owned = new Object[8];
+        int ownedCount = 0;
+        for (int bit : bits) {
+            int t = bit >>> TILE_SHIFT;
+            Object[] node = copy;
+            for (int level = levels - 1; level >= 0; level--) {
+                int i = (t >>> (level * FANOUT_SHIFT)) & (FANOUT - 1);
+                Object child = node[i];
+                if (!isOwned(owned, ownedCount, child)) {
+                    if (child == null) {
+                        if (!set) {
+                            break; // clearing a bit that was never set
+                        }
+                        child = level == 0 ? new long[LONGS_PER_TILE] : new Object[FANOUT];
+                    } else {
+                        child = level == 0 ? ((long[]) child).clone() : ((Object[]) child).clone();
+                    }
+                    node[i] = child;
+                    if (ownedCount == owned.length) {
+                        owned = Arrays.copyOf(owned, ownedCount * 2);
+                    }
+                    owned[ownedCount++] = child;
+                }
+                if (level > 0) {
+                    node = (Object[]) child;
+                } else {
+                    long[] tile = (long[]) child;
+                    int word = (bit & (TILE_BITS - 1)) >>> 6;
+                    tile[word] = set ? tile[word] | 1L << bit : tile[word] & ~(1L << bit);
+                }
+            }
+        }
+        return new TiledBits(copy, levels);
+    }
+
+    private static boolean isOwned(Object[] owned, int count, Object node) {
+        for (int i = 0; i < count; i++) {
+            if (owned[i] == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.wordsearchgui;
+
+import java.util.AbstractList;
+
+/**
+ * The most recent lines of a game's messages, in a fixed-size ring buffer.
+ *
+ * Adding a line overwrites the oldest one once the buffer is full, so a message costs the
+ * same after ten moves or ten thousand, and memory never grows past the capacity. The list
+ * view runs oldest to newest. Not thread-safe; the GUI only touches it on the FX thread.
+ */
+public final class Transcript extends AbstractList<String> {
+
+    public static final int DEFAULT_CAPACITY = 500; // lines kept
+
+    private final String[] lines;
+    private int head; // index of the oldest line
+    private int size;
+    private long total; // lines added since the start, including the ones dropped
+
+    public Transcript() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of lines kept
+     */
+    public Transcript(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.lines = new String[capacity];
+    }
+
+    /**
+     * Adds one line, dropping the oldest if the transcript is full.
+     *
+     * @param line The line, without a line break
+     * @return Always true
+     */
+    @Override
+    public boolean add(String line) {
+        int slot = head + size;
+        if (slot >= lines.length) {
+            slot -= lines.length;
+        }
+        lines[slot] = line;
+        if (size < lines.length) {
+            size++;
+        } else if (++head == lines.length) {
+            head = 0;
+        }
+        total++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds every non-blank line of a message.
+     *
+     * @param message One or more lines separated by '\n'
+     * @return Number of lines added
+     */
+    public int append(String message) {
+        int added = 0;
+        int start = 0;
+        for (int i = 0; i <= message.length(); i++) {
+            if (i == message.length() || message.charAt(i) == '\n') {
+                String line = message.substring(start, i);
+                if (!line.isBlank()) {
+                    add(line);
+                    added++;
+                }
+                start = i + 1;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * @param index 0 for the oldest line kept
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int slot = head + index;
+        return lines[slot >= lines.length ? slot - lines.length : slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    /**
+     * @return Number of lines added since the start, including the ones no longer kept
+     */
+    public long getTotal() {
+        return total;
+    }
+}
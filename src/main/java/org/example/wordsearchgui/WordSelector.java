@@ -0,0 +1,337 @@
+package org.example.wordsearchgui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Chooses the words of a puzzle from a large dictionary, for a given grid size and word count.
+ *
+ * The dictionary is indexed once: words are bucketed by length into one array (a counting
+ * sort, so the words of each length are contiguous and in dictionary order), and each word
+ * keeps a 26-bit mask of the letters it uses. Sampling a word that fits is then a single
+ * random index into the range of lengths allowed by the grid and by the letters still left
+ * in the fill budget, whatever the size of the dictionary. The masks reject words using an
+ * excluded letter and make the check that no chosen word contains another (which would make
+ * the shorter one appear twice in the grid) almost free: one word can only contain another
+ * if its mask covers the other's.
+ *
+ * Immutable once configured, so one selector can be shared by every thread of a
+ * {@link BatchGenerator}.
+ */
+public final class WordSelector {
+
+    public static final int DEFAULT_MIN_LENGTH = 3;
+    public static final double DEFAULT_MAX_FILL = 0.5; // share of the cells the chosen words may cover
+    private static final int SAMPLES_PER_WORD = 64; // random draws per word before giving up on the count
+    private static final int MAX_REPLACEMENTS = 32; // failed placements before giving up
+    private static final long ATTEMPTS_PER_TRY = 1_000_000L; // placement budget before a word is swapped out
+
+    private final String[] words; // uppercase, grouped by length
+    private final int[] masks; // letters used by each word, bit 0 for 'A'
+    private final int[] lengthStart; // words of length L are words[lengthStart[L]..lengthStart[L + 1])
+    private int minLength = DEFAULT_MIN_LENGTH;
+    private double maxFill = DEFAULT_MAX_FILL;
+    private int excluded; // mask of letters no chosen word may use
+
+    private WordSelector(List<String> distinct) {
+        int longest = 0;
+        for (String word : distinct) {
+            longest = Math.max(longest, word.length());
+        }
+        lengthStart = new int[longest + 2];
+        for (String word : distinct) {
+            lengthStart[word.length() + 1]++;
+        }
+        for (int length = 1; length < lengthStart.length; length++) {
+            lengthStart[length] += lengthStart[length - 1];
+        }
+        words = new String[distinct.size()];
+        masks = new int[distinct.size()];
+        int[] next = lengthStart.clone();
+        for (String word : distinct) {
+            int i = next[word.length()]++;
+            words[i] = word;
+            masks[i] = maskOf(word);
+        }
+    }
+
+    /**
+     * Indexes a dictionary. Words are uppercased; duplicates and words with anything other
+     * than the letters A-Z are skipped.
+     *
+     * @param dictionary The words, in any case
+     * @return The selector
+     */
+    public static WordSelector of(Collection<String> dictionary) {
+        Set<String> seen = new HashSet<>(dictionary.size() * 2);
+        List<String> distinct = new ArrayList<>(dictionary.size());
+        for (String word : dictionary) {
+            String normalized = normalize(word);
+            if (normalized != null && seen.add(normalized)) {
+                distinct.add(normalized);
+            }
+        }
+        return new WordSelector(distinct);
+    }
+
+    /**
+     * Reads and indexes a dictionary file with one word per line, such as /usr/share/dict/words.
+     * Blank lines, lines starting with '#' and words with anything other than the letters A-Z
+     * (apostrophes, accents, digits) are skipped.
+     *
+     * @param path The dictionary file
+     * @return The selector
+     * @throws IOException If the file cannot be read
+     */
+    public static WordSelector load(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+        return of(lines);
+    }
+
+    /**
+     * @param minLength Shortest word to choose, 3 by default
+     */
+    public WordSelector setMinLength(int minLength) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("Minimum length must be positive: " + minLength);
+        }
+        this.minLength = minLength;
+        return this;
+    }
+
+    /**
+     * @param maxFill Share of the grid's cells the chosen words may cover together, 0.5 by
+     *                default; placement gets much slower as it approaches 1
+     */
+    public WordSelector setMaxFill(double maxFill) {
+        if (!(maxFill > 0 && maxFill <= 1)) {
+            throw new IllegalArgumentException("Fill must be in (0, 1]: " + maxFill);
+        }
+        this.maxFill = maxFill;
+        return this;
+    }
+
+    /**
+     * @param letters Letters no chosen word may use (e.g. "QXZ" for young players), in any case
+     */
+    public WordSelector setExcludedLetters(String letters) {
+        this.excluded = maskOf(letters.toUpperCase(Locale.ROOT));
+        return this;
+    }
+
+    /**
+     * @return Number of distinct words in the dictionary
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * Chooses distinct words that fit a grid: none longer than the longest line of the enabled
+     * directions, none containing another (forwards or backwards), and all together within
+     * the fill budget. Each draw leaves room for the words still to come at the minimum length,
+     * so the count is met whenever the budget allows it. Fewer words are returned if the
+     * dictionary or the budget runs out.
+     *
+     * @param rows       Number of rows in the grid
+     * @param cols       Number of columns in the grid
+     * @param directions The directions words may run in
+     * @param count      Number of words wanted
+     * @param random     The random source; the same seed gives the same words
+     * @return The chosen uppercase words, in the order they were drawn
+     */
+    public ArrayList<String> select(int rows, int cols, Set<Direction> directions, int count, Random random) {
+        return choose(new Selection(rows, cols, directions), count, random);
+    }
+
+    /**
+     * Chooses words for a grid and places them. When a word cannot be placed it is swapped
+     * for a shorter one and placement is tried again, up to {@link #MAX_REPLACEMENTS} times.
+     * Each try examines at most {@link #ATTEMPTS_PER_TRY} slots, as swapping a word is
+     * cheaper than a long search for a tight list; grids in parallel mode are placed as
+     * {@link Grid#placeWords} does.
+     * The words that were placed are left in {@link Grid#getWords}.
+     *
+     * @param grid   An empty grid, with its directions set
+     * @param count  Number of words wanted
+     * @param random The random source for choosing words
+     * @return The outcome of the last placement
+     */
+    public PlacementResult place(Grid grid, int count, Random random) {
+        Selection selection = new Selection(grid.getRows(), grid.getCols(), grid.getDirections());
+        ArrayList<String> chosen = choose(selection, count, random);
+        List<Integer> indexes = new ArrayList<>(selection.takenList); // dictionary index of each chosen word
+        grid.setWords(chosen);
+        PlacementResult result = placeOnce(grid, chosen);
+        for (int replacement = 0; !result.isPlaced() && replacement < MAX_REPLACEMENTS; replacement++) {
+            // Too many letters blames no word; swapping the longest one frees the most cells
+            int failed = result.word() == null ? longest(chosen) : chosen.indexOf(PlacementIndex.normalize(result.word()));
+            if (failed < 0) {
+                break;
+            }
+            selection.drop(indexes.get(failed));
+            int index = selection.draw(Math.min(selection.budget, chosen.get(failed).length() - 1), random);
+            if (index < 0) {
+                chosen.remove(failed); // nothing shorter fits, place one word fewer
+                indexes.remove(failed);
+            } else {
+                selection.take(index);
+                chosen.set(failed, words[index]);
+                indexes.set(failed, index);
+            }
+            grid.setWords(chosen);
+            result = placeOnce(grid, chosen);
+        }
+        return result;
+    }
+
+    private static int longest(List<String> chosen) {
+        int longest = 0;
+        for (int i = 1; i < chosen.size(); i++) {
+            if (chosen.get(i).length() > chosen.get(longest).length()) {
+                longest = i;
+            }
+        }
+        return longest;
+    }
+
+    private static PlacementResult placeOnce(Grid grid, List<String> chosen) {
+        if (grid.isParallel()) {
+            return grid.placeWords();
+        }
+        return grid.newPlacementEngine().setMaxAttempts(ATTEMPTS_PER_TRY).place(chosen);
+    }
+
+    private ArrayList<String> choose(Selection selection, int count, Random random) {
+        ArrayList<String> chosen = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Keep enough letters for the words still to come, as far as the budget allows
+            long reserve = Math.min((long) (count - i - 1) * minLength, selection.budget - minLength);
+            int index = selection.draw((int) (selection.budget - Math.max(0, reserve)), random);
+            if (index < 0) {
+                break;
+            }
+            selection.take(index);
+            chosen.add(words[index]);
+        }
+        return chosen;
+    }
+
+    /**
+     * State of one selection: the words taken so far and the letters left in the budget.
+     */
+    private final class Selection {
+        private final int longest; // longest word that fits in some direction
+        private final BitSet taken = new BitSet();
+        private final List<Integer> takenList = new ArrayList<>(); // in the order taken
+        private final boolean reversible; // a word can also be read backwards
+        int budget; // letters still allowed
+
+        Selection(int rows, int cols, Set<Direction> directions) {
+            int line = 0;
+            boolean opposite = false;
+            for (Direction direction : directions) {
+                int length = direction.getRowStep() == 0 ? cols : direction.getColStep() == 0 ? rows : Math.min(rows, cols);
+                line = Math.max(line, length);
+                opposite |= directions.contains(direction.opposite());
+            }
+            this.longest = Math.min(line, lengthStart.length - 2);
+            this.reversible = opposite;
+            this.budget = (int) Math.min(Integer.MAX_VALUE, (long) (rows * (double) cols * maxFill));
+        }
+
+        /**
+         * @param maxLength Longest word allowed
+         * @return The index of a random word that can be taken, or -1 if none was found
+         */
+        int draw(int maxLength, Random random) {
+            int upper = Math.min(longest, maxLength);
+            if (upper < minLength) {
+                return -1;
+            }
+            int from = lengthStart[minLength];
+            int to = lengthStart[upper + 1];
+            for (int sample = 0; sample < SAMPLES_PER_WORD && from < to; sample++) {
+                int index = from + random.nextInt(to - from);
+                if (!taken.get(index) && (masks[index] & excluded) == 0 && !overlapsTaken(index)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        void take(int index) {
+            taken.set(index);
+            takenList.add(index);
+            budget -= words[index].length();
+        }
+
+        void drop(int index) {
+            taken.clear(index);
+            takenList.remove((Integer) index);
+            budget += words[index].length();
+        }
+
+        /**
+         * @return True if the word contains a taken word or is contained in one
+         */
+        private boolean overlapsTaken(int index) {
+            for (int other : takenList) {
+                if (contains(other, index) || contains(index, other)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return True if the outer word spells the inner one, forwards or, when words can run
+         *         backwards, in reverse
+         */
+        private boolean contains(int outer, int inner) {
+            if ((masks[inner] & ~masks[outer]) != 0 || words[inner].length() > words[outer].length()) {
+                return false; // the inner word uses a letter the outer one does not have
+            }
+            return words[outer].contains(words[inner])
+                    || (reversible && words[outer].contains(new StringBuilder(words[inner]).reverse()));
+        }
+    }
+
+    /**
+     * @return The uppercase word, or null if it has anything other than letters A-Z
+     */
+    private static String normalize(String word) {
+        String normalized = PlacementIndex.normalize(word);
+        return normalized.isEmpty() || !PlacementIndex.isLetters(word) ? null : normalized;
+    }
+
+    private static int maskOf(String word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                mask |= 1 << (c - 'A');
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.wordsearchgui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds every occurrence of a dictionary's words in a grid.
+ *
+ * The dictionary is compiled once into an {@link AhoCorasick} automaton, then every line of
+ * the grid (each row, column and diagonal, one pass per {@link Direction}) is streamed through
+ * it, walking the cells with the stride from a {@link LineTable}. Lines are independent, so they
+ * are split across cores with fork/join. The total work is linear in the number of cells times
+ * the number of directions, whatever the dictionary size.
+ */
+public class WordSolver {
+
+    private static final int LEAF_CELLS = 16_384; // cells scanned by one fork/join leaf task
+
+    private final AhoCorasick automaton;
+    private Set<Direction> directions = EnumSet.allOf(Direction.class);
+
+    /**
+     * One occurrence of a word in the grid.
+     *
+     * @param word      The uppercase word
+     * @param row       The row of the first letter
+     * @param col       The column of the first letter
+     * @param direction The direction the word runs in
+     */
+    public record Match(String word, int row, int col, Direction direction) {
+    }
+
+    /**
+     * @param dictionary The words to look for (case-insensitive, letters A-Z only)
+     */
+    public WordSolver(Collection<String> dictionary) {
+        this(AhoCorasick.build(dictionary));
+    }
+
+    /**
+     * @param automaton A prebuilt automaton, which may be shared between solvers
+     */
+    public WordSolver(AhoCorasick automaton) {
+        this.automaton = automaton;
+    }
+
+    /**
+     * @param directions The directions to look in, all eight by default
+     */
+    public WordSolver setDirections(Set<Direction> directions) {
+        this.directions = EnumSet.copyOf(directions);
+        return this;
+    }
+
+    /**
+     * Finds every occurrence using the common fork/join pool.
+     *
+     * @param grid The grid to scan
+     * @return Every occurrence, grouped by direction then by line
+     */
+    public List<Match> solve(LetterGrid grid) {
+        return solve(grid, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds every occurrence using the given pool.
+     *
+     * @param grid The grid to scan
+     * @param pool The pool the line scans run in
+     * @return Every occurrence, grouped by direction then by line
+     */
+    public List<Match> solve(LetterGrid grid, ForkJoinPool pool) {
+        LineTable table = new LineTable(grid.getRows(), grid.getCols());
+        long[] lines = lineIds(table);
+        return pool.invoke(new ScanTask(grid, table, lines, 0, lines.length));
+    }
+
+    /**
+     * Lists every line of the enabled directions, packed as (direction code << 32 | line).
+     */
+    private long[] lineIds(LineTable table) {
+        int count = 0;
+        for (Direction direction : directions) {
+            count += table.lineCount(direction);
+        }
+        long[] packed = new long[count];
+        int i = 0;
+        for (Direction direction : directions) {
+            for (int line = 0; line < table.lineCount(direction); line++) {
+                packed[i++] = ((long) direction.getCode() << 32) | line;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Scans a range of lines, splitting it in half while it covers more than {@link #LEAF_CELLS} cells.
+     */
+    @SuppressWarnings("serial") // a fork/join task is never serialized, its fields need not be serializable
+    private final class ScanTask extends RecursiveTask<List<Match>> {
+        private final LetterGrid grid;
+        private final LineTable table;
+        private final long[] lines;
+        private final int from;
+        private final int to;
+
+        ScanTask(LetterGrid grid, LineTable table, long[] lines, int from, int to) {
+            this.grid = grid;
+            this.table = table;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Match> compute() {
+            int longestLine = Math.max(grid.getRows(), grid.getCols());
+            if (to - from > 1 && (long) (to - from) * longestLine > LEAF_CELLS) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = new ScanTask(grid, table, lines, from, middle);
+                left.fork();
+                List<Match> right = new ScanTask(grid, table, lines, middle, to).compute();
+                List<Match> matches = left.join();
+                matches.addAll(right);
+                return matches;
+            }
+            List<Match> matches = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                scanLine(Direction.fromCode((int) (lines[i] >>> 32)), (int) lines[i], matches);
+            }
+            return matches;
+        }
+
+        /**
+         * Streams one line through the automaton and records every word ending on it.
+         */
+        private void scanLine(Direction direction, int line, List<Match> matches) {
+            int cols = grid.getCols();
+            int step = table.step(direction);
+            int length = table.lineLength(direction, line);
+            int state = automaton.root();
+            for (int i = 0, cell = table.lineStart(direction, line); i < length; i++, cell += step) {
+                state = automaton.next(state, grid.getLetter(cell / cols, cell % cols));
+                for (int match = automaton.firstMatch(state); match >= 0; match = automaton.nextMatch(match)) {
+                    String word = automaton.word(automaton.wordId(match));
+                    int first = cell - (word.length() - 1) * step; // cell of the first letter
+                    matches.add(new Match(word, first / cols, first % cols, direction));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+
+/**
+ * Prefix trie over the words of a puzzle that are still to be found, for typeahead and hints.
+ *
+ * Nodes live in parallel int arrays (first child, next sibling, parent, letter), with the
+ * children of a node kept in alphabetical order, so a trie of tens of thousands of words is
+ * a handful of arrays rather than an object per letter. Each node counts the remaining words
+ * below it. Finding a word decrements the counts on its path and taking it back increments
+ * them again, both in O(length) through the parent links, and lookups skip subtrees whose
+ * count is 0. Completion walks the subtree of the prefix in place and writes placement ids
+ * into a buffer the caller provides, so a keystroke allocates nothing.
+ *
+ * Not thread-safe; the GUI uses one trie per game on the FX thread.
+ */
+public final class WordTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] parent;
+    private byte[] letter; // uppercase letter on the edge from the parent
+    private int[] remaining; // remaining words ending at or below the node
+    private int[] ending; // remaining words ending exactly at the node
+    private int[] placementAt; // first placement id of the word ending at the node, or NONE
+    private int nodes = 1; // the root is node 0
+    private int[] nodeOf = new int[16]; // terminal node of each placement id, NONE if not indexed
+    private int[] sameWord = new int[16]; // next placement of the same word, or NONE
+    private boolean[] found = new boolean[16]; // placements taken out of the remaining counts
+    private final int[] one = new int[1]; // buffer for first()
+
+    /**
+     * @param expectedLetters Total letters of the words to be added, to size the arrays
+     */
+    public WordTrie(int expectedLetters) {
+        int capacity = Math.max(16, expectedLetters + 1);
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        parent = new int[capacity];
+        letter = new byte[capacity];
+        remaining = new int[capacity];
+        ending = new int[capacity];
+        placementAt = new int[capacity];
+        Arrays.fill(nodeOf, NONE);
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+        parent[ROOT] = NONE;
+        placementAt[ROOT] = NONE;
+    }
+
+    /**
+     * Indexes every word of a puzzle that the game has not found yet.
+     *
+     * @param state The game, whose puzzle supplies the words
+     * @return The trie of the remaining words
+     */
+    public static WordTrie of(PuzzleState state) {
+        SharedPuzzle puzzle = state.getPuzzle();
+        int letters = 0;
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            letters += puzzle.getLength(id);
+        }
+        WordTrie trie = new WordTrie(letters);
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            trie.add(puzzle.getWord(id), id);
+            if (state.isPlacementFound(id)) {
+                trie.markFound(id);
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Adds a word as remaining.
+     *
+     * @param word        The uppercase word, letters A-Z
+     * @param placementId The placement the word belongs to; a word placed twice is added once per placement
+     */
+    public void add(String word, int placementId) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            node = childOrInsert(node, (byte) word.charAt(i));
+        }
+        if (placementId >= nodeOf.length) {
+            int size = Math.max(placementId + 1, nodeOf.length * 2);
+            int old = nodeOf.length;
+            nodeOf = Arrays.copyOf(nodeOf, size);
+            Arrays.fill(nodeOf, old, size, NONE);
+            sameWord = Arrays.copyOf(sameWord, size);
+            found = Arrays.copyOf(found, size);
+        }
+        nodeOf[placementId] = node;
+        // Placements of the same word hang off one node, chained in the order they were added
+        sameWord[placementId] = NONE;
+        if (placementAt[node] == NONE) {
+            placementAt[node] = placementId;
+        } else {
+            int last = placementAt[node];
+            while (sameWord[last] != NONE) {
+                last = sameWord[last];
+            }
+            sameWord[last] = placementId;
+        }
+        adjust(node, 1);
+    }
+
+    /**
+     * Takes a found word out of the remaining words, in O(length).
+     *
+     * @param placementId The placement that was found
+     * @return True if it was remaining before
+     */
+    public boolean markFound(int placementId) {
+        if (placementId < 0 || placementId >= nodeOf.length || nodeOf[placementId] == NONE || found[placementId]) {
+            return false;
+        }
+        found[placementId] = true;
+        adjust(nodeOf[placementId], -1);
+        return true;
+    }
+
+    /**
+     * Puts a word back among the remaining words (after an undo), in O(length).
+     *
+     * @param placementId The placement that is no longer found
+     * @return True if it was found before
+     */
+    public boolean markRemaining(int placementId) {
+        if (placementId < 0 || placementId >= nodeOf.length || nodeOf[placementId] == NONE || !found[placementId]) {
+            return false;
+        }
+        found[placementId] = false;
+        adjust(nodeOf[placementId], 1);
+        return true;
+    }
+
+    /**
+     * @return Number of remaining words
+     */
+    public int size() {
+        return remaining[ROOT];
+    }
+
+    /**
+     * @param prefix Letters typed so far, in any case
+     * @return Number of remaining words starting with the prefix
+     */
+    public int countWithPrefix(CharSequence prefix) {
+        int node = find(prefix);
+        return node == NONE ? 0 : remaining[node];
+    }
+
+    /**
+     * Lists remaining words starting with a prefix, in alphabetical order.
+     *
+     * @param prefix Letters typed so far, in any case
+     * @param out    Receives placement ids; at most out.length are written
+     * @return Number of ids written
+     */
+    public int complete(CharSequence prefix, int[] out) {
+        int top = find(prefix);
+        if (top == NONE || remaining[top] == 0) {
+            return 0;
+        }
+        int count = 0;
+        int node = top;
+        // Pre-order walk of the subtree through the child, sibling and parent links
+        while (count < out.length) {
+            int id = livePlacement(node);
+            if (id != NONE) {
+                out[count++] = id;
+            }
+            int next = firstLiveChild(node);
+            while (next == NONE && node != top) {
+                next = nextLiveSibling(node);
+                node = parent[node];
+            }
+            if (next == NONE) {
+                break;
+            }
+            node = next;
+        }
+        return count;
+    }
+
+    /**
+     * @param prefix Letters typed so far, in any case
+     * @return The first remaining word starting with the prefix, in alphabetical order, as a
+     *         placement id; -1 if there is none
+     */
+    public int first(CharSequence prefix) {
+        return complete(prefix, one) == 1 ? one[0] : -1;
+    }
+
+    /**
+     * @return The node reached by the prefix, or NONE if no word has that prefix
+     */
+    private int find(CharSequence prefix) {
+        int node = ROOT;
+        for (int i = 0; i < prefix.length() && node != NONE; i++) {
+            char c = Character.toUpperCase(prefix.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                return NONE;
+            }
+            node = child(node, (byte) c);
+        }
+        return node;
+    }
+
+    /**
+     * @return A placement of the word ending at the node that is still remaining, else NONE
+     */
+    private int livePlacement(int node) {
+        if (ending[node] == 0) {
+            return NONE;
+        }
+        int id = placementAt[node];
+        while (found[id]) {
+            id = sameWord[id];
+        }
+        return id;
+    }
+
+    private int firstLiveChild(int node) {
+        int child = firstChild[node];
+        while (child != NONE && remaining[child] == 0) {
+            child = nextSibling[child];
+        }
+        return child;
+    }
+
+    private int nextLiveSibling(int node) {
+        int sibling = nextSibling[node];
+        while (sibling != NONE && remaining[sibling] == 0) {
+            sibling = nextSibling[sibling];
+        }
+        return sibling;
+    }
+
+    private int child(int node, byte c) {
+        for (int child = firstChild[node]; child != NONE && letter[child] <= c; child = nextSibling[child]) {
+            if (letter[child] == c) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @return The child of the node for the letter, inserted in alphabetical order if missing
+     */
+    private int childOrInsert(int node, byte c) {
+        int previous = NONE;
+        int child = firstChild[node];
+        while (child != NONE && letter[child] < c) {
+            previous = child;
+            child = nextSibling[child];
+        }
+        if (child != NONE && letter[child] == c) {
+            return child;
+        }
+        if (nodes == letter.length) {
+            grow();
+        }
+        int created = nodes++;
+        letter[created] = c;
+        parent[created] = node;
+        firstChild[created] = NONE;
+        placementAt[created] = NONE;
+        nextSibling[created] = child;
+        if (previous == NONE) {
+            firstChild[node] = created;
+        } else {
+            nextSibling[previous] = created;
+        }
+        return created;
+    }
+
+    /**
+     * Adds delta to the remaining count of a word's node and every node above it.
+     */
+    private void adjust(int node, int delta) {
+        ending[node] += delta;
+        for (; node != NONE; node = parent[node]) {
+            remaining[node] += delta;
+        }
+    }
+
+    private void grow() {
+        int capacity = letter.length * 2;
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        letter = Arrays.copyOf(letter, capacity);
+        remaining = Arrays.copyOf(remaining, capacity);
+        ending = Arrays.copyOf(ending, capacity);
+        placementAt = Arrays.copyOf(placementAt, capacity);
+    }
+}
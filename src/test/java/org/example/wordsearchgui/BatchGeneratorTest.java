@@ -0,0 +1,101 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchGeneratorTest {
+
+    @Test
+    void outputDoesNotDependOnTheThreadCount() throws IOException {
+        // More specs than the window of puzzles in flight, and one that cannot be placed
+        String specs = specs(120, 11) + "3 3 ABCDEFGH\n";
+
+        String one = run(new BatchGenerator(42, 1), specs);
+
+        assertEquals(one, run(new BatchGenerator(42, 4), specs));
+        assertEquals(one, run(new BatchGenerator(42, 7), specs));
+        assertTrue(one.startsWith("# puzzle 0 seed "), one);
+        assertTrue(one.contains("# puzzle 120 seed "), "the unplaceable spec keeps its index");
+        assertNotEquals(one, run(new BatchGenerator(43, 4), specs));
+    }
+
+    @Test
+    void everySettingIsThreadCountIndependent() throws IOException {
+        String specs = specs(40, 12);
+        WordSelector dictionary = WordSelector.of(PlacementEngineTest.randomWords(3000, 3, 9, 13));
+        StringBuilder counted = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            counted.append(12 + i % 9).append(' ').append(15).append(' ').append(5 + i % 6).append('\n');
+        }
+
+        assertEquals(run(dense(1), specs), run(dense(4), specs));
+        assertEquals(run(new BatchGenerator(5, 1).setDictionary(dictionary), counted.toString()),
+                run(new BatchGenerator(5, 4).setDictionary(dictionary), counted.toString()));
+    }
+
+    @Test
+    void badSpecLinesReportTheirLineNumber() {
+        assertEquals("Line 3: expected 'rows cols word...'",
+                failure(new BatchGenerator(1, 2), "5 5 CAT\n\n5 5\n"));
+        assertEquals("Line 2: invalid grid size", failure(new BatchGenerator(1, 2), "# header\nfive 5 CAT\n"));
+        assertEquals("Line 1: expected 'rows cols word...'", failure(new BatchGenerator(1, 2), "0 5 CAT\n"));
+        assertEquals("Line 4: not a letter A-Z in word: ICE-CREAM",
+                failure(new BatchGenerator(1, 2), "5 5 CAT\n# skipped\n6 6 DOG\n8 8 TEA ICE-CREAM\n"));
+        assertEquals("Line 1: not a letter A-Z in word: CAFÉ", failure(new BatchGenerator(1, 2), "8 8 CAFÉ\n"));
+
+        BatchGenerator counted = new BatchGenerator(1, 2).setDictionary(WordSelector.of(List.of("CAT", "DOG")));
+        assertEquals("Line 2: expected 'rows cols count'", failure(counted, "5 5 2\n5 5 CAT\n"));
+        assertEquals("Line 1: expected 'rows cols count'", failure(counted, "5 5 0\n"));
+    }
+
+    @Test
+    void lowerCaseWordsAreWrittenInUpperCase() throws IOException {
+        String out = run(new BatchGenerator(3, 2), "6 6 cat Dog\n");
+
+        assertTrue(out.contains("\nCAT "), out);
+        assertTrue(out.contains("\nDOG "), out);
+    }
+
+    private static BatchGenerator dense(int threads) {
+        return new BatchGenerator(9, threads).setDense(true).setFillMode(Grid.FillMode.UNAMBIGUOUS)
+                .setDirections(Direction.parseSet("all"));
+    }
+
+    /**
+     * @return Spec lines for count puzzles of 8 to 20 rows and columns and up to a dozen words
+     */
+    private static String specs(int count, long seed) {
+        Random random = new Random(seed);
+        StringBuilder specs = new StringBuilder("# rows cols words\n");
+        for (int i = 0; i < count; i++) {
+            int size = 8 + random.nextInt(13);
+            specs.append(size).append(' ').append(size);
+            for (String word : PlacementEngineTest.randomWords(3 + random.nextInt(10), 3, 7, random.nextLong())) {
+                specs.append(' ').append(word);
+            }
+            specs.append(i % 10 == 0 ? "\n\n" : "\n");
+        }
+        return specs.toString();
+    }
+
+    private static String run(BatchGenerator generator, String specs) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.run(new BufferedReader(new StringReader(specs)), out);
+        return out.toString();
+    }
+
+    private static String failure(BatchGenerator generator, String specs) {
+        return assertThrows(IOException.class, () -> run(generator, specs)).getMessage();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CellIndexTest {
+
+    @Test
+    void listsThePlacementsCoveringEachCellInIdOrder() {
+        SharedPuzzle puzzle = densePuzzle(30, 21);
+        CellIndex index = CellIndex.of(puzzle);
+        boolean crossed = false;
+
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                List<Integer> covering = new ArrayList<>();
+                for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+                    if (covers(puzzle, id, row, col)) {
+                        covering.add(id);
+                    }
+                }
+                assertEquals(covering.size(), index.countAt(row, col), row + "," + col);
+                for (int k = 0; k < covering.size(); k++) {
+                    assertEquals(covering.get(k).intValue(), index.placementAt(row, col, k));
+                }
+                crossed |= covering.size() > 1;
+            }
+        }
+        assertTrue(crossed, "the packed puzzle has crossing words");
+        assertEquals(0, index.countAt(-1, 0));
+        assertEquals(0, index.countAt(0, puzzle.getCols()));
+    }
+
+    @Test
+    void resolvesADragFromEitherEndOfAWord() {
+        SharedPuzzle puzzle = densePuzzle(30, 22);
+        CellIndex index = CellIndex.of(puzzle);
+
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            int[] end = lastCell(puzzle, id);
+            int forward = index.resolve(puzzle.getRow(id), puzzle.getCol(id), end[0], end[1]);
+            int backward = index.resolve(end[0], end[1], puzzle.getRow(id), puzzle.getCol(id));
+            assertEquals(bruteForce(puzzle, puzzle.getRow(id), puzzle.getCol(id), end[0], end[1]), forward);
+            assertEquals(forward, backward);
+            assertEquals(puzzle.getWord(id), puzzle.getWord(forward));
+        }
+    }
+
+    @Test
+    void resolvesRandomDragsLikeABruteForceSearch() {
+        SharedPuzzle puzzle = densePuzzle(30, 23);
+        CellIndex index = CellIndex.of(puzzle);
+        Random random = new Random(5);
+        int hits = 0;
+
+        for (int i = 0; i < 20_000; i++) {
+            int startRow = random.nextInt(puzzle.getRows() + 2) - 1;
+            int startCol = random.nextInt(puzzle.getCols() + 2) - 1;
+            int endRow = startRow + random.nextInt(17) - 8;
+            int endCol = random.nextBoolean() ? startCol + (endRow - startRow) * (random.nextInt(3) - 1)
+                    : startCol + random.nextInt(17) - 8;
+            int expected = bruteForce(puzzle, startRow, startCol, endRow, endCol);
+            assertEquals(expected, index.resolve(startRow, startCol, endRow, endCol),
+                    startRow + "," + startCol + " to " + endRow + "," + endCol);
+            hits += expected >= 0 ? 1 : 0;
+        }
+        assertTrue(hits > 0);
+    }
+
+    @Test
+    void placementAtRejectsAnIndexPastTheCount() {
+        SharedPuzzle puzzle = densePuzzle(5, 24);
+        CellIndex index = CellIndex.of(puzzle);
+        int row = puzzle.getRow(0);
+        int col = puzzle.getCol(0);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> index.placementAt(row, col, index.countAt(row, col)));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.placementAt(row, col, -1));
+    }
+
+    /**
+     * @return The lowest placement id whose two end cells are the given cells, in either order, or -1
+     */
+    private static int bruteForce(SharedPuzzle puzzle, int startRow, int startCol, int endRow, int endCol) {
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            int[] end = lastCell(puzzle, id);
+            if ((puzzle.getRow(id) == startRow && puzzle.getCol(id) == startCol && end[0] == endRow && end[1] == endCol)
+                    || (end[0] == startRow && end[1] == startCol && puzzle.getRow(id) == endRow
+                    && puzzle.getCol(id) == endCol)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean covers(SharedPuzzle puzzle, int id, int row, int col) {
+        for (int k = 0; k < puzzle.getLength(id); k++) {
+            if (puzzle.getRow(id) + k * puzzle.getDirection(id).getRowStep() == row
+                    && puzzle.getCol(id) + k * puzzle.getDirection(id).getColStep() == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] lastCell(SharedPuzzle puzzle, int id) {
+        int steps = puzzle.getLength(id) - 1;
+        return new int[]{puzzle.getRow(id) + steps * puzzle.getDirection(id).getRowStep(),
+                puzzle.getCol(id) + steps * puzzle.getDirection(id).getColStep()};
+    }
+
+    /**
+     * @return A puzzle of random words in all eight directions, packed so many of them cross
+     */
+    private static SharedPuzzle densePuzzle(int count, long seed) {
+        Grid grid = DensePacker.packSmallest(PlacementEngineTest.randomWords(count, 2, 7, 5, seed), 1.0,
+                new Random(seed), 100_000, Direction.parseSet("all"));
+        grid.fillGridWithLetters();
+        return SharedPuzzle.of(grid);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandParserTest {
+
+    @Test
+    void parsesWordRowColumnAndDirection() {
+        assertEquals(new CommandParser.Command("apple", 1, 3, Direction.HORIZONTAL), CommandParser.parse("apple 1 d h"));
+        assertEquals(new CommandParser.Command("Pear", 12, 0, Direction.VERTICAL), CommandParser.parse("  Pear\t12  A   v \t"));
+        assertEquals(new CommandParser.Command("FIG", 0, 25, Direction.DIAGONAL), CommandParser.parse("FIG 0 z SE"));
+    }
+
+    @Test
+    void acceptsEveryDirectionSymbolAndCompassPoint() {
+        assertEquals(Direction.WEST, CommandParser.parse("fig 3 c w").direction());
+        assertEquals(Direction.NORTH, CommandParser.parse("fig 3 c N").direction());
+        assertEquals(Direction.NORTH_WEST, CommandParser.parse("fig 3 c nw").direction());
+        assertEquals(Direction.NORTH_EAST, CommandParser.parse("fig 3 c NE").direction());
+        assertEquals(Direction.SOUTH_WEST, CommandParser.parse("fig 3 c sw").direction());
+        assertEquals(Direction.HORIZONTAL, CommandParser.parse("fig 3 c E").direction());
+        assertEquals(Direction.VERTICAL, CommandParser.parse("fig 3 c s").direction());
+    }
+
+    @Test
+    void columnsPastZUseTwoOrMoreLetters() {
+        assertEquals(26, CommandParser.parse("a 0 aa h").col());
+        assertEquals(27, CommandParser.parse("a 0 AB h").col());
+        assertEquals(701, CommandParser.parse("a 0 zz h").col());
+        assertEquals(702, CommandParser.parse("a 0 aaa h").col());
+        for (int col = 0; col < 20_000; col += 7) {
+            assertEquals(col, CommandParser.parse("a 0 " + CommandParser.columnLabel(col) + " h").col());
+        }
+        assertEquals("a", CommandParser.columnLabel(0));
+        assertEquals("z", CommandParser.columnLabel(25));
+        assertEquals("aa", CommandParser.columnLabel(26));
+        assertEquals("zz", CommandParser.columnLabel(701));
+    }
+
+    @Test
+    void rejectsMalformedWords() {
+        assertRejected("", "Expected a word");
+        assertRejected("   ", "Expected a word");
+        assertRejected("12 1 a h", "Expected a word");
+        assertRejected("app1e 1 a h", "Expected a word");
+    }
+
+    @Test
+    void rejectsMalformedRows() {
+        assertRejected("apple", "Row must be a number");
+        assertRejected("apple a a h", "Row must be a number");
+        assertRejected("apple -1 a h", "Row must be a number");
+        assertRejected("apple 1x a h", "Row must be a number");
+        assertRejected("apple 99999999999 a h", "Row must be a number");
+    }
+
+    @Test
+    void rejectsMalformedColumns() {
+        assertRejected("apple 1", "Column must be letters");
+        assertRejected("apple 1 4 h", "Column must be letters");
+        assertRejected("apple 1 d4 h", "Column must be letters");
+        assertRejected("apple 1 é h", "Column must be letters");
+        assertRejected("apple 1 zzzzzzzzz h", "Column must be letters");
+    }
+
+    @Test
+    void rejectsMissingOrUnknownDirectionsAndTrailingText() {
+        assertRejected("apple 1 d", "Direction must be");
+        assertRejected("apple 1 d x", "Direction must be");
+        assertRejected("apple 1 d up", "Direction must be");
+        assertRejected("apple 1 d h now", "Unexpected text after the direction");
+    }
+
+    private static void assertRejected(String line, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CommandParser.parse(line));
+        assertTrue(e.getMessage().startsWith(message), line + " -> " + e.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DensePackerTest {
+
+    @Test
+    void wordsCrossWhereTheirLettersMatch() {
+        List<String> words = List.of("STONE", "NOTES", "ONSET", "TONES", "SETON", "STENO");
+        Grid grid = new Grid(6, 6, new Random(2));
+        DensePacker packer = new DensePacker(grid, new Random(2));
+
+        PlacementResult result = packer.place(words);
+
+        assertTrue(result.isPlaced(), result.describe());
+        assertEquals(words.size(), grid.getPlacements().size());
+        PlacementEngineTest.assertPlacementsSpelled(grid);
+        int used = 0;
+        for (byte letter : PlacementEngineTest.lettersOf(grid)) {
+            used += letter != Grid.EMPTY ? 1 : 0;
+        }
+        assertEquals(words.size() * 5 - packer.getSharedCells(), used);
+        assertTrue(packer.getSharedCells() > 0);
+    }
+
+    @Test
+    void keepsToTheGridsDirections() {
+        Grid grid = new Grid(20, 20, new Random(6));
+        grid.setDirections(EnumSet.of(Direction.WEST, Direction.NORTH_EAST));
+
+        assertTrue(new DensePacker(grid, new Random(6)).place(PlacementEngineTest.randomWords(60, 3, 8, 9)).isPlaced());
+        PlacementEngineTest.assertPlacementsSpelled(grid);
+    }
+
+    @Test
+    void failedSearchLeavesCrossedLettersAndEarlierWordsInPlace() {
+        // Only down-right diagonals: XYZ takes the main diagonal, leaving two slots of length 2 for three words
+        Grid grid = new Grid(3, 3, new Random(5));
+        grid.setDirections(EnumSet.of(Direction.DIAGONAL));
+        assertTrue(grid.newPlacementEngine().place(List.of("XYZ")).isPlaced());
+        byte[] before = PlacementEngineTest.lettersOf(grid);
+
+        PlacementResult result = new DensePacker(grid, new Random(5)).place(List.of("XY", "AB", "CD", "EF"));
+
+        assertEquals(PlacementResult.Status.UNPLACEABLE, result.status());
+        assertArrayEquals(before, PlacementEngineTest.lettersOf(grid));
+        assertEquals(1, grid.getPlacements().size());
+    }
+
+    @Test
+    void packSmallestFindsASquareNoLargerThanTheNonCrossingSize() {
+        List<String> words = PlacementEngineTest.randomWords(30, 3, 8, 4);
+        int letters = 0;
+        for (String word : words) {
+            letters += word.length();
+        }
+
+        Grid grid = DensePacker.packSmallest(words, 1.0, new Random(3), 200_000);
+
+        assertEquals(grid.getRows(), grid.getCols());
+        assertTrue(grid.getRows() <= Math.max(8, (int) Math.ceil(Math.sqrt(letters))), "side " + grid.getRows());
+        assertEquals(words.size(), grid.getPlacements().size());
+        PlacementEngineTest.assertPlacementsSpelled(grid);
+    }
+
+    @Test
+    void packSmallestRejectsADensityOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> DensePacker.packSmallest(List.of("A"), 0, new Random(), 10));
+        assertThrows(IllegalArgumentException.class, () -> DensePacker.packSmallest(List.of("A"), 1.5, new Random(), 10));
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameServerTest {
+
+    private GameServer server;
+    private SharedPuzzle puzzle;
+    private int port;
+
+    @BeforeEach
+    void start() throws IOException {
+        Grid grid = new Grid(10, 10, new Random(4));
+        assertTrue(grid.newPlacementEngine().place(List.of("APPLE", "PEAR", "PLUM")).isPlaced());
+        grid.fillGridWithLetters();
+        puzzle = SharedPuzzle.of(grid);
+        server = new GameServer(List.of(puzzle), 30, 2);
+        port = server.start(0);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void playsAMoveAndTakesItBack() throws IOException {
+        String id = request("POST", "/sessions", null).body().trim();
+        String move = puzzle.getWord(0) + " " + puzzle.getRow(0) + " " + puzzle.getCol(0) + " "
+                + puzzle.getDirection(0).getSymbol();
+
+        assertEquals(new Response(200, "FOUND remaining 2\n"), request("POST", "/sessions/" + id + "/moves", move));
+        assertEquals(new Response(200, "ALREADY_FOUND remaining 2\n"), request("POST", "/sessions/" + id + "/moves", move));
+        assertEquals(new Response(200, "UNDONE " + puzzle.getWord(0) + " remaining 3\n"),
+                request("POST", "/sessions/" + id + "/undo", ""));
+        assertEquals(400, request("POST", "/sessions/" + id + "/moves", "APPLE").status());
+    }
+
+    @Test
+    void rejectsAMoveWithAnUnknownDirection() throws IOException {
+        String id = request("POST", "/sessions", null).body().trim();
+        String at = puzzle.getWord(0) + " " + puzzle.getRow(0) + " " + puzzle.getCol(0) + " ";
+
+        assertEquals(new Response(400, "Unknown direction: Q\n"), request("POST", "/sessions/" + id + "/moves", at + "Q"));
+        assertEquals(new Response(200, "FOUND remaining 2\n"),
+                request("POST", "/sessions/" + id + "/moves", at + puzzle.getDirection(0).getSymbol()));
+    }
+
+    @Test
+    void rejectsNewSessionsWhenFullUntilOneEnds() throws IOException {
+        Response first = request("POST", "/sessions", null);
+        Response second = request("POST", "/sessions", null);
+        assertEquals(201, first.status());
+        assertEquals(201, second.status());
+
+        assertEquals(503, request("POST", "/sessions", null).status());
+        assertEquals(2, server.getSessionCount());
+
+        assertEquals(200, request("DELETE", "/sessions/" + first.body().trim(), null).status());
+        assertEquals(404, request("DELETE", "/sessions/" + first.body().trim(), null).status()); // frees nothing twice
+        assertEquals(201, request("POST", "/sessions", null).status());
+        assertEquals(503, request("POST", "/sessions", null).status());
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    private Response request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + path).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        String text = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        connection.disconnect();
+        return new Response(status, text);
+    }
+}
@@ -0,0 +1,472 @@
+package org.example.wordsearchgui;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.junit.jupiter.api.Test;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generates puzzles and plays each one to the end, checking the game's invariants after every
+ * step: every word inside the grid and spelled by its letters (so crossing words never
+ * conflict), only letters A-Z after the fill, and the found cells exactly the cells of the
+ * found words, through wrong moves, finds and undos.
+ *
+ * Every game places and fills a grid, then plays one wrong and one right move per word the
+ * way the GUI does (the typed line is parsed by {@link CommandParser} and submitted to a
+ * {@link GameSession}), taking every eighth word back and finding it again.
+ *
+ * The test plays a fixed list of seeded games of mixed sizes, densities, directions and fill
+ * modes, so every build checks the same games; {@code -Dwordsearch.soak.games=N} and
+ * {@code -Dwordsearch.soak.seed=S} play more or other ones. {@link #main} is the long-running
+ * load and soak test: the same games for minutes at a time, on several threads, reporting
+ * latency percentiles, GC pauses and heap growth.
+ *
+ * <pre>
+ * java -cp CLASSPATH org.example.wordsearchgui.GameSoakTest
+ *      [--minutes M] [--threads N] [--size N] [--density D] [--lengths MIN-MAX] [--directions SET]
+ *      [--fill RANDOM|UNAMBIGUOUS] [--rate GAMES_PER_SECOND] [--report SECONDS] [--max-growth MB] [--seed S]
+ * </pre>
+ *
+ * With --rate, games start on a fixed schedule and generation latency is measured from the
+ * scheduled start, so time spent behind schedule is counted instead of hidden. At the end the
+ * heap after a full collection is compared with the heap after the first report, so a leak
+ * shows up as steady growth.
+ */
+class GameSoakTest {
+
+    private static final int UNDO_EVERY = 8; // words taken back and found again
+    private static final List<Set<Direction>> DIRECTIONS = List.of(Direction.CLASSIC, Direction.parseSet("all"),
+            Direction.parseSet("W,N,NE"));
+
+    /**
+     * The kind of game to generate.
+     *
+     * @param size       Rows and columns of the grid
+     * @param density    Share of cells covered by word letters
+     * @param minLength  Shortest word
+     * @param maxLength  Longest word, capped to the grid size
+     * @param directions Directions words may run in
+     * @param fill       How the cells outside the words are filled
+     */
+    record Setup(int size, double density, int minLength, int maxLength, Set<Direction> directions,
+                 Grid.FillMode fill) {
+    }
+
+    /**
+     * Counts and latencies of the games played into it, guarded by itself.
+     */
+    static final class Latencies {
+        final LatencyHistogram generation = new LatencyHistogram();
+        final LatencyHistogram hit = new LatencyHistogram();
+        final LatencyHistogram miss = new LatencyHistogram();
+        final LatencyHistogram undo = new LatencyHistogram();
+        final LatencyHistogram gc = new LatencyHistogram();
+        long games;
+        long moves;
+        long unplaced; // grids whose words did not all fit, not played
+
+        synchronized void drainInto(Latencies totals) {
+            totals.add(this);
+            generation.reset();
+            hit.reset();
+            miss.reset();
+            undo.reset();
+            gc.reset();
+            games = 0;
+            moves = 0;
+            unplaced = 0;
+        }
+
+        void add(Latencies other) {
+            generation.add(other.generation);
+            hit.add(other.hit);
+            miss.add(other.miss);
+            undo.add(other.undo);
+            gc.add(other.gc);
+            games += other.games;
+            moves += other.moves;
+            unplaced += other.unplaced;
+        }
+    }
+
+    @Test
+    void seededGamesKeepTheirInvariantsThroughFindsAndUndos() {
+        Random seeds = new Random(Long.getLong("wordsearch.soak.seed", 42));
+        Latencies latencies = new Latencies();
+        for (int game = Integer.getInteger("wordsearch.soak.games", 40); game > 0; game--) {
+            long gameSeed = seeds.nextLong();
+            Random random = new Random(gameSeed);
+            int size = 10 + random.nextInt(50);
+            Setup setup = new Setup(size, 0.1 + 0.3 * random.nextDouble(), 3, 10,
+                    DIRECTIONS.get(random.nextInt(DIRECTIONS.size())),
+                    random.nextBoolean() ? Grid.FillMode.UNAMBIGUOUS : Grid.FillMode.RANDOM);
+            try {
+                play(setup, gameSeed, 0, latencies);
+            } catch (AssertionError e) {
+                throw new AssertionError("Game seed " + gameSeed + " (" + setup + "): " + e.getMessage(), e);
+            }
+        }
+        assertTrue(latencies.games > 0, "no game could be placed");
+        assertEquals(latencies.games + latencies.unplaced, latencies.generation.getCount());
+    }
+
+    /**
+     * Generates one game and plays it to the end, checking the invariants after every step.
+     *
+     * @param started The scheduled start of the game, or 0 to time from now
+     * @param into    Where the latencies and counts go
+     */
+    static void play(Setup setup, long gameSeed, long started, Latencies into) {
+        long begin = started != 0 ? started : System.nanoTime();
+        Random random = new Random(gameSeed);
+        int maxLength = Math.min(setup.maxLength(), setup.size());
+        int minLength = Math.min(setup.minLength(), maxLength);
+        int count = (int) Math.max(1, setup.size() * (long) setup.size() * setup.density() * 2 / (minLength + maxLength));
+        Grid grid = new Grid(setup.size(), setup.size(), random);
+        grid.setDirections(setup.directions());
+        grid.setWords(new ArrayList<>(PlacementEngineTest.randomWords(count, minLength, maxLength, random.nextLong())));
+        boolean placed = grid.placeWords().isPlaced();
+        if (placed) {
+            PlacementEngineTest.assertPlacementsSpelled(grid);
+            grid.fillGridWithLetters(setup.fill());
+        }
+        SharedPuzzle puzzle = placed ? SharedPuzzle.of(grid) : null;
+        long generated = System.nanoTime() - begin;
+        synchronized (into) {
+            into.generation.record(generated);
+            if (puzzle == null) {
+                into.unplaced++;
+                return;
+            }
+        }
+        assertPuzzle(puzzle);
+
+        GameSession session = new GameSession(puzzle);
+        int[] order = new int[puzzle.getPlacementCount()];
+        for (int id = 0; id < order.length; id++) {
+            int j = random.nextInt(id + 1); // inside-out shuffle
+            order[id] = order[j];
+            order[j] = id;
+        }
+        for (int k = 0; k < order.length; k++) {
+            int id = order[k];
+            // A wrong move first: the right word one column off. It can still name another
+            // placement of a repeated word, which is then found like any other.
+            int other = puzzle.find(puzzle.getWord(id), puzzle.getRow(id), puzzle.getCol(id) + 1, puzzle.getDirection(id));
+            boolean otherFound = other >= 0 && session.isPlacementFound(other);
+            long start = System.nanoTime();
+            GameSession.Outcome missed = submit(line(puzzle, id, puzzle.getCol(id) + 1), session);
+            long missTime = System.nanoTime() - start;
+            assertNotEquals(id, other);
+            assertEquals(other < 0 ? GameSession.Outcome.NOT_FOUND
+                    : otherFound ? GameSession.Outcome.ALREADY_FOUND : GameSession.Outcome.FOUND, missed);
+            assertFoundCells(puzzle, session);
+
+            boolean foundBefore = session.isPlacementFound(id);
+            start = System.nanoTime();
+            GameSession.Outcome hit = submit(line(puzzle, id, puzzle.getCol(id)), session);
+            long hitTime = System.nanoTime() - start;
+            assertEquals(foundBefore ? GameSession.Outcome.ALREADY_FOUND : GameSession.Outcome.FOUND, hit);
+            assertEquals(GameSession.Outcome.ALREADY_FOUND, submit(line(puzzle, id, puzzle.getCol(id)), session));
+            assertFoundCells(puzzle, session);
+
+            long undoTime = -1;
+            if (k % UNDO_EVERY == UNDO_EVERY - 1 && !foundBefore) {
+                start = System.nanoTime();
+                int undone = session.undo();
+                undoTime = System.nanoTime() - start;
+                assertEquals(id, undone);
+                assertTrue(!session.isPlacementFound(id));
+                assertFoundCells(puzzle, session);
+                assertTrue(session.markFound(id), puzzle.getWord(id) + " could not be found again after undo");
+                assertFoundCells(puzzle, session);
+            }
+            synchronized (into) {
+                into.miss.record(missTime);
+                into.hit.record(hitTime);
+                if (undoTime >= 0) {
+                    into.undo.record(undoTime);
+                }
+                into.moves += undoTime >= 0 ? 3 : 2;
+            }
+        }
+        assertTrue(session.isComplete());
+        assertEquals(0, session.getRemaining());
+        synchronized (into) {
+            into.games++;
+        }
+    }
+
+    /**
+     * @return The move as a player types it: lowercase word, row, column letters and direction symbol
+     */
+    private static String line(SharedPuzzle puzzle, int id, int col) {
+        return puzzle.getWord(id).toLowerCase(Locale.ROOT) + " " + puzzle.getRow(id) + " "
+                + CommandParser.columnLabel(col) + " " + puzzle.getDirection(id).getSymbol();
+    }
+
+    private static GameSession.Outcome submit(String line, GameSession session) {
+        CommandParser.Command move = CommandParser.parse(line);
+        return session.submit(move.word(), move.row(), move.col(), move.direction());
+    }
+
+    /**
+     * Checks that the filler left nothing but the letters A-Z.
+     */
+    private static void assertPuzzle(SharedPuzzle puzzle) {
+        for (int r = 0; r < puzzle.getRows(); r++) {
+            for (int c = 0; c < puzzle.getCols(); c++) {
+                char letter = puzzle.getLetter(r, c);
+                assertTrue(letter >= 'A' && letter <= 'Z', "cell " + r + "," + c + " holds " + (int) letter + " after the fill");
+            }
+        }
+    }
+
+    /**
+     * Checks that the found cells are exactly the cells of the found words: finding a word
+     * marks all its cells and nothing else, and undo clears only what no other found word covers.
+     */
+    private static void assertFoundCells(SharedPuzzle puzzle, GameSession session) {
+        int cols = puzzle.getCols();
+        BitSet expected = new BitSet(puzzle.getRows() * cols);
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            if (session.isPlacementFound(id)) {
+                Direction direction = puzzle.getDirection(id);
+                for (int k = 0; k < puzzle.getLength(id); k++) {
+                    expected.set((puzzle.getRow(id) + k * direction.getRowStep()) * cols
+                            + puzzle.getCol(id) + k * direction.getColStep());
+                }
+            }
+        }
+        for (int r = 0; r < puzzle.getRows(); r++) {
+            for (int c = 0; c < cols; c++) {
+                assertEquals(expected.get(r * cols + c), session.isFound(r, c), "found mark of cell " + r + "," + c);
+            }
+        }
+    }
+
+    /**
+     * The long-running soak test: one thread per worker plays games until the time is up or an
+     * invariant breaks, and the main thread reports every few seconds.
+     */
+    private static final class Soak {
+        private long durationNanos = 60_000_000_000L;
+        private int threads = 1;
+        private Setup setup = new Setup(100, 0.3, 3, 12, Direction.CLASSIC, Grid.FillMode.RANDOM);
+        private double rate; // games per second over all threads, 0 for as fast as possible
+        private long reportNanos = 10_000_000_000L;
+        private long maxGrowthBytes = 64L << 20;
+        private long seed = 42;
+
+        private volatile boolean running = true;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Latencies gcPauses = new Latencies(); // only its gc histogram is used
+
+        private void work(int index, Latencies into) {
+            Random seeds = new Random(seed + index);
+            long interval = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+            long scheduled = System.nanoTime();
+            try {
+                while (running) {
+                    if (interval > 0) {
+                        scheduled += interval;
+                        long wait = scheduled - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    long gameSeed = seeds.nextLong();
+                    try {
+                        play(setup, gameSeed, interval > 0 ? scheduled : 0, into);
+                    } catch (AssertionError e) {
+                        throw new AssertionError("Game seed " + gameSeed + " (" + setup + "): " + e.getMessage(), e);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                running = false;
+            }
+        }
+
+        /**
+         * Records the duration of every collection, as reported by the JVM when it ends.
+         */
+        private void watchCollections() {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener((notification, handback) -> {
+                        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                            GarbageCollectionNotificationInfo info =
+                                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                            synchronized (gcPauses) {
+                                gcPauses.gc.record(info.getGcInfo().getDuration() * 1_000_000L);
+                            }
+                        }
+                    }, null, null);
+                }
+            }
+        }
+
+        private Latencies collect(Latencies[] workers) {
+            Latencies interval = new Latencies();
+            for (Latencies worker : workers) {
+                worker.drainInto(interval);
+            }
+            gcPauses.drainInto(interval);
+            return interval;
+        }
+
+        /**
+         * Runs the workers until the time is up or an invariant breaks, reporting as it goes.
+         *
+         * @return True if every invariant held and the heap did not grow beyond the limit
+         */
+        private boolean run() throws InterruptedException {
+            System.out.printf("Soak test: %d thread(s), %s, %s, %d s%n", threads, setup,
+                    rate > 0 ? rate + " games/s" : "unthrottled", durationNanos / 1_000_000_000L);
+            System.out.println("  latencies are p50 / p99 / p99.9 / max");
+            watchCollections();
+            Latencies[] workers = new Latencies[threads];
+            Thread[] workerThreads = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                workers[i] = new Latencies();
+                workerThreads[i] = new Thread(() -> work(index, workers[index]), "soak-" + i);
+                workerThreads[i].setDaemon(true);
+                workerThreads[i].start();
+            }
+
+            Latencies all = new Latencies();
+            long begin = System.nanoTime();
+            long deadline = begin + durationNanos;
+            long baseline = -1; // live heap once warmed up
+            while (running && System.nanoTime() < deadline) {
+                long next = Math.min(deadline, System.nanoTime() + reportNanos);
+                while (running && System.nanoTime() < next) {
+                    LockSupport.parkNanos(Math.min(next - System.nanoTime(), 100_000_000L));
+                }
+                Latencies interval = collect(workers);
+                all.add(interval);
+                long seconds = (System.nanoTime() - begin) / 1_000_000_000L;
+                System.out.printf("%5d s  %d games  %d moves  %d unplaced%n", seconds, interval.games, interval.moves,
+                        interval.unplaced);
+                System.out.println("        generate " + interval.generation.describe());
+                System.out.println("        move     " + interval.hit.describe() + "  (wrong " + interval.miss.describe()
+                        + ", undo " + interval.undo.describe() + ")");
+                System.out.printf("        gc       %d collections, max %s  heap after gc %.1f MB%n",
+                        interval.gc.getCount(), LatencyHistogram.format(interval.gc.getMax()), heapAfterGc() / 1e6);
+                if (baseline < 0) {
+                    baseline = liveHeap();
+                }
+            }
+            running = false;
+            for (Thread thread : workerThreads) {
+                thread.join();
+            }
+            all.add(collect(workers));
+
+            Throwable failed = failure.get();
+            if (failed != null) {
+                System.out.println("FAILED: " + failed.getMessage());
+                failed.printStackTrace(System.out);
+                return false;
+            }
+            long live = liveHeap();
+            long growth = baseline < 0 ? 0 : live - baseline;
+            System.out.println("Total: " + all.games + " games, " + all.moves + " moves, " + all.unplaced + " unplaced");
+            System.out.println("  generate " + all.generation.describe());
+            System.out.println("  move     " + all.hit.describe());
+            System.out.println("  wrong    " + all.miss.describe());
+            System.out.println("  undo     " + all.undo.describe());
+            System.out.println("  gc       " + all.gc.getCount() + " collections, " + all.gc.describe());
+            System.out.printf("  live heap %.1f MB, %+.1f MB since warm-up%n", live / 1e6, growth / 1e6);
+            if (growth > maxGrowthBytes) {
+                System.out.printf("FAILED: heap grew by more than %d MB%n", maxGrowthBytes >> 20);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return Bytes of heap in use right after the last collection of each pool
+     */
+    private static long heapAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return Bytes of heap in use after a full collection
+     */
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Soak soak = new Soak();
+        Setup s = soak.setup;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--minutes" -> soak.durationNanos = (long) (Double.parseDouble(args[++i]) * 60e9);
+                    case "--threads" -> soak.threads = Integer.parseInt(args[++i]);
+                    case "--size" -> s = new Setup(Integer.parseInt(args[++i]), s.density(), s.minLength(),
+                            s.maxLength(), s.directions(), s.fill());
+                    case "--density" -> s = new Setup(s.size(), Double.parseDouble(args[++i]), s.minLength(),
+                            s.maxLength(), s.directions(), s.fill());
+                    case "--lengths" -> {
+                        String[] range = args[++i].split("-", 2);
+                        s = new Setup(s.size(), s.density(), Integer.parseInt(range[0]),
+                                Integer.parseInt(range[range.length - 1]), s.directions(), s.fill());
+                    }
+                    case "--directions" -> s = new Setup(s.size(), s.density(), s.minLength(), s.maxLength(),
+                            Direction.parseSet(args[++i]), s.fill());
+                    case "--fill" -> s = new Setup(s.size(), s.density(), s.minLength(), s.maxLength(),
+                            s.directions(), Grid.FillMode.valueOf(args[++i]));
+                    case "--rate" -> soak.rate = Double.parseDouble(args[++i]);
+                    case "--report" -> soak.reportNanos = (long) (Double.parseDouble(args[++i]) * 1e9);
+                    case "--max-growth" -> soak.maxGrowthBytes = Long.parseLong(args[++i]) << 20;
+                    case "--seed" -> soak.seed = Long.parseLong(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (s.size() <= 0 || s.minLength() <= 0 || s.minLength() > s.maxLength() || soak.threads <= 0) {
+                throw new IllegalArgumentException("Size, lengths and threads must be positive");
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: GameSoakTest [--minutes M] [--threads N] [--size N] [--density D]"
+                    + " [--lengths MIN-MAX] [--directions SET] [--fill RANDOM|UNAMBIGUOUS] [--rate GAMES_PER_SECOND]"
+                    + " [--report SECONDS] [--max-growth MB] [--seed S]");
+            System.exit(2);
+        }
+        soak.setup = s;
+        System.exit(soak.run() ? 0 : 1);
+    }
+}
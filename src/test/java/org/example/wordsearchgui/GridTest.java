@@ -0,0 +1,86 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridTest {
+
+    @Test
+    void unambiguousFillSpellsEveryWordOnlyAtItsPlacement() {
+        int clean = 0;
+        int words = 0;
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            Grid grid = shortWordGrid(random);
+            WordSolver solver = new WordSolver(placedWords(grid)).setDirections(grid.getDirections());
+            // Copies the placed words make among themselves, e.g. one word inside another, are
+            // not the filler's doing; every other copy is
+            Set<WordSolver.Match> beforeFill = new HashSet<>(solver.solve(grid));
+
+            assertEquals(0, grid.fillGridWithLetters(Grid.FillMode.UNAMBIGUOUS), "seed " + seed);
+
+            List<WordSolver.Match> afterFill = solver.solve(grid);
+            assertEquals(beforeFill, new HashSet<>(afterFill), "seed " + seed);
+            assertEquals(beforeFill.size(), afterFill.size(), "seed " + seed);
+            PlacementIndex placements = grid.getPlacements();
+            for (int id = 0; id < placements.size(); id++) {
+                WordSolver.Match placed = new WordSolver.Match(placements.getWord(id), placements.getRow(id),
+                        placements.getCol(id), placements.getDirection(id));
+                List<WordSolver.Match> copies = afterFill.stream().filter(m -> m.word().equals(placed.word())).toList();
+                assertTrue(copies.contains(placed), placed + " is not found at its placement, seed " + seed);
+                words++;
+                if (copies.size() == 1) {
+                    clean++;
+                }
+            }
+        }
+        // About half the words have no copy among the placed words, and are then found exactly once
+        assertTrue(clean > words / 3, clean + " of " + words + " words found exactly once");
+    }
+
+    @Test
+    void randomFillDoesRepeatShortWords() {
+        // The check above means something: the same grids filled at random do spell extra copies
+        int repeated = 0;
+        for (long seed = 0; seed < 300; seed++) {
+            Grid grid = shortWordGrid(new Random(seed));
+            WordSolver solver = new WordSolver(placedWords(grid)).setDirections(grid.getDirections());
+            int beforeFill = solver.solve(grid).size();
+            grid.fillGridWithLetters(Grid.FillMode.RANDOM);
+            repeated += solver.solve(grid).size() > beforeFill ? 1 : 0;
+        }
+        assertTrue(repeated > 100, repeated + " grids with extra copies");
+    }
+
+    /**
+     * @return A placed but unfilled grid of two- to four-letter words over a three- or
+     *         four-letter alphabet, so many words cross and the filler has much to avoid
+     */
+    private static Grid shortWordGrid(Random random) {
+        int size = 6 + random.nextInt(15);
+        Grid grid = new Grid(size, size, random);
+        grid.setDirections(random.nextBoolean() ? Direction.CLASSIC : Direction.parseSet("all"));
+        // Distinct words, so a repeated word does not count as a copy of itself
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(PlacementEngineTest.randomWords(size, 2, 4,
+                3 + random.nextInt(2), random.nextLong())));
+        assertTrue(grid.newPlacementEngine().place(words).isPlaced());
+        return grid;
+    }
+
+    private static List<String> placedWords(Grid grid) {
+        List<String> words = new ArrayList<>();
+        for (int id = 0; id < grid.getPlacements().size(); id++) {
+            words.add(grid.getPlacements().getWord(id));
+        }
+        return words;
+    }
+}
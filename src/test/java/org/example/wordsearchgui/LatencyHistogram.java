@@ -0,0 +1,109 @@
+package org.example.wordsearchgui;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, for percentiles over runs of any length.
+ *
+ * Values below 2^SUB_BITS are counted exactly; above, each power of two is split into
+ * 2^SUB_BITS buckets, so a reported percentile is within 1/2^SUB_BITS (about 3%) of the
+ * true value. Recording is a few shifts and an array increment, with no allocation, so it
+ * does not disturb the latencies or the garbage it measures. Not thread-safe: each thread
+ * records into its own histogram and they are merged with {@link #add}.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS + 1) * SUB_COUNT];
+    private long total;
+    private long max;
+
+    /**
+     * @param nanos A latency; negative values count as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    long getCount() {
+        return total;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * @param quantile The share of values at or below the result, e.g. 0.99
+     * @return The upper bound of the bucket holding that value, capped at the maximum; 0 when empty
+     */
+    long percentile(double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return "p50 / p99 / p99.9 / max" in the most readable unit
+     */
+    String describe() {
+        return format(percentile(0.5)) + " / " + format(percentile(0.99)) + " / "
+                + format(percentile(0.999)) + " / " + format(max);
+    }
+
+    static String format(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 10_000_000) {
+            return String.format("%.1f us", nanos / 1e3);
+        }
+        return String.format("%.1f ms", nanos / 1e6);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1; // 1 for [SUB_COUNT, 2 * SUB_COUNT)
+        int sub = (int) (value >>> (exponent - 1)) & (SUB_COUNT - 1);
+        return exponent * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        int exponent = bucket / SUB_COUNT;
+        long sub = bucket % SUB_COUNT;
+        if (exponent == 0) {
+            return sub;
+        }
+        return ((SUB_COUNT + sub + 1) << (exponent - 1)) - 1;
+    }
+}
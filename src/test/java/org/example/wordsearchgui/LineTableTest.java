@@ -0,0 +1,93 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineTableTest {
+
+    private static final int[][] SIZES = {{1, 1}, {1, 7}, {6, 1}, {2, 2}, {3, 8}, {9, 4}, {13, 13}, {17, 30}};
+
+    @Test
+    void roomMatchesABruteForceWalk() {
+        for (int[] size : SIZES) {
+            int rows = size[0];
+            int cols = size[1];
+            LineTable table = new LineTable(rows, cols);
+            for (Direction direction : Direction.values()) {
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        int room = walk(rows, cols, row, col, direction);
+                        String where = rows + "x" + cols + " " + direction + " at " + row + "," + col;
+                        assertEquals(room, table.room(row * cols + col, direction), where);
+                        assertTrue(table.fits(row, col, direction, room), where);
+                        assertTrue(!table.fits(row, col, direction, room + 1), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void linesCoverEveryCellOnceWithMatchingLineAndOffset() {
+        for (int[] size : SIZES) {
+            int rows = size[0];
+            int cols = size[1];
+            LineTable table = new LineTable(rows, cols);
+            for (Direction direction : Direction.values()) {
+                int[] seen = new int[rows * cols];
+                for (int line = 0; line < table.lineCount(direction); line++) {
+                    int start = table.lineStart(direction, line);
+                    int length = table.lineLength(direction, line);
+                    String where = rows + "x" + cols + " " + direction + " line " + line;
+                    // A line starts where stepping back leaves the grid and runs until stepping on does
+                    assertEquals(length, walk(rows, cols, start / cols, start % cols, direction), where);
+                    assertEquals(0, walk(rows, cols, start / cols - direction.getRowStep(),
+                            start % cols - direction.getColStep(), direction), where);
+                    int row = start / cols;
+                    int col = start % cols;
+                    for (int i = 0; i < length; i++, row += direction.getRowStep(), col += direction.getColStep()) {
+                        int cell = row * cols + col;
+                        assertEquals(start + i * table.step(direction), cell, where);
+                        assertEquals(line, table.lineOf(cell, direction), where);
+                        assertEquals(i, table.offsetOf(cell, direction), where);
+                        seen[cell]++;
+                    }
+                }
+                for (int cell = 0; cell < seen.length; cell++) {
+                    assertEquals(1, seen[cell], rows + "x" + cols + " " + direction + " cell " + cell);
+                }
+            }
+        }
+    }
+
+    @Test
+    void oppositeDirectionsShareTheirLines() {
+        LineTable table = new LineTable(7, 11);
+        Direction[][] opposites = {{Direction.HORIZONTAL, Direction.WEST}, {Direction.VERTICAL, Direction.NORTH},
+                {Direction.DIAGONAL, Direction.NORTH_WEST}, {Direction.NORTH_EAST, Direction.SOUTH_WEST}};
+        for (Direction[] pair : opposites) {
+            assertEquals(table.lineCount(pair[0]), table.lineCount(pair[1]));
+            assertEquals(-table.step(pair[0]), table.step(pair[1]));
+            for (int cell = 0; cell < 77; cell++) {
+                assertEquals(table.lineOf(cell, pair[0]), table.lineOf(cell, pair[1]));
+                assertEquals(table.room(cell, pair[0]) + table.room(cell, pair[1]) - 1,
+                        table.lineLength(pair[0], table.lineOf(cell, pair[0])));
+            }
+        }
+    }
+
+    /**
+     * @return Number of cells from (row, col) to the edge of the grid in the direction, 0 if outside
+     */
+    private static int walk(int rows, int cols, int row, int col, Direction direction) {
+        int count = 0;
+        while (row >= 0 && col >= 0 && row < rows && col < cols) {
+            count++;
+            row += direction.getRowStep();
+            col += direction.getColStep();
+        }
+        return count;
+    }
+}
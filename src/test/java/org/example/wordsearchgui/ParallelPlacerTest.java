@@ -0,0 +1,79 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelPlacerTest {
+
+    @Test
+    void everyTileUsesTheGridsDirections() {
+        Set<Direction> enabled = EnumSet.of(Direction.NORTH, Direction.WEST);
+        Grid grid = new Grid(300, 260, new Random(1));
+        grid.setDirections(enabled);
+        List<String> words = PlacementEngineTest.randomWords(2000, 3, 8, 11);
+
+        PlacementResult result = new ParallelPlacer(grid, 42).setTileSize(64).place(words);
+
+        assertTrue(result.isPlaced(), result.describe());
+        assertEquals(words.size(), grid.getPlacements().size());
+        for (int id = 0; id < grid.getPlacements().size(); id++) {
+            Direction direction = grid.getPlacements().getDirection(id);
+            assertTrue(enabled.contains(direction), grid.getPlacements().getWord(id) + " runs " + direction);
+        }
+        PlacementEngineTest.assertPlacementsSpelled(grid);
+    }
+
+    @Test
+    void resultDoesNotDependOnTheNumberOfThreads() {
+        List<String> words = PlacementEngineTest.randomWords(1500, 3, 8, 12);
+        Grid pooled = new Grid(256, 256);
+        Grid single = new Grid(256, 256);
+        pooled.setDirections(Direction.parseSet("all"));
+        single.setDirections(Direction.parseSet("all"));
+
+        assertTrue(new ParallelPlacer(pooled, 7).setTileSize(64).place(words).isPlaced());
+        assertTrue(new ParallelPlacer(single, 7, Runnable::run).setTileSize(64).place(words).isPlaced());
+
+        assertArrayEquals(PlacementEngineTest.lettersOf(pooled), PlacementEngineTest.lettersOf(single));
+    }
+
+    @Test
+    void failedSeamPassLeavesTheGridEmpty() {
+        Grid grid = new Grid(8, 8, new Random(1));
+        List<String> words = new ArrayList<>(PlacementEngineTest.randomWords(20, 3, 8, 13));
+        words.add("ABCDEFGHIJ"); // longer than every line
+
+        PlacementResult result = new ParallelPlacer(grid, 3).setTileSize(4).place(words);
+
+        assertTrue(!result.isPlaced());
+        assertEquals(0, grid.getPlacements().size());
+    }
+
+    @Test
+    void placeWordsIsSequentialUnlessParallelModeIsSet() {
+        ArrayList<String> words = new ArrayList<>(PlacementEngineTest.randomWords(40, 3, 8, 5));
+        Grid sequential = new Grid(60, 60, new Random(8));
+        Grid engine = new Grid(60, 60, new Random(8));
+        Grid parallel = new Grid(60, 60, new Random(8));
+        sequential.setWords(words);
+        parallel.setWords(words);
+        parallel.setParallel(true);
+
+        assertTrue(sequential.placeWords().isPlaced());
+        assertTrue(engine.newPlacementEngine().place(words).isPlaced());
+        assertTrue(parallel.placeWords().isPlaced());
+
+        assertArrayEquals(PlacementEngineTest.lettersOf(engine), PlacementEngineTest.lettersOf(sequential));
+        assertEquals(words.size(), parallel.getPlacements().size());
+        PlacementEngineTest.assertPlacementsSpelled(parallel);
+    }
+}
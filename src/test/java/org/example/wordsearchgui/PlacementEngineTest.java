@@ -0,0 +1,202 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlacementEngineTest {
+
+    private static final List<String> WORDS = List.of("apple", "banana", "cherry", "date", "eggfruit",
+            "fig", "grape", "honeydew", "kiwi", "lemon");
+
+    @Test
+    void placesEveryWordInsideTheGridAndSpelledByItsCells() {
+        Grid grid = new Grid(15, 15, new Random(1));
+        PlacementResult result = grid.newPlacementEngine().place(WORDS);
+
+        assertEquals(PlacementResult.Status.PLACED, result.status());
+        assertNull(result.word());
+        assertPlacementsSpelled(grid);
+        assertEquals(WORDS.size(), grid.getPlacements().size());
+    }
+
+    @Test
+    void sameSeedGivesSameLayout() {
+        Grid first = new Grid(15, 15, new Random(7));
+        Grid second = new Grid(15, 15, new Random(7));
+        first.newPlacementEngine().place(WORDS);
+        second.newPlacementEngine().place(WORDS);
+
+        assertArrayEquals(lettersOf(first), lettersOf(second));
+    }
+
+    @Test
+    void mostConstrainedOrderingFillsAnExactFit() {
+        Grid grid = new Grid(4, 4, new Random(3));
+        PlacementResult result = grid.newPlacementEngine().setOrdering(PlacementEngine.Ordering.MOST_CONSTRAINED)
+                .place(List.of("ABCD", "EFGH", "IJKL", "MNOP"));
+
+        assertEquals(PlacementResult.Status.PLACED, result.status());
+        assertPlacementsSpelled(grid);
+        for (byte letter : lettersOf(grid)) {
+            assertTrue(letter != Grid.EMPTY, "every cell is used");
+        }
+    }
+
+    @Test
+    void exhaustedSearchLeavesTheGridAsItWas() {
+        // Only down-right diagonals: once XYZ takes the main diagonal, two slots of length 2 are left for three words
+        Grid grid = new Grid(3, 3, new Random(5));
+        grid.setDirections(EnumSet.of(Direction.DIAGONAL));
+        assertTrue(grid.newPlacementEngine().place(List.of("XYZ")).isPlaced());
+        byte[] before = lettersOf(grid);
+
+        PlacementResult result = grid.newPlacementEngine().place(List.of("AB", "CD", "EF"));
+
+        assertEquals(PlacementResult.Status.UNPLACEABLE, result.status());
+        assertTrue(List.of("AB", "CD", "EF").contains(result.word()));
+        assertArrayEquals(before, lettersOf(grid));
+        assertEquals(1, grid.getPlacements().size());
+        assertEquals("XYZ", grid.getPlacements().getWord(0));
+    }
+
+    @Test
+    void exhaustedBudgetRollsBackTheWordsAlreadyPlaced() {
+        Grid grid = new Grid(10, 10, new Random(9));
+        assertTrue(grid.newPlacementEngine().place(List.of("KEEP")).isPlaced());
+        byte[] before = lettersOf(grid);
+
+        PlacementResult result = grid.newPlacementEngine().setMaxAttempts(3).place(WORDS);
+
+        assertEquals(PlacementResult.Status.BUDGET_EXHAUSTED, result.status());
+        assertArrayEquals(before, lettersOf(grid));
+        assertEquals(1, grid.getPlacements().size());
+    }
+
+    @Test
+    void tooManyLettersBlamesNoWord() {
+        Grid grid = new Grid(2, 2, new Random(1));
+        PlacementResult result = grid.newPlacementEngine().place(List.of("AB", "CD", "EF"));
+
+        assertEquals(PlacementResult.Status.TOO_MANY_LETTERS, result.status());
+        assertNull(result.word());
+        assertEquals(0, result.attempts());
+        assertEquals(0, grid.getPlacements().size());
+    }
+
+    @Test
+    void wordLongerThanEveryLineIsReported() {
+        Grid grid = new Grid(4, 6, new Random(1));
+        PlacementResult result = grid.newPlacementEngine().place(List.of("ANT", "ELEPHANT"));
+
+        assertEquals(PlacementResult.Status.UNPLACEABLE, result.status());
+        assertEquals("ELEPHANT", result.word());
+        assertEquals(0, grid.getPlacements().size());
+    }
+
+    @Test
+    void wordsAreUpperCasedTheSameInEveryLocale() {
+        Locale before = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR")); // where "list".toUpperCase() gets a dotted capital I
+        try {
+            Grid grid = new Grid(6, 6, new Random(1));
+            assertTrue(grid.newPlacementEngine().place(List.of("list", "kiwi")).isPlaced());
+            assertPlacementsSpelled(grid);
+            assertEquals(1, grid.getPlacements().idsOf("LIST").length);
+            Grid dense = new Grid(6, 6, new Random(1));
+            assertTrue(new DensePacker(dense, new Random(1)).place(List.of("list", "kiwi")).isPlaced());
+            assertEquals(1, dense.getPlacements().idsOf("KIWI").length);
+        } finally {
+            Locale.setDefault(before);
+        }
+    }
+
+    @Test
+    void wordsWithCharactersOutsideAToZAreRejected() {
+        for (String word : List.of("ICE-CREAM", "CAF\u00C9", "l\u0131st", "A1")) {
+            Grid grid = new Grid(12, 12, new Random(1));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> grid.newPlacementEngine().place(List.of("APPLE", word)));
+            assertTrue(e.getMessage().contains(word), e.getMessage());
+            assertEquals(0, grid.getPlacements().size());
+            assertThrows(IllegalArgumentException.class, () -> new DensePacker(grid, new Random(1)).place(List.of(word)));
+            grid.setParallel(true);
+            grid.setWords(new ArrayList<>(List.of("APPLE", word)));
+            assertThrows(IllegalArgumentException.class, grid::placeWords);
+        }
+    }
+
+    @Test
+    void placeWordsUsesTheWordList() {
+        Grid grid = new Grid(12, 12, new Random(2));
+        grid.setWords(new ArrayList<>(WORDS.subList(0, 5)));
+
+        assertTrue(grid.placeWords().isPlaced());
+        assertEquals(5, grid.getPlacements().size());
+        assertPlacementsSpelled(grid);
+    }
+
+    /**
+     * Checks that every placement lies inside the grid, uses an enabled direction and is spelled
+     * by the letters in its cells, so crossing words never disagree on a letter.
+     */
+    static void assertPlacementsSpelled(Grid grid) {
+        PlacementIndex placements = grid.getPlacements();
+        for (int id = 0; id < placements.size(); id++) {
+            String word = placements.getWord(id);
+            Direction direction = placements.getDirection(id);
+            int lastRow = placements.getRow(id) + (word.length() - 1) * direction.getRowStep();
+            int lastCol = placements.getCol(id) + (word.length() - 1) * direction.getColStep();
+            assertTrue(placements.getRow(id) >= 0 && placements.getRow(id) < grid.getRows()
+                    && lastRow >= 0 && lastRow < grid.getRows(), word + " rows out of bounds");
+            assertTrue(placements.getCol(id) >= 0 && placements.getCol(id) < grid.getCols()
+                    && lastCol >= 0 && lastCol < grid.getCols(), word + " columns out of bounds");
+            assertTrue(grid.getDirections().contains(direction), word + " runs " + direction + ", not enabled");
+            assertTrue(grid.spells(word, placements.getRow(id), placements.getCol(id), direction),
+                    word + " is not spelled by its cells");
+        }
+    }
+
+    static byte[] lettersOf(Grid grid) {
+        ByteBuffer letters = grid.getLetters();
+        byte[] copy = new byte[letters.remaining()];
+        letters.get(copy);
+        return copy;
+    }
+
+    /**
+     * @return Random uppercase words with lengths in [minLength, maxLength], the same for the same seed
+     */
+    static List<String> randomWords(int count, int minLength, int maxLength, long seed) {
+        return randomWords(count, minLength, maxLength, 26, seed);
+    }
+
+    /**
+     * @param letters Number of letters of the alphabet to draw from, from A; few letters make
+     *                words share prefixes and cross each other often
+     * @return Random uppercase words with lengths in [minLength, maxLength], in a modifiable list
+     */
+    static List<String> randomWords(int count, int minLength, int maxLength, int letters, long seed) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>(count);
+        for (int w = 0; w < count; w++) {
+            char[] word = new char[minLength + random.nextInt(maxLength - minLength + 1)];
+            for (int i = 0; i < word.length; i++) {
+                word[i] = (char) ('A' + random.nextInt(letters));
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PlacementIndexTest {
+
+    @Test
+    void packRoundTripsLargeCoordinatesAndEveryDirection() {
+        int big = (1 << 28) - 1;
+        for (Direction direction : Direction.values()) {
+            long packed = PlacementIndex.pack(big, 123_456, direction);
+            assertEquals(big, PlacementIndex.unpackRow(packed));
+            assertEquals(123_456, PlacementIndex.unpackCol(packed));
+            assertEquals(direction, PlacementIndex.unpackDirection(packed));
+        }
+    }
+
+    @Test
+    void findsPlacementsCaseInsensitively() {
+        PlacementIndex index = new PlacementIndex();
+        int apple = index.add(" apple ", 1, 3, Direction.HORIZONTAL);
+        int pear = index.add("Pear", 4, 0, Direction.VERTICAL);
+
+        assertEquals(apple, index.find("APPLE", 1, 3, Direction.HORIZONTAL));
+        assertEquals(pear, index.find("pear", 4, 0, Direction.VERTICAL));
+        assertEquals("APPLE", index.getWord(apple));
+        assertEquals(5, index.getLength(apple));
+        assertEquals(-1, index.find("apple", 1, 3, Direction.VERTICAL));
+        assertEquals(-1, index.find("apple", 1, 4, Direction.HORIZONTAL));
+        assertEquals(-1, index.find("plum", 1, 3, Direction.HORIZONTAL));
+        assertEquals(-1, index.find("apple", 1, 3, null));
+    }
+
+    @Test
+    void keepsEveryPlacementOfARepeatedWordInOrder() {
+        PlacementIndex index = new PlacementIndex();
+        for (int i = 0; i < 40; i++) { // past the initial capacity
+            index.add(i % 2 == 0 ? "FIG" : "KIWI", i, i, Direction.DIAGONAL);
+        }
+
+        assertEquals(40, index.size());
+        int[] figs = index.idsOf("fig");
+        assertEquals(20, figs.length);
+        for (int i = 0; i < figs.length; i++) {
+            assertEquals(2 * i, figs[i]);
+            assertEquals(2 * i, index.getRow(figs[i]));
+        }
+        assertEquals(38, index.find("FIG", 38, 38, Direction.DIAGONAL));
+    }
+
+    @Test
+    void removeLastUndoesTheMostRecentAdd() {
+        PlacementIndex index = new PlacementIndex();
+        index.add("FIG", 0, 0, Direction.HORIZONTAL);
+        index.add("FIG", 2, 0, Direction.HORIZONTAL);
+        index.add("LIME", 3, 0, Direction.HORIZONTAL);
+
+        assertEquals(2, index.removeLast());
+        assertArrayEquals(new int[0], index.idsOf("LIME"));
+        assertEquals(1, index.removeLast());
+        assertArrayEquals(new int[]{0}, index.idsOf("FIG"));
+        assertEquals(-1, index.find("FIG", 2, 0, Direction.HORIZONTAL));
+        assertNull(index.getWord(1));
+
+        assertEquals(1, index.add("PLUM", 5, 5, Direction.VERTICAL));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        PlacementIndex index = new PlacementIndex();
+        index.add("FIG", 0, 0, Direction.HORIZONTAL);
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertArrayEquals(new int[0], index.idsOf("FIG"));
+        assertThrows(IllegalStateException.class, index::removeLast);
+    }
+}
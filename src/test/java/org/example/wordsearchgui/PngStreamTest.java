@@ -0,0 +1,56 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PngStreamTest {
+
+    @Test
+    void decodesToTheRowsWritten() throws IOException {
+        // Wide enough that the compressed pixels span several IDAT chunks
+        int width = 700;
+        int height = 300;
+        byte[] pixels = new byte[width * height];
+        new Random(3).nextBytes(pixels);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (PngStream png = new PngStream(out, width, height)) {
+            for (int y = 0; y < height; y++) {
+                png.writeRow(pixels, y * width);
+            }
+            png.finish();
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(pixels[y * width + x] & 0xFF, image.getRaster().getSample(x, y, 0), x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void rejectsTheWrongNumberOfRows() throws IOException {
+        byte[] row = new byte[4];
+        try (PngStream png = new PngStream(OutputStream.nullOutputStream(), 4, 2)) {
+            png.writeRow(row, 0);
+            assertThrows(IllegalStateException.class, png::finish);
+            png.writeRow(row, 0);
+            assertThrows(IllegalStateException.class, () -> png.writeRow(row, 0));
+            png.finish();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PngStream(OutputStream.nullOutputStream(), 0, 1));
+    }
+}
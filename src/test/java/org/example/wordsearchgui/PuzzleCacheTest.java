@@ -0,0 +1,154 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private final Function<PuzzleCache.Key, SharedPuzzle> generator = key -> {
+        generated.incrementAndGet();
+        Grid grid = new Grid(key.getRows(), key.getCols(), new Random(key.getSeed()));
+        assertTrue(grid.newPlacementEngine().place(key.getWords()).isPlaced());
+        grid.fillGridWithLetters();
+        return SharedPuzzle.of(grid);
+    };
+
+    @Test
+    void keysDependOnEverythingThatDecidesThePuzzle() {
+        PuzzleCache.Key key = key(List.of("apple", " Pear "), 1);
+
+        assertEquals(key, key(List.of("APPLE", "PEAR"), 1));
+        assertEquals(key.hashCode(), key(List.of("APPLE", "PEAR"), 1).hashCode());
+        assertEquals(List.of("APPLE", "PEAR"), key.getWords());
+        assertEquals(32, key.getId().length());
+        assertNotEquals(key, key(List.of("PEAR", "APPLE"), 1));
+        assertNotEquals(key, key(List.of("APPLE", "PEAR"), 2));
+        assertNotEquals(key, PuzzleCache.Key.of(10, 11, List.of("APPLE", "PEAR"), 1, "classic"));
+        assertNotEquals(key, PuzzleCache.Key.of(10, 10, List.of("APPLE", "PEAR"), 1, "all"));
+        // Words are length-prefixed, so moving a letter across a word boundary changes the key
+        assertNotEquals(key(List.of("AB", "C"), 1), key(List.of("A", "BC"), 1));
+    }
+
+    @Test
+    void servesARepeatedSpecFromMemory() {
+        PuzzleCache cache = new PuzzleCache(PuzzleCache.DEFAULT_MAX_BYTES);
+        PuzzleCache.Key key = key(List.of("APPLE", "PEAR"), 1);
+
+        SharedPuzzle first = cache.get(key, generator);
+        SharedPuzzle second = cache.get(key(List.of("apple", "pear"), 1), generator);
+
+        assertSame(first, second);
+        assertEquals(1, generated.get());
+        PuzzleCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+        assertEquals(PuzzleCache.sizeOf(first), stats.bytes());
+        assertEquals(0.5, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPuzzleBeyondTheBound() {
+        PuzzleCache.Key a = key(List.of("APPLE"), 1);
+        PuzzleCache.Key b = key(List.of("MANGO"), 2); // same size as APPLE
+        PuzzleCache.Key c = key(List.of("PEACH"), 3);
+        PuzzleCache cache = new PuzzleCache(2 * PuzzleCache.sizeOf(generator.apply(a)));
+
+        cache.get(a, generator);
+        cache.get(b, generator);
+        cache.get(a, generator); // a is now the most recently used
+        cache.get(c, generator);
+
+        assertNotNull(cache.getIfPresent(a));
+        assertNull(cache.getIfPresent(b));
+        assertNotNull(cache.getIfPresent(c));
+        assertEquals(1, cache.getStats().evictions());
+        assertEquals(2, cache.getStats().entries());
+    }
+
+    @Test
+    void evictedAndClosedPuzzlesAreReadBackFromDisk() throws IOException {
+        PuzzleCache.Key a = key(List.of("APPLE"), 1);
+        PuzzleCache.Key b = key(List.of("BANANA"), 2);
+        PuzzleCache cache = new PuzzleCache(0, dir.resolve("cache")); // every puzzle is spilled at once
+        SharedPuzzle original = cache.get(a, generator);
+        assertTrue(Files.exists(dir.resolve("cache").resolve(a.getId() + PuzzleFile.EXTENSION)));
+
+        SharedPuzzle reread = cache.get(a, generator);
+
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.getStats().diskHits());
+        assertEquals(1, cache.getStats().spills());
+        assertArrayEquals(letters(original), letters(reread));
+
+        PuzzleCache memory = new PuzzleCache(PuzzleCache.DEFAULT_MAX_BYTES, dir.resolve("cache"));
+        memory.get(b, generator);
+        memory.close();
+        PuzzleCache later = new PuzzleCache(PuzzleCache.DEFAULT_MAX_BYTES, dir.resolve("cache"));
+        later.get(a, generator);
+        later.get(b, generator);
+        assertEquals(2, generated.get());
+        assertEquals(2, later.getStats().diskHits());
+    }
+
+    @Test
+    void damagedFilesAreCountedAndGeneratedAgain() throws IOException {
+        PuzzleCache.Key key = key(List.of("APPLE", "PEAR"), 1);
+        Path file = dir.resolve(key.getId() + PuzzleFile.EXTENSION);
+        Files.write(file, new byte[]{'W', 'S', 'P', 'Z', 0, 1});
+        PuzzleCache cache = new PuzzleCache(PuzzleCache.DEFAULT_MAX_BYTES, dir);
+
+        SharedPuzzle puzzle = cache.get(key, generator);
+
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.getStats().diskErrors());
+        assertEquals(1, cache.getStats().misses());
+        cache.close();
+        assertArrayEquals(letters(puzzle), letters(SharedPuzzle.of(PuzzleFile.load(file))));
+    }
+
+    @Test
+    void failedGenerationCachesNothing() {
+        PuzzleCache cache = new PuzzleCache(PuzzleCache.DEFAULT_MAX_BYTES);
+        PuzzleCache.Key key = key(List.of("APPLE"), 1);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(key, k -> {
+            throw new IllegalStateException("no room");
+        }));
+
+        assertNull(cache.getIfPresent(key));
+        assertEquals(0, cache.getStats().entries());
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleCache(-1));
+    }
+
+    private static PuzzleCache.Key key(List<String> words, long seed) {
+        return PuzzleCache.Key.of(10, 10, words, seed, "classic");
+    }
+
+    private static byte[] letters(SharedPuzzle puzzle) {
+        byte[] copy = new byte[puzzle.getRows() * puzzle.getCols()];
+        puzzle.getLetters().get(copy);
+        return copy;
+    }
+}
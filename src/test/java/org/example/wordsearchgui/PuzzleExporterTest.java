@@ -0,0 +1,154 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleExporterTest {
+
+    @Test
+    void answerKeyMasksOtherLettersAndListsTheMoves() throws IOException {
+        SharedPuzzle puzzle = fivePuzzle();
+
+        String text = text(new PuzzleExporter(puzzle).setAnswers(true));
+
+        assertEquals("""
+                   a b c d e f
+                00 . . E G . .
+                01 . E . E O .
+                02 L . T E . D
+                03 . A . B . .
+                04 C . . L W O
+
+                CAT 4 a NE
+                DOG 2 f NW
+                EEL 0 c SW
+                OWL 4 f W
+                BEE 3 d N
+                """, text);
+    }
+
+    @Test
+    void puzzleTextHasEveryLetterAndTheBareWordList() throws IOException {
+        SharedPuzzle puzzle = fivePuzzle();
+
+        String[] lines = text(new PuzzleExporter(puzzle)).split("\n", -1);
+        String[] bare = text(new PuzzleExporter(puzzle).setLabels(false)).split("\n", -1);
+
+        assertEquals("   a b c d e f", lines[0]);
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            StringBuilder expected = new StringBuilder();
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                expected.append(col == 0 ? "" : " ").append(puzzle.getLetter(row, col));
+            }
+            assertEquals("0" + row + " " + expected, lines[row + 1]);
+            assertEquals(expected.toString(), bare[row]);
+        }
+        assertEquals("", lines[6]);
+        assertEquals("CAT", lines[7]);
+        assertEquals("BEE", lines[11]);
+    }
+
+    @Test
+    void answerRowsMarkExactlyTheCellsOfEveryWordInEveryDirection() throws IOException {
+        Random random = new Random(8);
+        Grid grid = new Grid(37, 23, random);
+        grid.setDirections(Direction.parseSet("all"));
+        assertTrue(grid.newPlacementEngine().place(PlacementEngineTest.randomWords(80, 2, 12, 9)).isPlaced());
+        grid.fillGridWithLetters();
+        SharedPuzzle puzzle = SharedPuzzle.of(grid);
+        boolean[][] covered = new boolean[puzzle.getRows()][puzzle.getCols()];
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            Direction direction = puzzle.getDirection(id);
+            for (int k = 0; k < puzzle.getLength(id); k++) {
+                covered[puzzle.getRow(id) + k * direction.getRowStep()][puzzle.getCol(id) + k * direction.getColStep()] = true;
+            }
+        }
+
+        String[] lines = text(new PuzzleExporter(puzzle).setAnswers(true).setLabels(false)).split("\n");
+
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                char expected = covered[row][col] ? puzzle.getLetter(row, col) : '.';
+                assertEquals(expected, lines[row].charAt(2 * col), row + "," + col);
+            }
+        }
+    }
+
+    @Test
+    void pngHasTheGridSizeAndShadesTheAnswerCells() throws IOException {
+        SharedPuzzle puzzle = fivePuzzle();
+        int cell = 20;
+
+        BufferedImage key = png(new PuzzleExporter(puzzle).setAnswers(true).setCellSize(cell));
+        BufferedImage plain = png(new PuzzleExporter(puzzle).setCellSize(cell).setLabels(false));
+
+        int left = 2 * ((cell + 1) / 2); // one digit and a space, half a cell each
+        assertEquals(left + 6 * cell, key.getWidth());
+        assertEquals(cell + 5 * cell, key.getHeight());
+        assertEquals(6 * cell, plain.getWidth());
+        assertEquals(5 * cell, plain.getHeight());
+        // The top-left pixel of a cell is background: shaded under CAT's C at 4,0, paper at 4,1
+        assertEquals(0xC8, grey(key, left, cell + 4 * cell));
+        assertEquals(0xFF, grey(key, left + cell, cell + 4 * cell));
+        assertEquals(0xFF, grey(plain, 0, 4 * cell));
+    }
+
+    @Test
+    void writePngRejectsGridsTooLargeForTheImage() {
+        Grid wide = new Grid(1, 3000, new Random(1));
+        wide.fillGridWithLetters();
+        Grid tall = new Grid(60_000, 1, new Random(1)); // one column of 40,000 pixels fits a band, 60,000 rows do not
+        tall.fillGridWithLetters();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PuzzleExporter(SharedPuzzle.of(wide)).setCellSize(1000).writePng(OutputStream.nullOutputStream()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PuzzleExporter(SharedPuzzle.of(tall)).setCellSize(40_000).setLabels(false)
+                        .writePng(OutputStream.nullOutputStream()));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleExporter(SharedPuzzle.of(wide)).setCellSize(7));
+    }
+
+    /**
+     * @return A 5x6 puzzle with a word in each of five directions: up-right, up-left,
+     *         down-left, right to left and up
+     */
+    private static SharedPuzzle fivePuzzle() {
+        Grid grid = new Grid(5, 6, new Random(4));
+        grid.setDirections(Direction.parseSet("all"));
+        grid.write("CAT", Direction.NORTH_EAST.getCode(), 4, 0);
+        grid.write("DOG", Direction.NORTH_WEST.getCode(), 2, 5);
+        grid.write("EEL", Direction.SOUTH_WEST.getCode(), 0, 2);
+        grid.write("OWL", Direction.WEST.getCode(), 4, 5);
+        grid.write("BEE", Direction.NORTH.getCode(), 3, 3);
+        grid.fillGridWithLetters();
+        return SharedPuzzle.of(grid);
+    }
+
+    private static String text(PuzzleExporter exporter) throws IOException {
+        StringWriter out = new StringWriter();
+        exporter.writeText(out);
+        return out.toString();
+    }
+
+    private static BufferedImage png(PuzzleExporter exporter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writePng(out);
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static int grey(BufferedImage image, int x, int y) {
+        return image.getRaster().getSample(x, y, 0);
+    }
+}
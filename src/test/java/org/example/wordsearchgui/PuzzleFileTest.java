@@ -0,0 +1,208 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsLettersPlacementsDirectionsAndFoundWords() throws IOException {
+        // Over 64 placements, so the found bits span more than one long
+        Grid grid = generate(40, 40, 150, EnumSet.of(Direction.HORIZONTAL, Direction.NORTH, Direction.SOUTH_WEST), 3);
+        for (int id = 0; id < grid.getPlacements().size(); id += 3) {
+            grid.markFound(id);
+        }
+        Path file = dir.resolve("grid" + PuzzleFile.EXTENSION);
+
+        PuzzleFile.save(grid, file);
+        Grid loaded = PuzzleFile.load(file);
+
+        assertSameGame(grid, loaded);
+        assertEquals(List.of(file), files()); // no temp file left behind
+    }
+
+    @Test
+    void largeFilesAreMemoryMappedAndRoundTrip() throws IOException {
+        Grid grid = generate(1100, 1000, 300, Direction.parseSet("all"), 5);
+        grid.markFound(grid.getPlacements().size() - 1);
+        Path file = dir.resolve("large.wsp");
+
+        PuzzleFile.save(grid, file);
+        assertTrue(Files.size(file) > 1 << 20);
+
+        assertSameGame(grid, PuzzleFile.load(file));
+    }
+
+    @Test
+    void savesASessionWithItsOwnFoundWords() throws IOException {
+        Grid grid = generate(12, 12, 6, Direction.CLASSIC, 8);
+        SharedPuzzle puzzle = SharedPuzzle.of(grid);
+        GameSession session = new GameSession(puzzle);
+        assertEquals(GameSession.Outcome.FOUND,
+                session.submit(puzzle.getWord(2), puzzle.getRow(2), puzzle.getCol(2), puzzle.getDirection(2)));
+        Path unplayed = dir.resolve("unplayed.wsp");
+        Path played = dir.resolve("played.wsp");
+
+        PuzzleFile.save(puzzle, unplayed);
+        PuzzleFile.save(session, played);
+
+        Grid fresh = PuzzleFile.load(unplayed);
+        Grid resumed = PuzzleFile.load(played);
+        assertSameGame(grid, fresh);
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            assertFalse(fresh.isPlacementFound(id));
+            assertEquals(id == 2, resumed.isPlacementFound(id));
+        }
+        assertEquals(puzzle.getPlacementCount() - 1, resumed.getWords().size());
+    }
+
+    @Test
+    void saveReplacesAnExistingFile() throws IOException {
+        Path file = dir.resolve("again.wsp");
+        PuzzleFile.save(generate(10, 10, 4, Direction.CLASSIC, 1), file);
+        Grid second = generate(9, 11, 5, Direction.CLASSIC, 2);
+
+        PuzzleFile.save(second, file);
+
+        assertSameGame(second, PuzzleFile.load(file));
+    }
+
+    @Test
+    void concurrentSavesOfOnePathEachWriteAWholeFile() throws Exception {
+        Path file = dir.resolve("shared.wsp");
+        List<Grid> grids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            grids.add(generate(20 + i, 20, 10, Direction.CLASSIC, i));
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (Grid grid : grids) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int k = 0; k < 20; k++) {
+                        PuzzleFile.save(grid, file);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        Grid loaded = PuzzleFile.load(file);
+        assertSameGame(grids.get(loaded.getRows() - 20), loaded); // whichever save came last, whole
+        assertEquals(List.of(file), files());
+    }
+
+    @Test
+    void failedSaveRemovesItsTempFile() throws IOException {
+        Path target = Files.createDirectories(dir.resolve("taken.wsp"));
+        Files.writeString(target.resolve("inside"), "a directory cannot be replaced by a file");
+
+        assertThrows(IOException.class, () -> PuzzleFile.save(generate(10, 10, 4, Direction.CLASSIC, 1), target));
+
+        assertEquals(List.of(target), files());
+    }
+
+    @Test
+    void rejectsDamagedFiles() throws IOException {
+        Grid grid = generate(10, 10, 5, Direction.CLASSIC, 4);
+        Path file = dir.resolve("good.wsp");
+        PuzzleFile.save(grid, file);
+        byte[] good = Files.readAllBytes(file);
+
+        byte[] magic = good.clone();
+        magic[0] = 'X';
+        assertRejected(magic, "not a puzzle file");
+
+        byte[] version = good.clone();
+        version[5] = 9;
+        assertRejected(version, "unsupported puzzle file version 9");
+
+        byte[] header = good.clone();
+        header[11] = 0; // rows
+        assertRejected(header, "bad header");
+
+        assertRejected(Arrays.copyOf(good, 20), "not a puzzle file");
+        assertRejected(Arrays.copyOf(good, good.length - 2), "truncated puzzle file");
+
+        // Overwrite the first letter of the first placement
+        int cell = 32 + grid.getPlacements().getRow(0) * grid.getCols() + grid.getPlacements().getCol(0);
+        byte[] letter = good.clone();
+        letter[cell] = (byte) (letter[cell] == 'Q' ? 'Z' : 'Q');
+        assertRejected(letter, "placement 0 (" + grid.getPlacements().getWord(0) + ") does not match the letters");
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private void assertRejected(byte[] contents, String message) throws IOException {
+        Path file = Files.createTempFile(dir, "damaged", ".wsp");
+        Files.write(file, contents);
+        IOException e = assertThrows(IOException.class, () -> PuzzleFile.load(file));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    private static void assertSameGame(Grid expected, Grid actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getCols(), actual.getCols());
+        assertEquals(expected.getDirections(), actual.getDirections());
+        assertArrayEquals(PlacementEngineTest.lettersOf(expected), PlacementEngineTest.lettersOf(actual));
+
+        PlacementIndex placements = expected.getPlacements();
+        assertEquals(placements.size(), actual.getPlacements().size());
+        List<String> remaining = new ArrayList<>();
+        for (int id = 0; id < placements.size(); id++) {
+            assertEquals(placements.getWord(id), actual.getPlacements().getWord(id));
+            assertEquals(placements.getPlacement(id), actual.getPlacements().getPlacement(id));
+            assertEquals(expected.isPlacementFound(id), actual.isPlacementFound(id), "found bit of placement " + id);
+            if (!expected.isPlacementFound(id) && !remaining.contains(placements.getWord(id))) {
+                remaining.add(placements.getWord(id));
+            }
+        }
+        assertEquals(remaining, actual.getWords());
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int col = 0; col < expected.getCols(); col++) {
+                assertEquals(expected.isFound(row, col), actual.isFound(row, col));
+            }
+        }
+    }
+
+    private static Grid generate(int rows, int cols, int count, Set<Direction> directions, long seed) {
+        Grid grid = new Grid(rows, cols, new Random(seed));
+        grid.setDirections(directions);
+        assertTrue(grid.newPlacementEngine().place(PlacementEngineTest.randomWords(count, 3, 8, seed)).isPlaced());
+        grid.fillGridWithLetters();
+        return grid;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsHeaderAndDistinctUppercaseWords() throws IOException {
+        PuzzleLoader.Puzzle puzzle = load("\uFEFF 10\t12 \r\napple\r\n\r\n  Banana  \r\nAPPLE\r\ncherry");
+
+        assertEquals(10, puzzle.rows());
+        assertEquals(12, puzzle.cols());
+        assertEquals(List.of("APPLE", "BANANA", "CHERRY"), puzzle.words());
+    }
+
+    @Test
+    void acceptsAHeaderWithNoWords() throws IOException {
+        assertEquals(List.of(), load("5 5\n\n").words());
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        assertRejected("", 1, "missing 'rows cols' header");
+        assertRejected("\n\n", 1, "expected 'rows cols' header");
+        assertRejected("10\napple\n", 1, "expected 'rows cols' header");
+        assertRejected("10 0\n", 1, "positive numbers");
+        assertRejected("-3 4\n", 1, "positive numbers");
+        assertRejected("10 10 10\n", 1, "unexpected text");
+        assertRejected("1000000000 5\n", 1, "too large");
+        assertRejected("100000 100000\n", 1, "too many cells");
+    }
+
+    @Test
+    void rejectsBadWordsWithTheirLineNumber() {
+        assertRejected("5 5\nlemon\n\nfig tree\n", 4, "invalid character ' '");
+        assertRejected("5 5\nkiwi\ncafé\n", 3, "invalid character");
+        assertRejected("4 6\nant\nelephant\n", 3, "ELEPHANT is longer than the grid");
+    }
+
+    @Test
+    void streamsLinesThatCrossBlockBoundaries() throws IOException {
+        // Well over one 1 MB block, so several lines are split between reads
+        StringBuilder text = new StringBuilder("3000 3000\n");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            String word = word(i);
+            expected.add(word);
+            text.append(i % 3 == 0 ? word.toLowerCase() : word).append(i % 2 == 0 ? "\n" : "\r\n");
+            if (i % 1000 == 0) {
+                text.append(word(i / 2)).append('\n'); // a repeat, skipped
+            }
+        }
+        Path file = write(text.toString());
+
+        List<String> words = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+        long count = PuzzleLoader.load(file, new PuzzleLoader.Listener() {
+            @Override
+            public void header(int rows, int cols) {
+                assertEquals(3000, rows);
+                assertTrue(words.isEmpty());
+            }
+
+            @Override
+            public void word(String word, long line) {
+                words.add(word);
+                lines.add(line);
+            }
+        });
+
+        assertEquals(expected.size(), count);
+        assertEquals(expected, words);
+        assertEquals(List.of(2L, 4L), lines.subList(0, 2)); // line 3 repeated the first word
+    }
+
+    /**
+     * @return A distinct six-letter word for each index
+     */
+    private static String word(int index) {
+        char[] letters = new char[6];
+        for (int i = letters.length - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + index % 26);
+            index /= 26;
+        }
+        return new String(letters);
+    }
+
+    private void assertRejected(String text, long line, String message) {
+        PuzzleFormatException e = assertThrows(PuzzleFormatException.class, () -> load(text));
+        assertEquals(line, e.getLine(), e.getMessage());
+        assertTrue(e.getMessage().startsWith("Line " + line + ": "), e.getMessage());
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    private PuzzleLoader.Puzzle load(String text) throws IOException {
+        return PuzzleLoader.load(write(text));
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = Files.createTempFile(dir, "puzzle", ".txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleStateTest {
+
+    @Test
+    void anOldVersionIsUnchangedByLaterMoves() {
+        SharedPuzzle puzzle = puzzle(60, 1);
+        PuzzleState initial = PuzzleState.initial(puzzle);
+        PuzzleState first = initial.markFound(0);
+        boolean[] cells = foundCells(first);
+
+        PuzzleState later = first;
+        for (int id = 1; id < puzzle.getPlacementCount(); id++) {
+            later = later.markFound(id);
+        }
+
+        assertTrue(later.isComplete());
+        assertArrayEquals(cells, foundCells(first));
+        assertEquals(1, first.getVersion());
+        assertArrayEquals(new int[]{0}, first.getMoves());
+        assertEquals(puzzle.getPlacementCount() - 1, first.getRemaining());
+        assertFalse(initial.isPlacementFound(0));
+        assertArrayEquals(new boolean[puzzle.getRows() * puzzle.getCols()], foundCells(initial));
+    }
+
+    @Test
+    void undoRestoresTheFoundCellsExactlyIncludingSharedOnes() {
+        SharedPuzzle puzzle = densePuzzle(40, 2);
+        CellIndex index = puzzle.getCellIndex();
+        Random random = new Random(2);
+        PuzzleState state = PuzzleState.initial(puzzle);
+        int[] order = shuffled(puzzle.getPlacementCount(), random);
+        boolean crossed = false;
+
+        for (int id : order) {
+            PuzzleState before = state;
+            state = state.markFound(id);
+            for (int k = 0; k < puzzle.getLength(id); k++) {
+                crossed |= index.countAt(puzzle.getRow(id) + k * puzzle.getDirection(id).getRowStep(),
+                        puzzle.getCol(id) + k * puzzle.getDirection(id).getColStep()) > 1
+                        && before.isFound(puzzle.getRow(id) + k * puzzle.getDirection(id).getRowStep(),
+                        puzzle.getCol(id) + k * puzzle.getDirection(id).getColStep());
+            }
+
+            PuzzleState undone = state.undo();
+            assertArrayEquals(foundCells(before), foundCells(undone), "cells after undoing " + id);
+            assertArrayEquals(before.getMoves(), undone.getMoves());
+            assertEquals(before.getVersion(), undone.getVersion());
+            assertEquals(before.getRemaining(), undone.getRemaining());
+            assertEquals(before.getLastPlacement(), undone.getLastPlacement());
+            assertFalse(undone.isPlacementFound(id));
+        }
+        assertTrue(crossed, "some word was found across another found word");
+
+        // Undo all the way back to the start
+        for (int i = order.length - 1; i >= 0; i--) {
+            assertEquals(order[i], state.getLastPlacement());
+            state = state.undo();
+        }
+        assertArrayEquals(new boolean[puzzle.getRows() * puzzle.getCols()], foundCells(state));
+        assertSame(state, state.undo());
+    }
+
+    @Test
+    void replayEqualsPlayingMoveByMove() {
+        SharedPuzzle puzzle = puzzle(60, 3);
+        int[] moves = shuffled(puzzle.getPlacementCount(), new Random(3));
+        PuzzleState played = PuzzleState.initial(puzzle);
+        for (int id : moves) {
+            played = played.markFound(id);
+        }
+
+        PuzzleState replayed = PuzzleState.replay(puzzle, moves);
+
+        assertArrayEquals(moves, replayed.getMoves());
+        assertArrayEquals(foundCells(played), foundCells(replayed));
+        assertEquals(played.getVersion(), replayed.getVersion());
+        assertEquals(played.getRemaining(), replayed.getRemaining());
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            assertEquals(played.isPlacementFound(id), replayed.isPlacementFound(id));
+        }
+    }
+
+    @Test
+    void untouchedTilesAreSharedBetweenVersions() {
+        int size = 40 * TiledBits.TILE_BITS;
+        TiledBits empty = new TiledBits(size);
+        TiledBits one = empty.with(3, 70);
+        TiledBits two = one.with(5 * TiledBits.TILE_BITS + 1, 33 * TiledBits.TILE_BITS);
+
+        assertTrue(two.get(3) && two.get(70) && two.get(5 * TiledBits.TILE_BITS + 1));
+        assertFalse(one.get(5 * TiledBits.TILE_BITS + 1));
+        assertSame(one.tile(0), two.tile(0));
+        assertNotSame(one.tile(5), two.tile(5));
+        assertTrue(one.tile(5) == null && one.tile(33) == null);
+
+        TiledBits cleared = two.without(3, 7 * TiledBits.TILE_BITS);
+        assertFalse(cleared.get(3));
+        assertTrue(cleared.get(70) && two.get(3));
+        assertSame(two.tile(5), cleared.tile(5));
+        assertSame(two.tile(33), cleared.tile(33));
+        assertTrue(cleared.tile(7) == null);
+    }
+
+    @Test
+    void aMoveCopiesOnlyTheTilesItsWordFallsIn() {
+        SharedPuzzle puzzle = puzzle(200, 4);
+        int tiles = (puzzle.getRows() * puzzle.getCols() + TiledBits.TILE_BITS - 1) / TiledBits.TILE_BITS;
+        PuzzleState state = PuzzleState.initial(puzzle);
+        for (int id = 0; id < puzzle.getPlacementCount(); id++) {
+            PuzzleState next = state.markFound(id);
+            int first = (puzzle.getRow(id) * puzzle.getCols() + puzzle.getCol(id)) / TiledBits.TILE_BITS;
+            int last = ((puzzle.getRow(id) + (puzzle.getLength(id) - 1) * puzzle.getDirection(id).getRowStep())
+                    * puzzle.getCols() + puzzle.getCol(id)
+                    + (puzzle.getLength(id) - 1) * puzzle.getDirection(id).getColStep()) / TiledBits.TILE_BITS;
+            for (int t = 0; t < tiles; t++) {
+                if (t < Math.min(first, last) || t > Math.max(first, last)) {
+                    assertSame(state.foundCells().tile(t), next.foundCells().tile(t), "tile " + t);
+                }
+            }
+            state = next;
+        }
+    }
+
+    private static boolean[] foundCells(PuzzleState state) {
+        SharedPuzzle puzzle = state.getPuzzle();
+        boolean[] cells = new boolean[puzzle.getRows() * puzzle.getCols()];
+        for (int r = 0; r < puzzle.getRows(); r++) {
+            for (int c = 0; c < puzzle.getCols(); c++) {
+                cells[r * puzzle.getCols() + c] = state.isFound(r, c);
+            }
+        }
+        return cells;
+    }
+
+    private static int[] shuffled(int count, Random random) {
+        int[] order = new int[count];
+        for (int id = 0; id < count; id++) {
+            int j = random.nextInt(id + 1); // inside-out shuffle
+            order[id] = order[j];
+            order[j] = id;
+        }
+        return order;
+    }
+
+    /**
+     * @return A puzzle of words over four letters, packed as small as it goes, so many of them cross
+     */
+    private static SharedPuzzle densePuzzle(int count, long seed) {
+        Grid grid = DensePacker.packSmallest(PlacementEngineTest.randomWords(count, 3, 8, 4, seed), 1.0,
+                new Random(seed), 100_000, Direction.parseSet("all"));
+        grid.fillGridWithLetters();
+        return SharedPuzzle.of(grid);
+    }
+
+    /**
+     * @return A filled puzzle of count random words on a count by count grid
+     */
+    private static SharedPuzzle puzzle(int count, long seed) {
+        Grid grid = new Grid(count, count, new Random(seed));
+        grid.setDirections(Direction.parseSet("all"));
+        assertTrue(grid.newPlacementEngine().place(PlacementEngineTest.randomWords(count, 3, 8, 4, seed)).isPlaced());
+        grid.fillGridWithLetters();
+        return SharedPuzzle.of(grid);
+    }
+}
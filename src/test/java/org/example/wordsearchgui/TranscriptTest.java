@@ -0,0 +1,56 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranscriptTest {
+
+    @Test
+    void keepsLinesOldestFirstUntilFull() {
+        Transcript transcript = new Transcript(3);
+        transcript.add("one");
+        transcript.add("two");
+
+        assertEquals(List.of("one", "two"), transcript);
+        assertEquals(2, transcript.getTotal());
+    }
+
+    @Test
+    void dropsTheOldestLinesOnceFull() {
+        Transcript transcript = new Transcript(4);
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            transcript.add("line " + i);
+            all.add("line " + i);
+            assertEquals(all.subList(Math.max(0, all.size() - 4), all.size()), transcript);
+        }
+        assertEquals(4, transcript.size());
+        assertEquals(4, transcript.getCapacity());
+        assertEquals(11, transcript.getTotal());
+    }
+
+    @Test
+    void appendSplitsMessagesAndSkipsBlankLines() {
+        Transcript transcript = new Transcript();
+
+        assertEquals(2, transcript.append("Found APPLE\n\n   \nAll words found!\n"));
+        assertEquals(0, transcript.append(""));
+        assertEquals(List.of("Found APPLE", "All words found!"), transcript);
+        assertEquals(Transcript.DEFAULT_CAPACITY, transcript.getCapacity());
+    }
+
+    @Test
+    void rejectsBadIndexesAndCapacities() {
+        Transcript transcript = new Transcript(2);
+        transcript.add("only");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> transcript.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> transcript.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Transcript(0));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordSelectorTest {
+
+    @Test
+    void skipsDuplicatesAndWordsOutsideAToZ() {
+        WordSelector selector = WordSelector.of(List.of("apple", "APPLE", " Pear ", "ice-cream", "café",
+                "lıst", "x1", "", "   ", "plum"));
+
+        assertEquals(3, selector.size());
+        List<String> chosen = selector.setMinLength(1).select(10, 10, Direction.CLASSIC, 10, new Random(1));
+        assertEquals(Set.of("APPLE", "PEAR", "PLUM"), Set.copyOf(chosen));
+    }
+
+    @Test
+    void noChosenWordContainsAnother() {
+        // Short words over three letters, so most pairs would nest
+        WordSelector selector = WordSelector.of(PlacementEngineTest.randomWords(2000, 2, 7, 3, 5)).setMinLength(2);
+        Set<Direction> oneWay = EnumSet.of(Direction.HORIZONTAL, Direction.VERTICAL);
+        boolean reversedPair = false;
+
+        for (long seed = 0; seed < 50; seed++) {
+            List<String> forward = selector.select(20, 20, oneWay, 30, new Random(seed));
+            for (String outer : forward) {
+                for (String inner : forward) {
+                    assertTrue(outer == inner || !outer.contains(inner), outer + " contains " + inner);
+                    reversedPair |= outer != inner && outer.contains(reversed(inner));
+                }
+            }
+            List<String> both = selector.select(20, 20, Direction.parseSet("all"), 30, new Random(seed));
+            for (String outer : both) {
+                for (String inner : both) {
+                    assertTrue(outer == inner || !(outer.contains(inner) || outer.contains(reversed(inner))),
+                            outer + " contains " + inner + " or its reverse");
+                }
+            }
+        }
+        assertTrue(reversedPair, "words read one way only may contain each other reversed");
+    }
+
+    @Test
+    void avoidsExcludedLetters() {
+        WordSelector selector = WordSelector.of(PlacementEngineTest.randomWords(3000, 3, 8, 7))
+                .setExcludedLetters("aeiQ");
+
+        List<String> chosen = selector.select(30, 30, Direction.CLASSIC, 40, new Random(2));
+
+        assertEquals(40, chosen.size());
+        for (String word : chosen) {
+            assertTrue(word.chars().noneMatch(c -> c == 'A' || c == 'E' || c == 'I' || c == 'Q'), word);
+        }
+    }
+
+    @Test
+    void staysWithinTheFillBudgetAndTheLongestLine() {
+        WordSelector selector = WordSelector.of(PlacementEngineTest.randomWords(5000, 3, 15, 8)).setMaxFill(0.4);
+
+        for (long seed = 0; seed < 30; seed++) {
+            // Only vertical words in a 6x14 grid: no word may be longer than 6
+            List<String> chosen = selector.select(6, 14, EnumSet.of(Direction.VERTICAL), 100, new Random(seed));
+            int letters = 0;
+            for (String word : chosen) {
+                assertTrue(word.length() >= WordSelector.DEFAULT_MIN_LENGTH && word.length() <= 6, word);
+                letters += word.length();
+            }
+            assertTrue(letters <= 6 * 14 * 0.4, letters + " letters");
+            assertFalse(chosen.isEmpty());
+        }
+    }
+
+    @Test
+    void placeSwapsAWordThatDoesNotFitForAShorterOne() {
+        // Down-right diagonals only: a 3x3 grid has one line of three cells, so ABC and XYZ
+        // never fit together and the second is swapped for DE
+        WordSelector selector = WordSelector.of(List.of("ABC", "XYZ", "DE")).setMinLength(2).setMaxFill(1);
+        Set<Direction> diagonal = EnumSet.of(Direction.DIAGONAL);
+        int swapped = 0;
+
+        for (long seed = 0; seed < 40; seed++) {
+            Grid grid = new Grid(3, 3, new Random(seed));
+            grid.setDirections(diagonal);
+            List<String> drawn = selector.select(3, 3, diagonal, 2, new Random(seed));
+
+            PlacementResult result = selector.place(grid, 2, new Random(seed));
+
+            assertTrue(result.isPlaced(), "seed " + seed);
+            assertEquals(2, grid.getPlacements().size());
+            assertTrue(grid.getWords().contains("DE"), grid.getWords().toString());
+            PlacementEngineTest.assertPlacementsSpelled(grid);
+            swapped += drawn.contains("DE") ? 0 : 1;
+        }
+        assertTrue(swapped > 0, "some seed drew ABC and XYZ first");
+    }
+
+    @Test
+    void sameSeedGivesTheSameSelection() {
+        WordSelector selector = WordSelector.of(PlacementEngineTest.randomWords(5000, 3, 10, 4));
+
+        for (long seed = 0; seed < 10; seed++) {
+            assertEquals(selector.select(25, 25, Direction.CLASSIC, 30, new Random(seed)),
+                    selector.select(25, 25, Direction.CLASSIC, 30, new Random(seed)));
+        }
+        assertFalse(selector.select(25, 25, Direction.CLASSIC, 30, new Random(1))
+                .equals(selector.select(25, 25, Direction.CLASSIC, 30, new Random(2))));
+    }
+
+    private static String reversed(String word) {
+        return new StringBuilder(word).reverse().toString();
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordSolverTest {
+
+    private static final Comparator<WordSolver.Match> ORDER = Comparator.comparing(WordSolver.Match::word)
+            .thenComparingInt(WordSolver.Match::row)
+            .thenComparingInt(WordSolver.Match::col)
+            .thenComparing(WordSolver.Match::direction);
+
+    @Test
+    void findsTheSameMatchesAsABruteForceSearch() {
+        // A three-letter alphabet makes overlapping and nested matches common
+        LetterGrid grid = randomGrid(23, 31, 3, new Random(11));
+        List<String> words = List.of("A", "AB", "ABC", "BCA", "CAB", "CC", "ABCABC", "BAB", "ACBCA");
+
+        List<WordSolver.Match> found = new ArrayList<>(new WordSolver(words).solve(grid));
+
+        found.sort(ORDER);
+        assertEquals(bruteForce(grid, words, EnumSet.allOf(Direction.class)), found);
+    }
+
+    @Test
+    void onlyLooksInTheEnabledDirections() {
+        LetterGrid grid = randomGrid(17, 9, 2, new Random(4));
+        List<String> words = List.of("AB", "BBA", "ABAB");
+        Set<Direction> classic = Direction.parseSet("classic");
+
+        List<WordSolver.Match> found;
+        try (ForkJoinPool pool = new ForkJoinPool(3)) {
+            found = new ArrayList<>(new WordSolver(words).setDirections(classic).solve(grid, pool));
+        }
+
+        found.sort(ORDER);
+        assertEquals(bruteForce(grid, words, classic), found);
+    }
+
+    @Test
+    void wordsAreCaseInsensitiveAndCountedOnce() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("cat", " CAT ", "Cat", "at"));
+
+        assertEquals(2, automaton.size());
+        assertEquals("CAT", automaton.word(0));
+        assertEquals(3, automaton.getMaxLength());
+    }
+
+    @Test
+    void reportsEveryWordEndingAtAPosition() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("HE", "SHE", "HERS", "E"));
+        int state = automaton.root();
+        for (char letter : "USHE".toCharArray()) {
+            state = automaton.next(state, letter);
+        }
+
+        List<String> ending = new ArrayList<>();
+        for (int match = automaton.firstMatch(state); match >= 0; match = automaton.nextMatch(match)) {
+            ending.add(automaton.word(automaton.wordId(match)));
+        }
+        assertEquals(List.of("SHE", "HE", "E"), ending);
+        assertEquals(automaton.root(), automaton.next(state, '*'));
+    }
+
+    @Test
+    void tablesAreSizedByTheTrieNotTheSummedWordLengths() {
+        // 100,000 long words sharing all but their last five letters: half a million trie
+        // nodes at most, against 10 million letters in the list
+        String stem = "Q".repeat(95);
+        List<String> words = new ArrayList<>();
+        Random random = new Random(9);
+        for (int i = 0; i < 100_000; i++) {
+            char[] tail = new char[5];
+            for (int j = 0; j < tail.length; j++) {
+                tail[j] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(stem + new String(tail));
+        }
+        Set<String> prefixes = new HashSet<>();
+        for (String word : words) {
+            for (int end = 1; end <= word.length(); end++) {
+                prefixes.add(word.substring(0, end));
+            }
+        }
+
+        AhoCorasick automaton = AhoCorasick.build(words);
+
+        assertEquals(prefixes.size() + 1, automaton.stateCount());
+        int state = automaton.root();
+        for (char letter : words.get(7).toCharArray()) {
+            state = automaton.next(state, letter);
+        }
+        assertEquals(words.get(7), automaton.word(automaton.wordId(automaton.firstMatch(state))));
+    }
+
+    @Test
+    void rejectsEmptyWordsAndNonLetters() {
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.build(List.of("OK", " ")));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.build(List.of("NO-GO")));
+        assertTrue(new WordSolver(List.of("ZZZ")).solve(randomGrid(5, 5, 2, new Random(1))).isEmpty());
+    }
+
+    /**
+     * Tries every word at every cell in every direction.
+     */
+    private static List<WordSolver.Match> bruteForce(LetterGrid grid, List<String> words, Set<Direction> directions) {
+        List<WordSolver.Match> matches = new ArrayList<>();
+        for (String word : words) {
+            for (int row = 0; row < grid.getRows(); row++) {
+                for (int col = 0; col < grid.getCols(); col++) {
+                    for (Direction direction : directions) {
+                        if (spells(grid, word, row, col, direction)) {
+                            matches.add(new WordSolver.Match(word, row, col, direction));
+                        }
+                    }
+                }
+            }
+        }
+        matches.sort(ORDER);
+        return matches;
+    }
+
+    private static boolean spells(LetterGrid grid, String word, int row, int col, Direction direction) {
+        for (int i = 0; i < word.length(); i++) {
+            int r = row + i * direction.getRowStep();
+            int c = col + i * direction.getColStep();
+            if (r < 0 || r >= grid.getRows() || c < 0 || c >= grid.getCols() || grid.getLetter(r, c) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return A grid of random letters drawn from the first {@code letters} letters of the alphabet
+     */
+    static LetterGrid randomGrid(int rows, int cols, int letters, Random random) {
+        char[][] cells = new char[rows][cols];
+        for (char[] row : cells) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = (char) ('A' + random.nextInt(letters));
+            }
+        }
+        return new LetterGrid() {
+            @Override
+            public int getRows() {
+                return rows;
+            }
+
+            @Override
+            public int getCols() {
+                return cols;
+            }
+
+            @Override
+            public char getLetter(int row, int col) {
+                return cells[row][col];
+            }
+
+            @Override
+            public boolean isFound(int row, int col) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.wordsearchgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordTrieTest {
+
+    private static final List<String> WORDS = List.of("APPLE", "APP", "APRICOT", "BANANA", "BAN", "APPLE", "CHERRY");
+
+    @Test
+    void completesRemainingWordsAlphabetically() {
+        WordTrie trie = trie(WORDS);
+
+        assertEquals(List.of("APP", "APPLE", "APRICOT"), complete(trie, "ap", 10));
+        assertEquals(List.of("APP", "APPLE"), complete(trie, "AP", 2));
+        assertEquals(List.of("BAN", "BANANA"), complete(trie, "B", 10));
+        assertEquals(List.of("APP", "APPLE", "APRICOT", "BAN", "BANANA", "CHERRY"), complete(trie, "", 10));
+        assertEquals(List.of(), complete(trie, "APPS", 10));
+        assertEquals(List.of(), complete(trie, "A1", 10));
+        assertEquals(7, trie.size());
+        assertEquals(3, trie.countWithPrefix("APP")); // APPLE counts once per placement
+    }
+
+    @Test
+    void foundWordsDropOutAndComeBackWhenMarkedRemaining() {
+        WordTrie trie = trie(WORDS);
+
+        assertTrue(trie.markFound(1)); // APP
+        assertFalse(trie.markFound(1));
+        assertEquals(List.of("APPLE", "APRICOT"), complete(trie, "AP", 10));
+        assertEquals(WORDS.indexOf("APPLE"), trie.first("app"));
+
+        // APPLE is placed twice: it stays listed until both are found, via the placement still remaining
+        assertTrue(trie.markFound(0));
+        assertEquals(List.of("APPLE", "APRICOT"), complete(trie, "AP", 10));
+        assertEquals(5, trie.first("APPL"));
+        assertTrue(trie.markFound(5));
+        assertEquals(-1, trie.first("APPL"));
+        assertEquals(0, trie.countWithPrefix("APP"));
+        assertEquals(List.of("APRICOT"), complete(trie, "AP", 10));
+
+        assertTrue(trie.markRemaining(1));
+        assertFalse(trie.markRemaining(1));
+        assertFalse(trie.markRemaining(2)); // never found
+        assertEquals(List.of("APP", "APRICOT"), complete(trie, "AP", 10));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void ignoresUnknownPlacements() {
+        WordTrie trie = trie(WORDS);
+
+        assertFalse(trie.markFound(-1));
+        assertFalse(trie.markFound(WORDS.size()));
+        assertFalse(trie.markFound(1000));
+        assertFalse(trie.markRemaining(1000));
+        assertEquals(WORDS.size(), trie.size());
+    }
+
+    @Test
+    void matchesABruteForceListThroughRandomFindsAndUndos() {
+        Random random = new Random(17);
+        List<String> words = PlacementEngineTest.randomWords(400, 1, 5, 4, 17); // few letters, so prefixes are shared
+        WordTrie trie = new WordTrie(1); // grows as words are added
+        for (int id = 0; id < words.size(); id++) {
+            trie.add(words.get(id), id);
+        }
+        boolean[] found = new boolean[words.size()];
+
+        for (int step = 0; step < 2000; step++) {
+            int id = random.nextInt(words.size());
+            assertTrue(found[id] ? trie.markRemaining(id) : trie.markFound(id));
+            found[id] = !found[id];
+
+            String word = words.get(random.nextInt(words.size()));
+            String prefix = word.substring(0, Math.min(word.length(), random.nextInt(3)));
+            TreeSet<String> expected = new TreeSet<>();
+            int count = 0;
+            for (int i = 0; i < words.size(); i++) {
+                if (!found[i] && words.get(i).startsWith(prefix)) {
+                    expected.add(words.get(i));
+                    count++;
+                }
+            }
+            int[] out = new int[words.size()];
+            int n = trie.complete(prefix, out);
+            List<String> completed = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                assertFalse(found[out[i]], "completion offered found placement " + out[i]);
+                completed.add(words.get(out[i]));
+            }
+            assertEquals(new ArrayList<>(expected), completed, "prefix " + prefix);
+            assertEquals(count, trie.countWithPrefix(prefix));
+        }
+    }
+
+    @Test
+    void ofSkipsTheWordsAGameHasFound() {
+        Grid grid = new Grid(10, 10, new Random(3));
+        assertTrue(grid.newPlacementEngine().place(List.of("PEAR", "PEACH", "PLUM")).isPlaced());
+        grid.fillGridWithLetters();
+        PuzzleState state = PuzzleState.initial(SharedPuzzle.of(grid)).markFound(grid.getPlacements().idsOf("PEACH")[0]);
+
+        WordTrie trie = WordTrie.of(state);
+
+        assertEquals(2, trie.size());
+        assertEquals(List.of("PEAR", "PLUM"), complete(trie, "P", 10, List.of(state.getPuzzle().getWords())));
+    }
+
+    private static WordTrie trie(List<String> words) {
+        WordTrie trie = new WordTrie(40);
+        for (int id = 0; id < words.size(); id++) {
+            trie.add(words.get(id), id);
+        }
+        return trie;
+    }
+
+    private static List<String> complete(WordTrie trie, String prefix, int limit) {
+        return complete(trie, prefix, limit, WORDS);
+    }
+
+    /**
+     * @return The words of the completions, in the order the trie lists them
+     */
+    private static List<String> complete(WordTrie trie, String prefix, int limit, List<String> words) {
+        int[] out = new int[limit];
+        List<String> completed = new ArrayList<>();
+        for (int i = 0, n = trie.complete(prefix, out); i < n; i++) {
+            completed.add(words.get(out[i]));
+        }
+        return completed;
+    }
+}